@@ -0,0 +1,72 @@
+package Coursework.benchmarks;
+
+import Coursework.core.Observable;
+import Coursework.core.Scheduler;
+import Coursework.schedulers.IOThreadScheduler;
+import Coursework.schedulers.VirtualThreadScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IOThreadScheduler против VirtualThreadScheduler на большом числе блокирующих внутренних источников.
+ * Каждый параметр запускается в отдельной JVM (fork), поэтому потоки одного прогона не искажают другой.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingIoBenchmark {
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"1000"})
+    public int sources;
+
+    @Param({"10"})
+    public long blockMillis;
+
+    private Scheduler target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        target = "io".equals(scheduler) ? new IOThreadScheduler() : new VirtualThreadScheduler();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        target.shutdown();
+    }
+
+    @Benchmark
+    public void blockingFlatMap(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        Sources.range(sources)
+                .flatMap(i -> Observable.<Integer>create(inner -> {
+                    try {
+                        Thread.sleep(blockMillis); // имитируем блокирующий вызов
+                        inner.onNext(i);
+                        inner.onComplete();
+                    } catch (InterruptedException e) {
+                        inner.onError(e);
+                    }
+                }).subscribeOn(target))
+                .subscribe(observer);
+        observer.awaitDone();
+    }
+}
@@ -0,0 +1,58 @@
+package Coursework.benchmarks;
+
+import Coursework.core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * flatMap с 1, 10 и 1000 внутренними источниками при одинаковом общем числе элементов.
+ * Показывает накладные расходы на внутреннюю подписку и на слияние.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlatMapBenchmark {
+    private static final int TOTAL = 1_000_000;
+
+    @Param({"1", "10", "1000"})
+    public int inners;
+
+    private Observable<Integer> merged;
+    private Observable<Integer> mergedBounded;
+
+    @Setup
+    public void setup() {
+        Observable<Integer> inner = Sources.range(TOTAL / inners);
+        merged = Sources.range(inners).flatMap(i -> inner);
+        mergedBounded = Sources.range(inners).flatMap(i -> inner, 4, Observable.bufferSize());
+    }
+
+    @Benchmark
+    public void flatMap(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        merged.subscribe(observer);
+        observer.awaitDone();
+    }
+
+    @Benchmark
+    public void flatMapMaxConcurrency4(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        mergedBounded.subscribe(observer);
+        observer.awaitDone();
+    }
+}
@@ -0,0 +1,53 @@
+package Coursework.benchmarks;
+
+import Coursework.core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Синхронные цепочки map/filter разной длины: стоимость одного элемента на всю цепочку
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapFilterChainBenchmark {
+    @Param({"1000", "1000000"})
+    public int count;
+
+    @Param({"1", "4", "16"})
+    public int stages;
+
+    private Observable<Integer> chain;
+
+    @Setup
+    public void setup() {
+        Observable<Integer> source = Sources.range(count);
+        for (int i = 0; i < stages; i++) {
+            // Чередуем стадии: чётные — map, нечётные — filter, пропускающий все элементы
+            source = i % 2 == 0 ? source.map(x -> x + 1) : source.filter(x -> x != Integer.MIN_VALUE);
+        }
+        chain = source;
+    }
+
+    @Benchmark
+    public void chain(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        chain.subscribe(observer);
+        observer.awaitDone();
+    }
+}
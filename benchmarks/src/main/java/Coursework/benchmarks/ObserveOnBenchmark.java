@@ -0,0 +1,82 @@
+package Coursework.benchmarks;
+
+import Coursework.core.Observable;
+import Coursework.core.Scheduler;
+import Coursework.schedulers.Schedulers;
+import Coursework.schedulers.VirtualThreadScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Передача элементов между потоками через observeOn на каждом Scheduler-е:
+ * пропускная способность для длинного потока и задержка доставки одного элемента
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObserveOnBenchmark {
+    @Param({"computation", "io", "single", "newThread", "virtual"})
+    public String scheduler;
+
+    @Param({"100000"})
+    public int count;
+
+    private Scheduler target;
+    private Observable<Integer> stream;
+    private Observable<Integer> single;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        target = switch (scheduler) {
+            case "computation" -> Schedulers.computation();
+            case "io" -> Schedulers.io();
+            case "single" -> Schedulers.single();
+            case "newThread" -> Schedulers.newThread();
+            case "virtual" -> new VirtualThreadScheduler();
+            default -> throw new IllegalArgumentException("Unknown scheduler: " + scheduler);
+        };
+        stream = Sources.range(count).observeOn(target);
+        single = Sources.range(1).observeOn(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Общие Scheduler-ы не останавливаем: их потоки демонические и нужны следующим прогонам
+        if (target instanceof VirtualThreadScheduler) {
+            target.shutdown();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        stream.subscribe(observer);
+        observer.awaitDone();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        single.subscribe(observer);
+        observer.awaitDone();
+    }
+}
@@ -0,0 +1,81 @@
+package Coursework.benchmarks;
+
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Общие источники и подписчики для бенчмарков
+ */
+final class Sources {
+    private Sources() {
+    }
+
+    /**
+     * Синхронный источник чисел 0..count-1
+     */
+    static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Подписчик (Observable и Flowable), отдающий элементы в Blackhole и отпускающий защёлку при завершении.
+     * Ошибка потока запоминается и выбрасывается из awaitDone, чтобы JMH засчитал итерацию как упавшую.
+     */
+    static final class LatchedObserver<T> extends CountDownLatch implements Observer<T>, Subscriber<T> {
+        private final Blackhole blackhole;
+        private volatile Throwable error;
+
+        LatchedObserver(Blackhole blackhole) {
+            super(1);
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            countDown();
+        }
+
+        /**
+         * Ждёт терминального события и выбрасывает ошибку потока, если она была
+         */
+        void awaitDone() throws InterruptedException {
+            await();
+            Throwable t = error;
+            if (t instanceof RuntimeException e) {
+                throw e;
+            }
+            if (t instanceof Error e) {
+                throw e;
+            }
+            if (t != null) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package Coursework.benchmarks;
+
+import Coursework.core.BackpressureStrategy;
+import Coursework.core.Flowable;
+import Coursework.core.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость подписки: сборка и подписка на поток из одного элемента.
+ * Вместе с -prof gc показывает, сколько байт выделяется на одну подписку.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubscribeBenchmark {
+    private Observable<Integer> source;
+    private Observable<Integer> just;
+    private Observable<Integer> chain;
+    private Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        source = Sources.range(1);
+        just = Observable.just(1);
+        chain = source.map(x -> x + 1).filter(x -> x > 0);
+        flowable = Flowable.create(emitter -> {
+            emitter.onNext(1);
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER);
+    }
+
+    @Benchmark
+    public void observable(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        source.subscribe(observer);
+        observer.awaitDone();
+    }
+
+    /**
+     * То же, что observable, но через Observable.just: без эмиттера Observable.create
+     */
+    @Benchmark
+    public void just(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        just.subscribe(observer);
+        observer.awaitDone();
+    }
+
+    @Benchmark
+    public void observableMapFilter(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        chain.subscribe(observer);
+        observer.awaitDone();
+    }
+
+    @Benchmark
+    public void assembleAndSubscribe(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> observer = new Sources.LatchedObserver<>(blackhole);
+        Sources.range(1).map(x -> x + 1).filter(x -> x > 0).subscribe(observer);
+        observer.awaitDone();
+    }
+
+    @Benchmark
+    public void flowable(Blackhole blackhole) throws InterruptedException {
+        Sources.LatchedObserver<Integer> subscriber = new Sources.LatchedObserver<>(blackhole);
+        flowable.subscribe(subscriber);
+        subscriber.awaitDone();
+    }
+}
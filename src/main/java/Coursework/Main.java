@@ -1,17 +1,10 @@
 package Coursework;
 
 import Coursework.core.Observable;
-import Coursework.core.Observer;
-import Coursework.schedulers.ComputationScheduler;
-import Coursework.schedulers.IOThreadScheduler;
-import Coursework.schedulers.SingleThreadScheduler;
-
-import java.util.concurrent.CountDownLatch;
+import Coursework.schedulers.Schedulers;
 
 public class Main {
-    public static void main(String[] args) throws InterruptedException {
-        CountDownLatch doneLatch = new CountDownLatch(1);
-
+    public static void main(String[] args) {
         Observable.<Integer>create(emitter -> {
                     for (int i = 1; i <= 5; i++) {
                         emitter.onNext(i);
@@ -19,47 +12,32 @@ public class Main {
                     emitter.onComplete();
                 })
                 // 1) Эмиссия на пуле для I/O
-                .subscribeOn(new IOThreadScheduler())
+                .subscribeOn(Schedulers.io())
                 // 2) Фильтрация чётных чисел
                 .filter(i -> i % 2 == 0)
                 // 3) Преобразование в строку
                 .map(i -> "Value: " + i)
-                // 4) Для каждого создаём под-Observable с задержкой
-                .flatMap(str ->
-                        Observable.<String>create(em -> {
-                                    try {
-                                        Thread.sleep(100); // имитируем работу
-                                        em.onNext(str + " (processed)");
-                                        em.onComplete();
-                                    } catch (Throwable t) {
-                                        em.onError(t);
-                                    }
-                                })
-                                .subscribeOn(new ComputationScheduler())
-                )
-                // 5) Обработка результатов в одном потоке
-                .observeOn(new SingleThreadScheduler())
-                // 6) Подписка и вывод
-                .subscribe(new Observer<String>() {
-                    @Override
-                    public void onNext(String item) {
-                        System.out.println(Thread.currentThread().getName() + " -> " + item);
+                // 4) Обрабатываем элементы параллельно на рельсах вычислительного пула
+                .parallel(2)
+                .runOn(Schedulers.computation())
+                .map(str -> {
+                    try {
+                        Thread.sleep(100); // имитируем работу
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
                     }
-
-                    @Override
-                    public void onError(Throwable t) {
-                        t.printStackTrace();
-                        doneLatch.countDown();
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        System.out.println("All done!");
-                        doneLatch.countDown();
-                    }
-                });
-
-        // Ждём завершения, иначе JVM может выйти раньше
-        doneLatch.await();
+                    return str + " (processed)";
+                })
+                .sequential()
+                // 5) Обработка результатов в одном потоке
+                .observeOn(Schedulers.single())
+                // 6) Вывод в потоке single
+                .map(item -> {
+                    System.out.println(Thread.currentThread().getName() + " -> " + item);
+                    return item;
+                })
+                // 7) Ждём завершения в main, иначе JVM может выйти раньше
+                .blockingSubscribe();
+        System.out.println("All done!");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package Coursework.core;
+
+/**
+ * Стратегия поведения источника, который производит быстрее, чем подписчик запрашивает
+ */
+public enum BackpressureStrategy {
+    /**
+     * Буферизовать не больше заданного числа элементов, при переполнении завершиться ошибкой
+     */
+    BUFFER,
+    /**
+     * Отбрасывать элементы, на которые нет спроса
+     */
+    DROP,
+    /**
+     * Хранить только последний элемент, на который нет спроса
+     */
+    LATEST,
+    /**
+     * Сразу завершиться MissingBackpressureException, если спроса нет
+     */
+    ERROR
+}
@@ -0,0 +1,9 @@
+package Coursework.core;
+
+/**
+ * Действие, которое источник выполняет при отмене подписки (закрыть ресурс, снять слушателя и т.п.)
+ */
+@FunctionalInterface
+public interface Cancellable {
+    void cancel();
+}
@@ -0,0 +1,97 @@
+package Coursework.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Автомат защиты от нездоровой зависимости, общий для всех подписок через Observable.circuitBreaker.
+ * CLOSED: вызовы проходят, failureThreshold ошибок подряд размыкают автомат.
+ * OPEN: подписки сразу получают CircuitBreakerOpenException, источник не вызывается.
+ * Через openDuration одна пробная подписка переводит автомат в HALF_OPEN: её успех замыкает
+ * автомат, ошибка снова размыкает.
+ */
+public final class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Scheduler clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this(failureThreshold, openDuration, unit, null);
+    }
+
+    /**
+     * Как CircuitBreaker(failureThreshold, openDuration, unit), но время отсчитывается по часам clock
+     * (например, виртуальное время TestScheduler)
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit, Scheduler clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold > 0 required but it was " + failureThreshold);
+        }
+        if (openDuration < 0) {
+            throw new IllegalArgumentException("openDuration >= 0 required but it was " + openDuration);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = unit.toNanos(openDuration);
+        this.clock = clock;
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * Разрешает вызов: в CLOSED всегда, в OPEN — только первому после openDuration (пробный вызов)
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        return current == State.OPEN
+                && now() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    /**
+     * Вызов прошёл успешно: счётчик ошибок сбрасывается, автомат замыкается
+     */
+    public void onSuccess() {
+        failures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    /**
+     * Вызов завершился ошибкой: пробный вызов или порог ошибок подряд размыкают автомат
+     */
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || failures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Вызов отменён до результата; отменённый пробный вызов возвращает автомат в OPEN,
+     * и следующая подписка сразу становится новой пробой
+     */
+    public void onCancel() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    private void open() {
+        openedAt = now();
+        failures.set(0);
+        state.set(State.OPEN);
+    }
+
+    private long now() {
+        return clock == null ? System.nanoTime() : clock.now(TimeUnit.NANOSECONDS);
+    }
+}
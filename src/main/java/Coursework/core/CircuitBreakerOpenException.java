@@ -0,0 +1,10 @@
+package Coursework.core;
+
+/**
+ * Подписка отклонена без обращения к источнику, потому что CircuitBreaker разомкнут
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
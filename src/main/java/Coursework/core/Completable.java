@@ -0,0 +1,192 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.CompletableOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Действие без результата: завершение или ошибка.
+ * Подписчик получает одно событие, после которого подписка освобождается.
+ */
+public class Completable {
+    private final OnSubscribe onSubscribe;
+
+    private Completable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт Completable с переданной логикой
+     */
+    public static Completable create(OnSubscribe onSubscribe) {
+        return new Completable(onSubscribe);
+    }
+
+    public static Completable complete() {
+        return create(CompletableEmitter::onComplete);
+    }
+
+    public static Completable error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    /**
+     * Выполняет action при каждой подписке; исключение даёт onError
+     */
+    public static Completable fromRunnable(Runnable action) {
+        return create(emitter -> {
+            try {
+                action.run();
+            } catch (Throwable e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Подписывается на все источники сразу и завершается, когда завершились все;
+     * первая ошибка отменяет остальные. Аналог zip для действий без результата.
+     */
+    public static Completable merge(Iterable<? extends Completable> sources) {
+        List<Completable> list = new ArrayList<>();
+        for (Completable source : sources) {
+            list.add(source);
+        }
+        return CompletableOperators.merge(list.toArray(new Completable[0]));
+    }
+
+    /**
+     * Подписывает CompletableObserver и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(CompletableObserver observer) {
+        CreateEmitter emitter = new CreateEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    /**
+     * После завершения подписывается на next; аналог flatMap для действий без результата
+     */
+    public Completable andThen(Completable next) {
+        return CompletableOperators.andThen(this, next);
+    }
+
+    /**
+     * После завершения подписывается на next и выдаёт его значение
+     */
+    public <T> Single<T> andThen(Single<T> next) {
+        return CompletableOperators.andThen(this, next);
+    }
+
+    public Completable mergeWith(Completable other) {
+        return merge(List.of(this, other));
+    }
+
+    /**
+     * Выполняет подписку в указанном Scheduler-е
+     */
+    public Completable subscribeOn(Scheduler scheduler) {
+        return CompletableOperators.subscribeOn(this, scheduler);
+    }
+
+    /**
+     * Доставляет событие в указанном Scheduler-е одной задачей на подписку
+     */
+    public Completable observeOn(Scheduler scheduler) {
+        return CompletableOperators.observeOn(this, scheduler);
+    }
+
+    /**
+     * Observable без элементов, который завершается вместе с этим Completable
+     */
+    public <T> Observable<T> toObservable() {
+        return CompletableOperators.toObservable(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки Completable
+     */
+    @FunctionalInterface
+    public interface OnSubscribe {
+        void call(CompletableEmitter emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки; как у Single, событие атомарно
+     * переводит поле в DISPOSED, и доставляется только первое из конкурирующих событий
+     */
+    static final class CreateEmitter extends AtomicReference<Disposable> implements CompletableEmitter, Disposable {
+        private final CompletableObserver observer;
+
+        CreateEmitter(CompletableObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onComplete() {
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                return;
+            }
+            try {
+                observer.onComplete();
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            try {
+                observer.onError(t);
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        private Disposable terminate() {
+            Disposable current = get();
+            return current == DisposableHelper.DISPOSED ? current : getAndSet(DisposableHelper.DISPOSED);
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
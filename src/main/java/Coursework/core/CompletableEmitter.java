@@ -0,0 +1,18 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для Completable.create; первое событие завершает подписку, последующие игнорируются
+ */
+public interface CompletableEmitter extends CompletableObserver {
+    boolean isDisposed();
+
+    /**
+     * Устанавливает действие, вызываемое при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setCancellable(Cancellable cancellable);
+
+    /**
+     * Устанавливает ресурс, освобождаемый при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,15 @@
+package Coursework.core;
+
+/**
+ * Observer для Completable: ровно одно событие — завершение или ошибка
+ */
+public interface CompletableObserver {
+    /**
+     * Вызывается до события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onComplete();
+    void onError(Throwable t);
+}
@@ -0,0 +1,45 @@
+package Coursework.core;
+
+import Coursework.operators.RefCountOperator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observable, который подписывается на источник не при подписке, а при вызове connect().
+ * Все подписчики получают события одной общей подписки на источник.
+ */
+public abstract class ConnectableObservable<T> extends Observable<T> {
+    protected ConnectableObservable(OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+    }
+
+    /**
+     * Подписывается на источник; повторный вызов до отмены возвращает ту же подписку.
+     * После завершения источника вызов connect() начинает новую подписку.
+     */
+    public abstract Disposable connect();
+
+    /**
+     * Подключается при первом подписчике и отключается, когда отписался последний
+     */
+    public Observable<T> refCount() {
+        return RefCountOperator.refCount(this);
+    }
+
+    /**
+     * Подключается, когда наберётся numberOfSubscribers подписчиков, и больше не отключается
+     */
+    public Observable<T> autoConnect(int numberOfSubscribers) {
+        if (numberOfSubscribers <= 0) {
+            connect();
+            return this;
+        }
+        AtomicInteger subscribers = new AtomicInteger();
+        return Observable.create(emitter -> {
+            onSubscribe().call(emitter);
+            if (subscribers.incrementAndGet() == numberOfSubscribers) {
+                connect();
+            }
+        });
+    }
+}
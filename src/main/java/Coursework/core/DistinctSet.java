@@ -0,0 +1,41 @@
+package Coursework.core;
+
+import Coursework.internal.BloomFilterSet;
+import Coursework.internal.LruKeySet;
+
+import java.util.HashSet;
+
+/**
+ * Множество уже встреченных ключей для оператора distinct.
+ * Ограниченные реализации держат память постоянной ценой точности: lru может пропустить
+ * повтор давно вытесненного ключа, bloom может отбросить новый ключ как ложноположительный.
+ */
+@FunctionalInterface
+public interface DistinctSet<K> {
+    /**
+     * Запоминает ключ; true, если ключ встретился впервые и элемент нужно пропустить дальше
+     */
+    boolean add(K key);
+
+    /**
+     * Точное множество без ограничения размера
+     */
+    static <K> DistinctSet<K> unbounded() {
+        return new HashSet<K>()::add;
+    }
+
+    /**
+     * Точное множество последних maxSize ключей; самый давно встреченный ключ вытесняется
+     */
+    static <K> DistinctSet<K> lru(int maxSize) {
+        return new LruKeySet<>(maxSize);
+    }
+
+    /**
+     * Фильтр Блума на expectedKeys ключей с долей ложных срабатываний falsePositiveRate;
+     * память фиксирована и не зависит от числа ключей
+     */
+    static <K> DistinctSet<K> bloom(long expectedKeys, double falsePositiveRate) {
+        return new BloomFilterSet<>(expectedKeys, falsePositiveRate);
+    }
+}
@@ -0,0 +1,12 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для DoubleObservable.create; аналог ObservableEmitter для примитивных double
+ */
+public interface DoubleEmitter extends DoubleObserver {
+    boolean isDisposed();
+
+    void setCancellable(Cancellable cancellable);
+
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,150 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.DoubleOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Поток примитивных double: элементы передаются без упаковки, map и filter не создают объектов на элемент
+ */
+public class DoubleObservable {
+    private final OnSubscribe onSubscribe;
+
+    private DoubleObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт DoubleObservable с переданной логикой
+     */
+    public static DoubleObservable create(OnSubscribe onSubscribe) {
+        return new DoubleObservable(onSubscribe);
+    }
+
+    /**
+     * Распаковывает Observable&lt;Double&gt; в поток примитивов
+     */
+    public static DoubleObservable fromObservable(Observable<Double> source) {
+        return DoubleOperators.fromObservable(source, Double::doubleValue);
+    }
+
+    /**
+     * Подписывает DoubleObserver на события и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(DoubleObserver observer) {
+        CreateEmitter emitter = new CreateEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return DoubleOperators.map(this, mapper);
+    }
+
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return DoubleOperators.filter(this, predicate);
+    }
+
+    public <R> Observable<R> mapToObj(DoubleFunction<? extends R> mapper) {
+        return DoubleOperators.mapToObj(this, mapper);
+    }
+
+    /**
+     * Упаковывает элементы обратно в Observable&lt;Double&gt;
+     */
+    public Observable<Double> boxed() {
+        return DoubleOperators.mapToObj(this, Double::valueOf);
+    }
+
+    /**
+     * Сумма всех элементов, выдаётся одним элементом при завершении источника
+     */
+    public DoubleObservable sum() {
+        return DoubleOperators.sum(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки DoubleObservable
+     */
+    @FunctionalInterface
+    public interface OnSubscribe {
+        void call(DoubleEmitter emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки
+     */
+    static final class CreateEmitter extends AtomicReference<Disposable> implements DoubleEmitter, Disposable {
+        private final DoubleObserver observer;
+        private boolean done;
+
+        CreateEmitter(DoubleObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(double item) {
+            if (done || isDisposed()) {
+                return;
+            }
+            observer.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || isDisposed()) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            try {
+                observer.onError(t);
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || isDisposed()) {
+                return;
+            }
+            done = true;
+            try {
+                observer.onComplete();
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package Coursework.core;
+
+/**
+ * Observer для потока примитивных double без упаковки в Double
+ */
+public interface DoubleObserver {
+    /**
+     * Вызывается до первого события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onNext(double item);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,149 @@
+package Coursework.core;
+
+import Coursework.operators.BlockingOperator;
+import Coursework.operators.FlowAdapters;
+import Coursework.operators.FlowableCreateOperator;
+import Coursework.operators.FlowableFilterOperator;
+import Coursework.operators.FlowableFlatMapOperator;
+import Coursework.operators.FlowableMapOperator;
+import Coursework.operators.FlowableObserveOnOperator;
+import Coursework.operators.FlowableOnBackpressureOperator;
+import Coursework.operators.FlowableSubscribeOnOperator;
+
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Класс Flowable — аналог Observable с обратным давлением:
+ * источник отдаёт не больше элементов, чем подписчик запросил через Subscription.request
+ */
+public class Flowable<T> implements Publisher<T> {
+    private final Publisher<T> source;
+
+    private Flowable(Publisher<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Создаёт Flowable с переданной логикой; strategy определяет, что делать с элементами без спроса
+     */
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> onSubscribe, BackpressureStrategy strategy) {
+        return create(onSubscribe, strategy, bufferSize());
+    }
+
+    /**
+     * Создаёт Flowable; для стратегии BUFFER bufferSize ограничивает число ожидающих элементов
+     */
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> onSubscribe, BackpressureStrategy strategy,
+                                         int bufferSize) {
+        return FlowableCreateOperator.create(onSubscribe, strategy, bufferSize);
+    }
+
+    /**
+     * Оборачивает Publisher, который сам соблюдает протокол onSubscribe/request
+     */
+    public static <T> Flowable<T> fromPublisher(Publisher<T> publisher) {
+        if (publisher instanceof Flowable) {
+            return (Flowable<T>) publisher;
+        }
+        return new Flowable<>(publisher);
+    }
+
+    /**
+     * Оборачивает java.util.concurrent.Flow.Publisher; запросы и отмена передаются ему напрямую
+     */
+    public static <T> Flowable<T> fromFlowPublisher(Flow.Publisher<? extends T> publisher) {
+        return FlowAdapters.fromFlowPublisher(publisher);
+    }
+
+    /**
+     * Представляет поток как java.util.concurrent.Flow.Publisher с тем же протоколом запросов
+     */
+    public Flow.Publisher<T> toFlowPublisher() {
+        return FlowAdapters.toFlowPublisher(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(subscriber);
+    }
+
+    public <R> Flowable<R> map(Function<? super T, ? extends R> mapper) {
+        return FlowableMapOperator.map(this, mapper);
+    }
+
+    public Flowable<T> filter(Predicate<? super T> predicate) {
+        return FlowableFilterOperator.filter(this, predicate);
+    }
+
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Flowable<? extends R>> mapper) {
+        return flatMap(mapper, bufferSize(), bufferSize());
+    }
+
+    /**
+     * flatMap с ограничением числа одновременных внутренних подписок и размера их буферов
+     */
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Flowable<? extends R>> mapper,
+                                   int maxConcurrency, int prefetch) {
+        return FlowableFlatMapOperator.flatMap(this, mapper, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Выполняет подписку в указанном Scheduler-е; запросы подписчика передаются источнику
+     */
+    public Flowable<T> subscribeOn(Scheduler scheduler) {
+        return FlowableSubscribeOnOperator.subscribeOn(this, scheduler);
+    }
+
+    /**
+     * Переключает доставку событий на Scheduler, запрашивая у источника не больше bufferSize() элементов вперёд
+     */
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, bufferSize());
+    }
+
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        return FlowableObserveOnOperator.observeOn(this, scheduler, prefetch);
+    }
+
+    /**
+     * Буферизует до capacity элементов без спроса, при переполнении завершается MissingBackpressureException
+     */
+    public Flowable<T> onBackpressureBuffer(int capacity) {
+        return FlowableOnBackpressureOperator.onBackpressure(this, BackpressureStrategy.BUFFER, capacity);
+    }
+
+    /**
+     * Отбрасывает элементы, на которые у подписчика нет спроса
+     */
+    public Flowable<T> onBackpressureDrop() {
+        return FlowableOnBackpressureOperator.onBackpressure(this, BackpressureStrategy.DROP, bufferSize());
+    }
+
+    /**
+     * Хранит только последний элемент, на который у подписчика нет спроса
+     */
+    public Flowable<T> onBackpressureLatest() {
+        return FlowableOnBackpressureOperator.onBackpressure(this, BackpressureStrategy.LATEST, bufferSize());
+    }
+
+    /**
+     * Завершается MissingBackpressureException, как только приходит элемент без спроса
+     */
+    public Flowable<T> onBackpressureError() {
+        return FlowableOnBackpressureOperator.onBackpressure(this, BackpressureStrategy.ERROR, bufferSize());
+    }
+
+    /**
+     * Iterable для перебора в вызывающем потоке: в очереди не больше prefetch элементов,
+     * спрос пополняется пачками по мере потребления
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        return BlockingOperator.blockingIterable(this, prefetch);
+    }
+
+    public static int bufferSize() {
+        return Observable.bufferSize();
+    }
+}
@@ -0,0 +1,22 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для Flowable.create: знает текущий спрос подписчика и факт отмены
+ */
+public interface FlowableEmitter<T> {
+    void onNext(T item);
+    void onError(Throwable t);
+    void onComplete();
+
+    /**
+     * Сколько элементов подписчик ещё готов принять
+     */
+    long requested();
+
+    boolean isCancelled();
+
+    /**
+     * Устанавливает действие, вызываемое при отмене или завершении потока
+     */
+    void setCancellable(Cancellable cancellable);
+}
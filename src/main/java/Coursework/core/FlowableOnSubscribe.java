@@ -0,0 +1,9 @@
+package Coursework.core;
+
+/**
+ * Функциональный интерфейс для логики подписки Flowable.create
+ */
+@FunctionalInterface
+public interface FlowableOnSubscribe<T> {
+    void call(FlowableEmitter<T> emitter);
+}
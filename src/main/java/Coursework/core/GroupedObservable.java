@@ -0,0 +1,17 @@
+package Coursework.core;
+
+/**
+ * Подпоток оператора groupBy: элементы с одинаковым ключом. Допускает одного подписчика.
+ */
+public final class GroupedObservable<K, T> extends Observable<T> {
+    private final K key;
+
+    public GroupedObservable(K key, OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,12 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для IntObservable.create; аналог ObservableEmitter для примитивных int
+ */
+public interface IntEmitter extends IntObserver {
+    boolean isDisposed();
+
+    void setCancellable(Cancellable cancellable);
+
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,165 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.IntOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Поток примитивных int: элементы передаются без упаковки, map и filter не создают объектов на элемент
+ */
+public class IntObservable {
+    private final OnSubscribe onSubscribe;
+
+    private IntObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт IntObservable с переданной логикой
+     */
+    public static IntObservable create(OnSubscribe onSubscribe) {
+        return new IntObservable(onSubscribe);
+    }
+
+    /**
+     * Последовательность start, start + 1, ..., start + count - 1
+     */
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(start + i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Распаковывает Observable&lt;Integer&gt; в поток примитивов
+     */
+    public static IntObservable fromObservable(Observable<Integer> source) {
+        return IntOperators.fromObservable(source, Integer::intValue);
+    }
+
+    /**
+     * Подписывает IntObserver на события и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(IntObserver observer) {
+        CreateEmitter emitter = new CreateEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    public IntObservable map(IntUnaryOperator mapper) {
+        return IntOperators.map(this, mapper);
+    }
+
+    public IntObservable filter(IntPredicate predicate) {
+        return IntOperators.filter(this, predicate);
+    }
+
+    public <R> Observable<R> mapToObj(IntFunction<? extends R> mapper) {
+        return IntOperators.mapToObj(this, mapper);
+    }
+
+    /**
+     * Упаковывает элементы обратно в Observable&lt;Integer&gt;
+     */
+    public Observable<Integer> boxed() {
+        return IntOperators.mapToObj(this, Integer::valueOf);
+    }
+
+    /**
+     * Сумма всех элементов, выдаётся одним элементом при завершении источника
+     */
+    public IntObservable sum() {
+        return IntOperators.sum(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки IntObservable
+     */
+    @FunctionalInterface
+    public interface OnSubscribe {
+        void call(IntEmitter emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки
+     */
+    static final class CreateEmitter extends AtomicReference<Disposable> implements IntEmitter, Disposable {
+        private final IntObserver observer;
+        private boolean done;
+
+        CreateEmitter(IntObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(int item) {
+            if (done || isDisposed()) {
+                return;
+            }
+            observer.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || isDisposed()) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            try {
+                observer.onError(t);
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || isDisposed()) {
+                return;
+            }
+            done = true;
+            try {
+                observer.onComplete();
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package Coursework.core;
+
+/**
+ * Observer для потока примитивных int без упаковки в Integer
+ */
+public interface IntObserver {
+    /**
+     * Вызывается до первого события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onNext(int item);
+    void onError(Throwable t);
+    void onComplete();
+}
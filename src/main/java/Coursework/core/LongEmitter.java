@@ -0,0 +1,12 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для LongObservable.create; аналог ObservableEmitter для примитивных long
+ */
+public interface LongEmitter extends LongObserver {
+    boolean isDisposed();
+
+    void setCancellable(Cancellable cancellable);
+
+    void setDisposable(Disposable disposable);
+}
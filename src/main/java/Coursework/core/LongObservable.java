@@ -0,0 +1,165 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.LongOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Поток примитивных long: элементы передаются без упаковки, map и filter не создают объектов на элемент
+ */
+public class LongObservable {
+    private final OnSubscribe onSubscribe;
+
+    private LongObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт LongObservable с переданной логикой
+     */
+    public static LongObservable create(OnSubscribe onSubscribe) {
+        return new LongObservable(onSubscribe);
+    }
+
+    /**
+     * Последовательность start, start + 1, ..., start + count - 1
+     */
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return create(emitter -> {
+            for (long i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(start + i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Распаковывает Observable&lt;Long&gt; в поток примитивов
+     */
+    public static LongObservable fromObservable(Observable<Long> source) {
+        return LongOperators.fromObservable(source, Long::longValue);
+    }
+
+    /**
+     * Подписывает LongObserver на события и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(LongObserver observer) {
+        CreateEmitter emitter = new CreateEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    public LongObservable map(LongUnaryOperator mapper) {
+        return LongOperators.map(this, mapper);
+    }
+
+    public LongObservable filter(LongPredicate predicate) {
+        return LongOperators.filter(this, predicate);
+    }
+
+    public <R> Observable<R> mapToObj(LongFunction<? extends R> mapper) {
+        return LongOperators.mapToObj(this, mapper);
+    }
+
+    /**
+     * Упаковывает элементы обратно в Observable&lt;Long&gt;
+     */
+    public Observable<Long> boxed() {
+        return LongOperators.mapToObj(this, Long::valueOf);
+    }
+
+    /**
+     * Сумма всех элементов, выдаётся одним элементом при завершении источника
+     */
+    public LongObservable sum() {
+        return LongOperators.sum(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки LongObservable
+     */
+    @FunctionalInterface
+    public interface OnSubscribe {
+        void call(LongEmitter emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки
+     */
+    static final class CreateEmitter extends AtomicReference<Disposable> implements LongEmitter, Disposable {
+        private final LongObserver observer;
+        private boolean done;
+
+        CreateEmitter(LongObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(long item) {
+            if (done || isDisposed()) {
+                return;
+            }
+            observer.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || isDisposed()) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            try {
+                observer.onError(t);
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || isDisposed()) {
+                return;
+            }
+            done = true;
+            try {
+                observer.onComplete();
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package Coursework.core;
+
+/**
+ * Observer для потока примитивных long без упаковки в Long
+ */
+public interface LongObserver {
+    /**
+     * Вызывается до первого события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onNext(long item);
+    void onError(Throwable t);
+    void onComplete();
+}
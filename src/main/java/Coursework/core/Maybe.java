@@ -0,0 +1,235 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.MaybeOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Не больше одного значения: значение, завершение без значения или ошибка.
+ * Подписчик получает одно событие, после которого подписка освобождается.
+ */
+public class Maybe<T> {
+    private final OnSubscribe<T> onSubscribe;
+
+    private Maybe(OnSubscribe<T> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт Maybe с переданной логикой
+     */
+    public static <T> Maybe<T> create(OnSubscribe<T> onSubscribe) {
+        return new Maybe<>(onSubscribe);
+    }
+
+    public static <T> Maybe<T> just(T value) {
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        return create(emitter -> emitter.onSuccess(value));
+    }
+
+    public static <T> Maybe<T> empty() {
+        return create(MaybeEmitter::onComplete);
+    }
+
+    public static <T> Maybe<T> error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    /**
+     * Вызывает callable при каждой подписке; null даёт завершение без значения, исключение — onError
+     */
+    public static <T> Maybe<T> fromCallable(Callable<? extends T> callable) {
+        return create(emitter -> {
+            T value;
+            try {
+                value = callable.call();
+            } catch (Throwable e) {
+                emitter.onError(e);
+                return;
+            }
+            if (value == null) {
+                emitter.onComplete();
+            } else {
+                emitter.onSuccess(value);
+            }
+        });
+    }
+
+    /**
+     * Объединяет значения всех источников через zipper; источник без значения завершает результат пустым
+     */
+    public static <R> Maybe<R> zip(Iterable<? extends Maybe<?>> sources, Function<? super Object[], ? extends R> zipper) {
+        List<Maybe<?>> list = new ArrayList<>();
+        for (Maybe<?> source : sources) {
+            list.add(source);
+        }
+        return MaybeOperators.zip(list.toArray(new Maybe<?>[0]), zipper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Maybe<R> zip(Maybe<? extends A> first, Maybe<? extends B> second,
+                                         BiFunction<? super A, ? super B, ? extends R> zipper) {
+        return MaybeOperators.zip(new Maybe<?>[]{first, second}, values -> zipper.apply((A) values[0], (B) values[1]));
+    }
+
+    /**
+     * Подписывает MaybeObserver и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(MaybeObserver<? super T> observer) {
+        CreateEmitter<T> emitter = new CreateEmitter<>(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    /**
+     * Преобразует значение; null от mapper даёт завершение без значения
+     */
+    public <R> Maybe<R> map(Function<? super T, ? extends R> mapper) {
+        return MaybeOperators.map(this, mapper);
+    }
+
+    public <R> Maybe<R> flatMap(Function<? super T, ? extends Maybe<? extends R>> mapper) {
+        return MaybeOperators.flatMap(this, mapper);
+    }
+
+    public <U, R> Maybe<R> zipWith(Maybe<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return zip(this, other, zipper);
+    }
+
+    /**
+     * Выполняет подписку в указанном Scheduler-е
+     */
+    public Maybe<T> subscribeOn(Scheduler scheduler) {
+        return MaybeOperators.subscribeOn(this, scheduler);
+    }
+
+    /**
+     * Доставляет событие в указанном Scheduler-е одной задачей на подписку
+     */
+    public Maybe<T> observeOn(Scheduler scheduler) {
+        return MaybeOperators.observeOn(this, scheduler);
+    }
+
+    /**
+     * Single со значением этого Maybe; завершение без значения даёт NoSuchElementException
+     */
+    public Single<T> toSingle() {
+        return MaybeOperators.toSingle(this);
+    }
+
+    /**
+     * Observable из нуля или одного элемента
+     */
+    public Observable<T> toObservable() {
+        return MaybeOperators.toObservable(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки Maybe
+     */
+    @FunctionalInterface
+    public interface OnSubscribe<T> {
+        void call(MaybeEmitter<T> emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки; как у Single, событие атомарно
+     * переводит поле в DISPOSED, и доставляется только первое из конкурирующих событий
+     */
+    static final class CreateEmitter<T> extends AtomicReference<Disposable> implements MaybeEmitter<T>, Disposable {
+        private final MaybeObserver<? super T> observer;
+
+        CreateEmitter(MaybeObserver<? super T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (value == null) {
+                onError(new NullPointerException("onSuccess called with null"));
+                return;
+            }
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                return;
+            }
+            try {
+                observer.onSuccess(value);
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                return;
+            }
+            try {
+                observer.onComplete();
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            try {
+                observer.onError(t);
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        private Disposable terminate() {
+            Disposable current = get();
+            return current == DisposableHelper.DISPOSED ? current : getAndSet(DisposableHelper.DISPOSED);
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для Maybe.create; первое событие завершает подписку, последующие игнорируются
+ */
+public interface MaybeEmitter<T> extends MaybeObserver<T> {
+    boolean isDisposed();
+
+    /**
+     * Устанавливает действие, вызываемое при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setCancellable(Cancellable cancellable);
+
+    /**
+     * Устанавливает ресурс, освобождаемый при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,16 @@
+package Coursework.core;
+
+/**
+ * Observer для Maybe: ровно одно событие — значение, завершение без значения или ошибка
+ */
+public interface MaybeObserver<T> {
+    /**
+     * Вызывается до события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onSuccess(T value);
+    void onComplete();
+    void onError(Throwable t);
+}
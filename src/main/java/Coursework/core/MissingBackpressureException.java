@@ -0,0 +1,10 @@
+package Coursework.core;
+
+/**
+ * Источник не смог доставить элемент, потому что подписчик его не запрашивал
+ */
+public class MissingBackpressureException extends RuntimeException {
+    public MissingBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -1,80 +1,221 @@
 package Coursework.core;
 
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.BlockingOperator;
+import Coursework.operators.BufferOperator;
+import Coursework.operators.CircuitBreakerOperator;
+import Coursework.operators.CombineLatestOperator;
+import Coursework.operators.CompletableOperators;
+import Coursework.operators.ConcatMapOperator;
+import Coursework.operators.DebounceOperator;
+import Coursework.operators.DistinctOperator;
+import Coursework.operators.DoubleOperators;
 import Coursework.operators.FilterOperator;
 import Coursework.operators.FlatMapOperator;
+import Coursework.operators.FromOperator;
+import Coursework.operators.GroupByOperator;
+import Coursework.operators.IntOperators;
+import Coursework.operators.IntervalOperator;
+import Coursework.operators.LongOperators;
 import Coursework.operators.MapOperator;
+import Coursework.operators.MaybeOperators;
+import Coursework.operators.MeteredOperator;
+import Coursework.operators.MulticastOperator;
+import Coursework.operators.ObserveOnOperator;
+import Coursework.operators.OnErrorOperator;
+import Coursework.operators.ReduceOperator;
+import Coursework.operators.RetryOperator;
+import Coursework.operators.SampleOperator;
+import Coursework.operators.ScalarOperator;
+import Coursework.operators.ScanOperator;
+import Coursework.operators.SingleOperators;
+import Coursework.operators.SubscribeOnOperator;
+import Coursework.operators.ThrottleFirstOperator;
+import Coursework.operators.TimeoutOperator;
+import Coursework.operators.ToFutureOperator;
+import Coursework.operators.WindowOperator;
+import Coursework.operators.WithLatestFromOperator;
+import Coursework.operators.ZipOperator;
+import Coursework.plugins.ObservablePlugins;
+import Coursework.schedulers.Schedulers;
+import Coursework.subjects.PublishSubject;
+import Coursework.subjects.ReplaySubject;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * Класс Observable
  */
 public class Observable<T> {
+    private static final int DEFAULT_BUFFER_SIZE =
+            Math.max(16, Integer.getInteger("coursework.buffer-size", 128));
+
     private final OnSubscribe<T> onSubscribe;
 
-    private Observable(OnSubscribe<T> onSubscribe) {
+    protected Observable(OnSubscribe<T> onSubscribe) {
         this.onSubscribe = onSubscribe;
     }
 
     /**
-     * Создаёт Observable с переданной логикой
+     * Создаёт Observable с переданной логикой; результат проходит через хук сборки ObservablePlugins
      */
     public static <T> Observable<T> create(OnSubscribe<T> onSubscribe) {
-        return new Observable<>(onSubscribe);
+        return ObservablePlugins.onAssembly(new Observable<>(ObservablePlugins.onTrackAssembly(onSubscribe)));
     }
 
     /**
-     * Подписывает Observer на события и возвращает Disposable для отмены подписки.
-     * Эмиссия событий запускается в отдельном потоке.
+     * Как create, но эмиттер можно вызывать из нескольких потоков одновременно:
+     * события сериализуются без блокировок, см. SerializedObserver
      */
-    public Disposable subscribe(Observer<? super T> observer) {
-        AtomicBoolean disposed = new AtomicBoolean(false);
+    public static <T> Observable<T> createSerialized(OnSubscribe<T> onSubscribe) {
+        return create(emitter -> onSubscribe.call(new SerializedEmitter<>(emitter)));
+    }
 
-        Observer<T> safeObserver = new Observer<>() {
-            @Override
-            public void onNext(T item) {
-                if (!disposed.get()) {
-                    observer.onNext(item);
-                }
-            }
+    /**
+     * Поток из одного элемента. Подписка на него не создаёт эмиттер: подписчик получает
+     * единственный объект-Disposable, поэтому короткие потоки почти не нагружают GC.
+     */
+    public static <T> Observable<T> just(T value) {
+        return ScalarOperator.just(value);
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                if (!disposed.get()) {
-                    observer.onError(t);
-                }
-            }
+    /**
+     * Пустой поток; общий экземпляр, подписка на который не выделяет память
+     */
+    public static <T> Observable<T> empty() {
+        return ScalarOperator.empty();
+    }
 
-            @Override
-            public void onComplete() {
-                if (!disposed.get()) {
-                    observer.onComplete();
-                }
-            }
-        };
+    /**
+     * Результат callable, вычисляемый при каждой подписке; null даёт пустой поток
+     */
+    public static <T> Observable<T> fromCallable(Callable<? extends T> callable) {
+        return ScalarOperator.fromCallable(callable);
+    }
 
-        Disposable disposable = new Disposable() {
-            @Override
-            public void dispose() {
-                disposed.set(true);
-            }
+    /**
+     * Элементы Iterable; перебор ленивый и прекращается при отмене подписки
+     */
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> iterable) {
+        return FromOperator.fromIterable(iterable);
+    }
 
-            @Override
-            public boolean isDisposed() {
-                return disposed.get();
-            }
-        };
+    /**
+     * Элементы Stream; перебор ленивый, Stream закрывается при завершении или отмене.
+     * Stream одноразовый: подписаться на результат можно только один раз.
+     */
+    public static <T> Observable<T> fromStream(Stream<? extends T> stream) {
+        return FromOperator.fromStream(stream);
+    }
+
+    /**
+     * Результат CompletableFuture; null даёт пустой поток, отмена подписки не отменяет future
+     */
+    public static <T> Observable<T> fromFuture(CompletableFuture<? extends T> future) {
+        return FromOperator.fromFuture(future);
+    }
+
+    /**
+     * Элементы Flow.Publisher; весь спрос запрашивается сразу, отмена подписки отменяет Flow.Subscription
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return FromOperator.fromPublisher(publisher);
+    }
+
+    /**
+     * Объединяет элементы всех источников по мере поступления; downstream вызывается последовательно
+     */
+    public static <T> Observable<T> merge(Iterable<? extends Observable<? extends T>> sources) {
+        return merge(sources, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Как merge(sources), но одновременно подписан не больше чем на maxConcurrency источников
+     */
+    public static <T> Observable<T> merge(Iterable<? extends Observable<? extends T>> sources, int maxConcurrency) {
+        return FlatMapOperator.flatMap(fromIterable(sources), source -> source, maxConcurrency, bufferSize());
+    }
+
+    /**
+     * Элементы источников по очереди: на следующий источник подписывается после завершения предыдущего
+     */
+    public static <T> Observable<T> concat(Iterable<? extends Observable<? extends T>> sources) {
+        return ConcatMapOperator.concatMap(fromIterable(sources), source -> source, bufferSize());
+    }
+
+    /**
+     * Объединяет i-е элементы источников; массив в zipper содержит по элементу от каждого источника
+     */
+    public static <R> Observable<R> zip(Iterable<? extends Observable<?>> sources,
+                                        Function<? super Object[], ? extends R> zipper) {
+        return ZipOperator.zip(toArray(sources), zipper, bufferSize());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Observable<R> zip(Observable<? extends A> first, Observable<? extends B> second,
+                                              BiFunction<? super A, ? super B, ? extends R> zipper) {
+        return ZipOperator.zip(new Observable<?>[]{first, second},
+                values -> zipper.apply((A) values[0], (B) values[1]), bufferSize());
+    }
+
+    /**
+     * На каждый элемент любого источника выдаёт combiner от последних элементов всех источников
+     */
+    public static <R> Observable<R> combineLatest(Iterable<? extends Observable<?>> sources,
+                                                  Function<? super Object[], ? extends R> combiner) {
+        return CombineLatestOperator.combineLatest(toArray(sources), combiner);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Observable<R> combineLatest(Observable<? extends A> first, Observable<? extends B> second,
+                                                        BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return CombineLatestOperator.combineLatest(new Observable<?>[]{first, second},
+                values -> combiner.apply((A) values[0], (B) values[1]));
+    }
 
+    private static Observable<?>[] toArray(Iterable<? extends Observable<?>> sources) {
+        List<Observable<?>> list = new ArrayList<>();
+        sources.forEach(list::add);
+        return list.toArray(new Observable<?>[0]);
+    }
 
+    /**
+     * Логика подписки этого Observable; операторы используют её, чтобы сливать соседние стадии
+     */
+    public OnSubscribe<T> onSubscribe() {
+        return onSubscribe;
+    }
+
+    /**
+     * Подписывает Observer на события и возвращает Disposable для отмены подписки.
+     * Отмена доходит по цепочке операторов до источника.
+     */
+    public Disposable subscribe(Observer<? super T> observer) {
+        CreateEmitter<T> emitter = new CreateEmitter<>(observer);
+        observer.onSubscribe(emitter);
         try {
-            onSubscribe.call(safeObserver);
+            onSubscribe.call(emitter);
         } catch (Throwable t) {
-            safeObserver.onError(t);
+            emitter.onError(t);
         }
-
-        return disposable;
+        return emitter;
     }
 
     public <R> Observable<R> map(Function<? super T, ? extends R> mapper) {
@@ -89,37 +230,668 @@ public class Observable<T> {
         return FlatMapOperator.flatMap(this, mapper);
     }
 
+    /**
+     * flatMap с ограничением числа одновременных внутренних подписок;
+     * лишние элементы источника ждут в очереди, bufferSize задаёт размер звена очередей
+     */
+    public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<? extends R>> mapper,
+                                     int maxConcurrency, int bufferSize) {
+        return FlatMapOperator.flatMap(this, mapper, maxConcurrency, bufferSize);
+    }
+
+    public Observable<T> mergeWith(Observable<? extends T> other) {
+        return merge(List.of(this, other));
+    }
+
+    public <R> Observable<R> concatMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return concatMap(mapper, bufferSize());
+    }
+
+    /**
+     * Подписывается на внутренние потоки строго по очереди, сохраняя порядок элементов источника;
+     * prefetch задаёт размер звена очереди ожидающих элементов источника
+     */
+    public <R> Observable<R> concatMap(Function<? super T, ? extends Observable<? extends R>> mapper, int prefetch) {
+        return ConcatMapOperator.concatMap(this, mapper, prefetch);
+    }
+
+    public <R> Observable<R> concatMapEager(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return concatMapEager(mapper, Integer.MAX_VALUE, bufferSize());
+    }
+
+    /**
+     * Подписывается на внутренние потоки сразу (не больше maxConcurrency одновременно),
+     * но выдаёт их элементы в порядке элементов источника; элементы следующих потоков ждут в буфере
+     */
+    public <R> Observable<R> concatMapEager(Function<? super T, ? extends Observable<? extends R>> mapper,
+                                           int maxConcurrency, int prefetch) {
+        return ConcatMapOperator.concatMapEager(this, mapper, maxConcurrency, prefetch);
+    }
+
+    public Observable<T> concatWith(Observable<? extends T> other) {
+        return concat(List.of(this, other));
+    }
+
+    public <U, R> Observable<R> zipWith(Observable<? extends U> other,
+                                        BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return zip(this, other, zipper);
+    }
+
+    /**
+     * Объединяет каждый элемент с последним элементом other; до первого элемента other элементы отбрасываются
+     */
+    public <U, R> Observable<R> withLatestFrom(Observable<? extends U> other,
+                                               BiFunction<? super T, ? super U, ? extends R> combiner) {
+        return WithLatestFromOperator.withLatestFrom(this, other, combiner);
+    }
+
+    /**
+     * Сворачивает все элементы в один; пустой поток завершается без элементов
+     */
+    public Observable<T> reduce(BinaryOperator<T> reducer) {
+        return ReduceOperator.reduce(this, reducer);
+    }
+
+    /**
+     * Сворачивает элементы начиная с seed и отдаёт результат при завершении источника
+     */
+    public <R> Observable<R> reduce(R seed, BiFunction<R, ? super T, R> reducer) {
+        return ReduceOperator.reduce(this, seed, reducer);
+    }
+
+    /**
+     * Как reduce, но отдаёт накопленное значение после каждого элемента
+     */
+    public Observable<T> scan(BinaryOperator<T> accumulator) {
+        return ScanOperator.scan(this, accumulator);
+    }
+
+    public <R> Observable<R> scan(R seed, BiFunction<R, ? super T, R> accumulator) {
+        return ScanOperator.scan(this, seed, accumulator);
+    }
+
+    public Observable<Long> count() {
+        return ReduceOperator.count(this);
+    }
+
+    /**
+     * Складывает элементы в контейнер, созданный supplier-ом для каждой подписки
+     */
+    public <R> Observable<R> collect(Supplier<? extends R> supplier, BiConsumer<? super R, ? super T> collector) {
+        return ReduceOperator.collect(this, supplier, collector);
+    }
+
+    public Observable<List<T>> toList() {
+        return collect(ArrayList::new, List::add);
+    }
 
     /**
-     * Выполняет подписку в указанном Scheduler-е
+     * Делит поток на подпотоки по ключу; группы живут до завершения источника
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector) {
+        return groupBy(keySelector, Integer.MAX_VALUE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           int maxGroups, long idleTimeout, TimeUnit unit) {
+        return groupBy(keySelector, maxGroups, idleTimeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * groupBy с ограничением памяти: одновременно открыто не больше maxGroups групп,
+     * а группа без элементов дольше idleTimeout закрывается по таймеру scheduler-а (0 — без ограничения по простою)
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           int maxGroups, long idleTimeout, TimeUnit unit,
+                                                           Scheduler scheduler) {
+        return GroupByOperator.groupBy(this, keySelector, maxGroups, idleTimeout, unit, scheduler);
+    }
+
+    /**
+     * Пропускает только ранее не встречавшиеся элементы; множество растёт без ограничений
+     */
+    public Observable<T> distinct() {
+        return distinct(Function.identity());
+    }
+
+    public <K> Observable<T> distinct(Function<? super T, K> keySelector) {
+        return distinct(keySelector, DistinctSet::unbounded);
+    }
+
+    /**
+     * distinct с выбранным множеством ключей, например DistinctSet.lru(n) или DistinctSet.bloom(n, p),
+     * чтобы ограничить память при большом числе ключей
+     */
+    public <K> Observable<T> distinct(Function<? super T, K> keySelector,
+                                      Supplier<? extends DistinctSet<? super K>> setSupplier) {
+        return DistinctOperator.distinct(this, keySelector, setSupplier);
+    }
+
+    /**
+     * Пропускает элемент, только если он не равен предыдущему
+     */
+    public Observable<T> distinctUntilChanged() {
+        return distinctUntilChanged(Function.identity());
+    }
+
+    public <K> Observable<T> distinctUntilChanged(Function<? super T, K> keySelector) {
+        return DistinctOperator.distinctUntilChanged(this, keySelector);
+    }
+
+    /**
+     * Выполняет подписку в указанном Scheduler-е; отмена прерывает ещё работающую задачу подписки
      */
     public Observable<T> subscribeOn(Scheduler scheduler) {
-        return Observable.create(downstream ->
-                scheduler.execute(() -> this.subscribe(downstream))
-        );
+        return SubscribeOnOperator.subscribeOn(this, scheduler);
     }
 
     /**
      * Переключает контекст обработки onNext/onError/onComplete на указанный Scheduler
      */
     public Observable<T> observeOn(Scheduler scheduler) {
-        return Observable.create(downstream ->
-                this.subscribe(new Observer<>() {
-                    @Override
-                    public void onNext(T item) {
-                        scheduler.execute(() -> downstream.onNext(item));
-                    }
-
-                    @Override
-                    public void onError(Throwable t) {
-                        scheduler.execute(() -> downstream.onError(t));
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        scheduler.execute(downstream::onComplete);
-                    }
-                })
-        );
+        return observeOn(scheduler, bufferSize());
+    }
+
+    /**
+     * Переключает контекст обработки на указанный Scheduler;
+     * bufferSize задаёт размер звена очереди и число элементов, доставляемых за один запуск задачи
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int bufferSize) {
+        return ObserveOnOperator.observeOn(this, scheduler, bufferSize);
+    }
+
+    /**
+     * Поток чисел 0, 1, 2, ... с интервалом period в вычислительном Scheduler-е
+     */
+    public static Observable<Long> interval(long period, TimeUnit unit) {
+        return interval(period, period, unit, Schedulers.computation());
+    }
+
+    public static Observable<Long> interval(long period, TimeUnit unit, Scheduler scheduler) {
+        return interval(period, period, unit, scheduler);
+    }
+
+    public static Observable<Long> interval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        return IntervalOperator.interval(initialDelay, period, unit, scheduler);
+    }
+
+    /**
+     * Собирает элементы в списки по count штук
+     */
+    public Observable<List<T>> buffer(int count) {
+        return BufferOperator.buffer(this, count);
+    }
+
+    /**
+     * Собирает элементы, пришедшие за timespan, в один список
+     */
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit) {
+        return buffer(timespan, unit, Schedulers.computation(), Integer.MAX_VALUE);
+    }
+
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, Scheduler scheduler) {
+        return buffer(timespan, unit, scheduler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Отправляет список каждые timespan или раньше, как только в нём наберётся maxSize элементов.
+     * Списки доставляются в Worker-е указанного Scheduler-а.
+     */
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, Scheduler scheduler, int maxSize) {
+        return BufferOperator.buffer(this, timespan, unit, scheduler, maxSize);
+    }
+
+    /**
+     * Делит поток на окна по count элементов; каждое окно допускает одного подписчика
+     */
+    public Observable<Observable<T>> window(int count) {
+        return WindowOperator.window(this, count);
+    }
+
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit) {
+        return window(timespan, unit, Schedulers.computation());
+    }
+
+    /**
+     * Делит поток на окна длительностью timespan; каждое окно допускает одного подписчика
+     */
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit, Scheduler scheduler) {
+        return WindowOperator.window(this, timespan, unit, scheduler);
+    }
+
+    public Observable<T> debounce(long timeout, TimeUnit unit) {
+        return debounce(timeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * Пропускает элемент, только если за timeout после него источник ничего не прислал
+     */
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return DebounceOperator.debounce(this, timeout, unit, scheduler);
+    }
+
+    public Observable<T> sample(long period, TimeUnit unit) {
+        return sample(period, unit, Schedulers.computation());
+    }
+
+    /**
+     * Раз в period отправляет последний пришедший элемент
+     */
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        return SampleOperator.sample(this, period, unit, scheduler);
+    }
+
+    public Observable<T> throttleFirst(long window, TimeUnit unit) {
+        return throttleFirst(window, unit, Schedulers.computation());
+    }
+
+    /**
+     * Пропускает первый элемент и отбрасывает следующие в течение window
+     */
+    public Observable<T> throttleFirst(long window, TimeUnit unit, Scheduler scheduler) {
+        return ThrottleFirstOperator.throttleFirst(this, window, unit, scheduler);
+    }
+
+    public Observable<T> timeout(long timeout, TimeUnit unit) {
+        return timeout(timeout, unit, Schedulers.computation());
+    }
+
+    /**
+     * Завершает поток с TimeoutException, если между событиями прошло больше timeout
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return TimeoutOperator.timeout(this, timeout, unit, scheduler);
+    }
+
+    /**
+     * Переподписывается на источник после каждой ошибки
+     */
+    public Observable<T> retry() {
+        return retry(Long.MAX_VALUE);
+    }
+
+    /**
+     * Переподписывается после ошибки не больше times раз; следующая ошибка передаётся подписчику
+     */
+    public Observable<T> retry(long times) {
+        return retry(times, error -> true);
+    }
+
+    /**
+     * Как retry(times), но переподписывается только на ошибки, которые пропускает predicate
+     */
+    public Observable<T> retry(long times, Predicate<? super Throwable> predicate) {
+        return RetryOperator.retry(this, times, predicate);
+    }
+
+    /**
+     * Ошибки источника передаются в handler; каждый элемент его результата переподписывает источник,
+     * а завершение или ошибка результата завершают поток
+     */
+    public Observable<T> retryWhen(Function<? super Observable<Throwable>, ? extends Observable<?>> handler) {
+        return RetryOperator.retryWhen(this, handler);
+    }
+
+    public Observable<T> retryWithBackoff(long maxRetries, long initialDelay, long maxDelay, TimeUnit unit) {
+        return retryWithBackoff(maxRetries, initialDelay, maxDelay, unit, Schedulers.computation());
+    }
+
+    /**
+     * Переподписывается после ошибки с экспоненциально растущей задержкой со случайным разбросом;
+     * ожидание идёт на таймере scheduler-а, а не блокирует поток
+     */
+    public Observable<T> retryWithBackoff(long maxRetries, long initialDelay, long maxDelay, TimeUnit unit,
+                                          Scheduler scheduler) {
+        return RetryOperator.retryWithBackoff(this, maxRetries, initialDelay, maxDelay, unit, scheduler);
+    }
+
+    /**
+     * Переподписывается на источник после каждого завершения
+     */
+    public Observable<T> repeat() {
+        return repeat(Long.MAX_VALUE);
+    }
+
+    /**
+     * Проходит источник times раз подряд
+     */
+    public Observable<T> repeat(long times) {
+        return RetryOperator.repeat(this, times);
+    }
+
+    /**
+     * После ошибки продолжает поток элементами Observable, который вернул resume
+     */
+    public Observable<T> onErrorResumeNext(Function<? super Throwable, ? extends Observable<? extends T>> resume) {
+        return OnErrorOperator.onErrorResumeNext(this, resume);
+    }
+
+    /**
+     * После ошибки выдаёт значение valueSupplier и завершает поток
+     */
+    public Observable<T> onErrorReturn(Function<? super Throwable, ? extends T> valueSupplier) {
+        return OnErrorOperator.onErrorReturn(this, valueSupplier);
+    }
+
+    /**
+     * Подписка проходит через breaker: пока он разомкнут, поток сразу завершается CircuitBreakerOpenException
+     */
+    public Observable<T> circuitBreaker(CircuitBreaker breaker) {
+        return CircuitBreakerOperator.circuitBreaker(this, breaker);
+    }
+
+    /**
+     * Общая подписка на источник для всех подписчиков; источник запускается вызовом connect()
+     */
+    public ConnectableObservable<T> publish() {
+        return MulticastOperator.multicast(this, PublishSubject::create);
+    }
+
+    /**
+     * publish().refCount(): источник запускается первым подписчиком и останавливается,
+     * когда отписался последний
+     */
+    public Observable<T> share() {
+        return publish().refCount();
+    }
+
+    /**
+     * Как publish(), но поздние подписчики получают все уже пришедшие элементы
+     */
+    public ConnectableObservable<T> replay() {
+        return MulticastOperator.multicast(this, ReplaySubject::create);
+    }
+
+    /**
+     * Как publish(), но поздние подписчики получают до bufferSize последних элементов
+     */
+    public ConnectableObservable<T> replay(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return MulticastOperator.multicast(this, () -> ReplaySubject.createWithSize(bufferSize));
+    }
+
+    /**
+     * Как publish(), но поздние подписчики получают элементы, пришедшие не раньше maxAge назад
+     */
+    public ConnectableObservable<T> replay(long maxAge, TimeUnit unit) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return MulticastOperator.multicast(this, () -> ReplaySubject.createWithTime(maxAge, unit));
+    }
+
+    /**
+     * Как replay(maxAge, unit), но возраст элементов отсчитывается по часам scheduler-а
+     */
+    public ConnectableObservable<T> replay(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return MulticastOperator.multicast(this, () -> ReplaySubject.createWithTime(maxAge, unit, scheduler));
+    }
+
+    /**
+     * Подписывается на источник при первом подписчике и запоминает все события:
+     * источник выполняется один раз, сколько бы подписчиков ни было
+     */
+    public Observable<T> cache() {
+        return replay().autoConnect(1);
+    }
+
+    /**
+     * Делит поток на рельсы по числу процессоров
+     */
+    public ParallelObservable<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Делит поток на parallelism рельсов для параллельной обработки, см. ParallelObservable
+     */
+    public ParallelObservable<T> parallel(int parallelism) {
+        return ParallelObservable.from(this, parallelism);
+    }
+
+    /**
+     * Точка измерения: счётчики элементов и ошибок и гистограмма времени обработки элемента
+     * оставшейся частью цепочки публикуются в Metrics.registry() под именем name
+     */
+    public Observable<T> metered(String name) {
+        return MeteredOperator.metered(this, name);
+    }
+
+    /**
+     * Переводит поток в IntObservable, чтобы дальнейшие стадии работали без упаковки
+     */
+    public IntObservable mapToInt(ToIntFunction<? super T> mapper) {
+        return IntOperators.fromObservable(this, mapper);
+    }
+
+    public LongObservable mapToLong(ToLongFunction<? super T> mapper) {
+        return LongOperators.fromObservable(this, mapper);
+    }
+
+    public DoubleObservable mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return DoubleOperators.fromObservable(this, mapper);
+    }
+
+    /**
+     * Превращает поток в Flowable; strategy определяет, что делать с элементами, на которые нет спроса
+     */
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return Flowable.create(emitter -> this.subscribe(new Observer<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                emitter.setCancellable(d::dispose);
+            }
+
+            @Override
+            public void onNext(T item) {
+                emitter.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                emitter.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }), strategy);
+    }
+
+    /**
+     * Flow.Publisher, соблюдающий запросы подписчика; элементы без спроса буферизуются
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return toPublisher(BackpressureStrategy.BUFFER);
+    }
+
+    /**
+     * Flow.Publisher, соблюдающий запросы подписчика; strategy определяет судьбу элементов без спроса
+     */
+    public Flow.Publisher<T> toPublisher(BackpressureStrategy strategy) {
+        return toFlowable(strategy).toFlowPublisher();
+    }
+
+    /**
+     * Подписывается и возвращает future с последним элементом; пустой поток даёт NoSuchElementException.
+     * Отмена future отменяет подписку.
+     */
+    public CompletableFuture<T> toFuture() {
+        return ToFutureOperator.toFuture(this);
+    }
+
+    /**
+     * Подписывается и возвращает future с первым элементом; затем подписка отменяется
+     */
+    public CompletableFuture<T> firstAsFuture() {
+        return ToFutureOperator.firstAsFuture(this);
+    }
+
+    /**
+     * Single с единственным элементом потока: пустой поток даёт NoSuchElementException,
+     * второй элемент — IllegalArgumentException
+     */
+    public Single<T> singleOrError() {
+        return SingleOperators.singleOrError(this);
+    }
+
+    /**
+     * Maybe с первым элементом потока; после него подписка на источник отменяется
+     */
+    public Maybe<T> firstElement() {
+        return MaybeOperators.firstElement(this);
+    }
+
+    /**
+     * Completable, который передаёт только завершение или ошибку потока
+     */
+    public Completable ignoreElements() {
+        return CompletableOperators.ignoreElements(this);
+    }
+
+    /**
+     * Подписывает новый TestObserver и возвращает его для проверок в тестах
+     */
+    public TestObserver<T> test() {
+        TestObserver<T> observer = new TestObserver<>();
+        subscribe(observer);
+        return observer;
+    }
+
+    /**
+     * Iterable для перебора элементов в вызывающем потоке; каждый iterator() подписывается заново.
+     * Очередь растёт звеньями по bufferSize() элементов.
+     */
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(bufferSize());
+    }
+
+    /**
+     * Как blockingIterable(), но звено очереди вмещает prefetch элементов.
+     * Observable не умеет притормаживать источник, поэтому очередь не ограничена;
+     * ограниченная очередь — у Flowable.blockingIterable(prefetch).
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        return BlockingOperator.blockingIterable(this, prefetch);
+    }
+
+    /**
+     * Ждёт первый элемент и отменяет подписку; пустой поток даёт NoSuchElementException
+     */
+    public T blockingFirst() {
+        return BlockingOperator.blockingFirst(this);
+    }
+
+    /**
+     * Ждёт завершения и возвращает последний элемент; пустой поток даёт NoSuchElementException
+     */
+    public T blockingLast() {
+        return BlockingOperator.blockingLast(this);
+    }
+
+    /**
+     * Выполняет action для каждого элемента в вызывающем потоке; ошибка потока выбрасывается
+     */
+    public void blockingForEach(Consumer<? super T> action) {
+        BlockingOperator.blockingForEach(this, action);
+    }
+
+    /**
+     * Ждёт завершения потока; ошибка выбрасывается в вызывающем потоке
+     */
+    public void blockingSubscribe() {
+        BlockingOperator.blockingSubscribe(this);
+    }
+
+    /**
+     * Доставляет события observer-у в вызывающем потоке и возвращается после завершения
+     */
+    public void blockingSubscribe(Observer<? super T> observer) {
+        BlockingOperator.blockingSubscribe(this, observer);
+    }
+
+    /**
+     * Размер буфера по умолчанию для асинхронных операторов
+     */
+    public static int bufferSize() {
+        return DEFAULT_BUFFER_SIZE;
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки.
+     * Ресурс источника (или Disposable оператора выше по цепочке) хранится в самом объекте.
+     */
+    static final class CreateEmitter<T> extends AtomicReference<Disposable> implements ObservableEmitter<T>, Disposable {
+        private final Observer<? super T> observer;
+        private boolean done;
+
+        CreateEmitter(Observer<? super T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || isDisposed()) {
+                return;
+            }
+            if (item == null) {
+                onError(new NullPointerException("onNext called with null"));
+                return;
+            }
+            observer.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || isDisposed()) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            try {
+                observer.onError(t);
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || isDisposed()) {
+                return;
+            }
+            done = true;
+            try {
+                observer.onComplete();
+            } finally {
+                DisposableHelper.release(this);
+            }
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
     }
 }
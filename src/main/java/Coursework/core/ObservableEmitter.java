@@ -0,0 +1,22 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для Observable.create: позволяет источнику узнать об отмене подписки
+ * и зарегистрировать ресурс, который нужно освободить при отмене
+ */
+public interface ObservableEmitter<T> extends Observer<T> {
+    /**
+     * true, если подписчик отменил подписку; источнику стоит прекратить работу
+     */
+    boolean isDisposed();
+
+    /**
+     * Устанавливает действие, вызываемое при отмене или завершении; предыдущий ресурс освобождается
+     */
+    void setCancellable(Cancellable cancellable);
+
+    /**
+     * Устанавливает ресурс, освобождаемый при отмене или завершении; предыдущий ресурс освобождается
+     */
+    void setDisposable(Disposable disposable);
+}
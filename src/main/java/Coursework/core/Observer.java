@@ -4,8 +4,13 @@ package Coursework.core;
  * Интерфейс Observer для подписки на события Observable
  */
 public interface Observer<T> {
+    /**
+     * Вызывается до первого события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
     void onNext(T item);
     void onError(Throwable t);
     void onComplete();
 }
-
@@ -5,6 +5,5 @@ package Coursework.core;
  */
 @FunctionalInterface
 public interface OnSubscribe<T> {
-    void call(Observer<? super T> observer);
+    void call(ObservableEmitter<T> emitter);
 }
-
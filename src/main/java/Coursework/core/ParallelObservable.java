@@ -0,0 +1,119 @@
+package Coursework.core;
+
+import Coursework.operators.ParallelOperator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Поток, разделённый на parallelism рельсов: элементы источника раздаются по кругу,
+ * каждый рельс выполняет свои стадии независимо, а sequential() сливает рельсы обратно.
+ * Все стадии рельса выполняются в Worker-е, заданном runOn; без runOn — в потоке источника.
+ */
+public final class ParallelObservable<T> {
+    private static final Object[] NO_STAGES = new Object[0];
+
+    private final Observable<?> source;
+    private final int parallelism;
+    private final Scheduler scheduler;
+    private final int prefetch;
+    private final Object[] stages;
+
+    private ParallelObservable(Observable<?> source, int parallelism, Scheduler scheduler, int prefetch,
+                               Object[] stages) {
+        this.source = source;
+        this.parallelism = parallelism;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+        this.stages = stages;
+    }
+
+    static <T> ParallelObservable<T> from(Observable<T> source, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        return new ParallelObservable<>(source, parallelism, null, Observable.bufferSize(), NO_STAGES);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Выполняет рельсы в отдельных Worker-ах scheduler-а
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Observable.bufferSize());
+    }
+
+    /**
+     * prefetch — сколько элементов рельс обрабатывает за один запуск задачи перед тем, как уступить поток
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch, stages);
+    }
+
+    public <R> ParallelObservable<R> map(Function<? super T, ? extends R> mapper) {
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch,
+                ParallelOperator.map(stages, mapper));
+    }
+
+    public ParallelObservable<T> filter(Predicate<? super T> predicate) {
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch,
+                ParallelOperator.filter(stages, predicate));
+    }
+
+    /**
+     * Сворачивает каждый рельс отдельно: после завершения источника каждый рельс выдаёт один элемент
+     */
+    public <R> ParallelObservable<R> reduce(Supplier<R> initial, BiFunction<R, ? super T, R> reducer) {
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch,
+                ParallelOperator.reduce(stages, initial, reducer));
+    }
+
+    /**
+     * Сворачивает все элементы: сначала параллельно внутри рельсов, затем результаты рельсов между собой
+     */
+    public Observable<T> reduce(BinaryOperator<T> reducer) {
+        ParallelObservable<T> partials = new ParallelObservable<>(source, parallelism, scheduler, prefetch,
+                ParallelOperator.reduce(stages, null, reducer));
+        return ParallelOperator.reduceAll(partials.sequential(), reducer);
+    }
+
+    /**
+     * Сортирует каждый рельс в его Worker-е и сливает отсортированные рельсы в один поток
+     */
+    public Observable<T> sorted(Comparator<? super T> comparator) {
+        Observable<List<T>> sortedRails = this.<List<T>>reduce(ArrayList::new, (list, item) -> {
+            list.add(item);
+            return list;
+        }).map(list -> {
+            list.sort(comparator);
+            return list;
+        }).sequential();
+        return ParallelOperator.mergeSorted(sortedRails, comparator);
+    }
+
+    /**
+     * Сливает рельсы в один поток в порядке готовности элементов
+     */
+    public Observable<T> sequential() {
+        return sequential(false);
+    }
+
+    /**
+     * preserveOrder = true сохраняет порядок элементов источника ценой ожидания медленного рельса
+     */
+    public Observable<T> sequential(boolean preserveOrder) {
+        return ParallelOperator.sequential(source, parallelism, scheduler, prefetch, stages, preserveOrder);
+    }
+}
@@ -0,0 +1,9 @@
+package Coursework.core;
+
+/**
+ * Источник с поддержкой обратного давления
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+    void subscribe(Subscriber<? super T> subscriber);
+}
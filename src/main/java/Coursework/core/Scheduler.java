@@ -1,8 +1,88 @@
 package Coursework.core;
 
+import Coursework.internal.DisposableTask;
+import Coursework.internal.SchedulerTimer;
+import Coursework.internal.SerialWorker;
+
+import java.util.concurrent.TimeUnit;
+
 /**
  * Интерфейс Scheduler для выполнения задач
  */
 public interface Scheduler {
     void execute(Runnable task);
+
+    /**
+     * Текущее время Scheduler-а; операторы отсчитывают по нему возраст элементов.
+     * TestScheduler возвращает виртуальное время.
+     */
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Выполняет задачу и возвращает Disposable для её отмены.
+     * Реализация по умолчанию лишь пропускает ещё не начатую задачу;
+     * пулы потоков переопределяют метод, чтобы прерывать и выполняющуюся.
+     */
+    default Disposable schedule(Runnable task) {
+        DisposableTask disposableTask = new DisposableTask(task);
+        execute(disposableTask);
+        return disposableTask;
+    }
+
+    /**
+     * Выполняет задачу через указанную задержку; задержку отсчитывает общий поток-таймер
+     */
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return SchedulerTimer.schedule(this::schedule, task, delay, unit);
+    }
+
+    /**
+     * Выполняет задачу с фиксированной частотой, пока не будет вызван dispose()
+     */
+    default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return SchedulerTimer.schedulePeriodically(this::schedule, task, initialDelay, period, unit);
+    }
+
+    /**
+     * Создаёт Worker: задачи одного Worker-а выполняются строго по очереди и не пересекаются во времени
+     */
+    default Worker createWorker() {
+        return new SerialWorker(this);
+    }
+
+    /**
+     * Запускает ресурсы Scheduler-а заново после shutdown()
+     */
+    default void start() {
+    }
+
+    /**
+     * Останавливает потоки Scheduler-а; новые задачи отклоняются до вызова start()
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Последовательный исполнитель задач одного подписчика.
+     * dispose() отменяет все задачи, которые ещё не начали выполняться.
+     */
+    interface Worker extends Disposable {
+        Disposable schedule(Runnable task);
+
+        /**
+         * Ставит задачу в очередь Worker-а через указанную задержку
+         */
+        default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return SchedulerTimer.schedule(this::schedule, task, delay, unit);
+        }
+
+        /**
+         * Периодическая задача Worker-а; запуски выполняются по очереди с остальными задачами
+         */
+        default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return SchedulerTimer.schedulePeriodically(this::schedule, task, initialDelay, period, unit);
+        }
+    }
 }
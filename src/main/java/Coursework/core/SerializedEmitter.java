@@ -0,0 +1,49 @@
+package Coursework.core;
+
+/**
+ * Эмиттер Observable.createSerialized: события идут через SerializedObserver,
+ * а управление ресурсами передаётся исходному эмиттеру
+ */
+final class SerializedEmitter<T> implements ObservableEmitter<T> {
+    private final ObservableEmitter<T> emitter;
+    private final SerializedObserver<T> serialized;
+
+    SerializedEmitter(ObservableEmitter<T> emitter) {
+        this.emitter = emitter;
+        this.serialized = new SerializedObserver<>(emitter);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        serialized.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        serialized.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        serialized.onComplete();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return emitter.isDisposed();
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+        emitter.setCancellable(cancellable);
+    }
+
+    @Override
+    public void setDisposable(Disposable disposable) {
+        emitter.setDisposable(disposable);
+    }
+}
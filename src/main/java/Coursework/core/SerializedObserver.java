@@ -0,0 +1,105 @@
+package Coursework.core;
+
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Observer, который можно вызывать из нескольких потоков одновременно: события доходят до
+ * оборачиваемого Observer-а строго последовательно.
+ * Поток, захвативший счётчик wip, отдаёт элемент сразу; остальные кладут элементы в очередь,
+ * и их доставляет владелец счётчика перед тем, как отпустить его. Блокировок нет.
+ */
+public final class SerializedObserver<T> extends AtomicInteger implements Observer<T> {
+    /**
+     * Метка успешного завершения в поле terminal
+     */
+    private static final Throwable COMPLETE = new Throwable("complete");
+
+    private final Observer<? super T> downstream;
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Throwable> terminal = new AtomicReference<>();
+
+    public SerializedObserver(Observer<? super T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        downstream.onSubscribe(d);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (terminal.get() != null) {
+            return;
+        }
+        if (get() == 0 && compareAndSet(0, 1)) {
+            // Быстрый путь: при нулевом wip очередь пуста, элемент можно отдать без очереди
+            downstream.onNext(item);
+            if (decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            queue.offer(item);
+            if (getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (terminal.compareAndSet(null, t)) {
+            drain();
+        } else {
+            ObservablePlugins.onError(t);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (terminal.compareAndSet(null, COMPLETE)) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    /**
+     * Отдаёт накопленные элементы, затем терминальное событие. После терминального события
+     * wip не сбрасывается, поэтому поздние вызовы никогда не дойдут до downstream.
+     */
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                Throwable t = terminal.get();
+                T item = queue.poll();
+                if (item == null) {
+                    if (t != null) {
+                        if (t == COMPLETE) {
+                            downstream.onComplete();
+                        } else {
+                            downstream.onError(t);
+                        }
+                        return;
+                    }
+                    break;
+                }
+                downstream.onNext(item);
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
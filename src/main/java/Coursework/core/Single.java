@@ -0,0 +1,208 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+import Coursework.operators.SingleOperators;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Ровно одно значение или ошибка — модель вызова «запрос — ответ».
+ * В отличие от Observable из одного элемента, не нужны onNext + onComplete и учёт завершения:
+ * подписчик получает одно событие, после которого подписка освобождается.
+ */
+public class Single<T> {
+    private final OnSubscribe<T> onSubscribe;
+
+    private Single(OnSubscribe<T> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    /**
+     * Создаёт Single с переданной логикой
+     */
+    public static <T> Single<T> create(OnSubscribe<T> onSubscribe) {
+        return new Single<>(onSubscribe);
+    }
+
+    public static <T> Single<T> just(T value) {
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        return create(emitter -> emitter.onSuccess(value));
+    }
+
+    public static <T> Single<T> error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    /**
+     * Вызывает callable при каждой подписке; null или исключение дают onError
+     */
+    public static <T> Single<T> fromCallable(Callable<? extends T> callable) {
+        return create(emitter -> {
+            T value;
+            try {
+                value = callable.call();
+            } catch (Throwable e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onSuccess(value);
+        });
+    }
+
+    /**
+     * Ждёт значения всех источников и объединяет их через zipper; первая ошибка отменяет остальные
+     */
+    public static <R> Single<R> zip(Iterable<? extends Single<?>> sources, Function<? super Object[], ? extends R> zipper) {
+        List<Single<?>> list = new ArrayList<>();
+        for (Single<?> source : sources) {
+            list.add(source);
+        }
+        return SingleOperators.zip(list.toArray(new Single<?>[0]), zipper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Single<R> zip(Single<? extends A> first, Single<? extends B> second,
+                                          BiFunction<? super A, ? super B, ? extends R> zipper) {
+        return SingleOperators.zip(new Single<?>[]{first, second}, values -> zipper.apply((A) values[0], (B) values[1]));
+    }
+
+    /**
+     * Подписывает SingleObserver и возвращает Disposable для отмены подписки
+     */
+    public Disposable subscribe(SingleObserver<? super T> observer) {
+        CreateEmitter<T> emitter = new CreateEmitter<>(observer);
+        observer.onSubscribe(emitter);
+        try {
+            onSubscribe.call(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    public <R> Single<R> map(Function<? super T, ? extends R> mapper) {
+        return SingleOperators.map(this, mapper);
+    }
+
+    /**
+     * Подписывается на Single, полученный из значения; внутренний Single один, поэтому счётчик
+     * активных подписок и очередь, как у Observable.flatMap, не нужны
+     */
+    public <R> Single<R> flatMap(Function<? super T, ? extends Single<? extends R>> mapper) {
+        return SingleOperators.flatMap(this, mapper);
+    }
+
+    public <U, R> Single<R> zipWith(Single<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return zip(this, other, zipper);
+    }
+
+    /**
+     * Выполняет подписку в указанном Scheduler-е
+     */
+    public Single<T> subscribeOn(Scheduler scheduler) {
+        return SingleOperators.subscribeOn(this, scheduler);
+    }
+
+    /**
+     * Доставляет событие в указанном Scheduler-е: одна задача на подписку, без очереди и Worker-а
+     */
+    public Single<T> observeOn(Scheduler scheduler) {
+        return SingleOperators.observeOn(this, scheduler);
+    }
+
+    /**
+     * Observable из одного элемента: onSuccess превращается в onNext + onComplete
+     */
+    public Observable<T> toObservable() {
+        return SingleOperators.toObservable(this);
+    }
+
+    /**
+     * Функциональный интерфейс для логики подписки Single
+     */
+    @FunctionalInterface
+    public interface OnSubscribe<T> {
+        void call(SingleEmitter<T> emitter);
+    }
+
+    /**
+     * Эмиттер, который одновременно служит Disposable подписки. Событие атомарно переводит поле
+     * в DISPOSED, поэтому из двух конкурирующих событий доставляется только первое,
+     * а ресурс, установленный после события, сразу освобождается.
+     */
+    static final class CreateEmitter<T> extends AtomicReference<Disposable> implements SingleEmitter<T>, Disposable {
+        private final SingleObserver<? super T> observer;
+
+        CreateEmitter(SingleObserver<? super T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (value == null) {
+                onError(new NullPointerException("onSuccess called with null"));
+                return;
+            }
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                return;
+            }
+            try {
+                observer.onSuccess(value);
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Disposable resource = terminate();
+            if (resource == DisposableHelper.DISPOSED) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            try {
+                observer.onError(t);
+            } finally {
+                if (resource != null) {
+                    resource.dispose();
+                }
+            }
+        }
+
+        private Disposable terminate() {
+            Disposable current = get();
+            return current == DisposableHelper.DISPOSED ? current : getAndSet(DisposableHelper.DISPOSED);
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            setDisposable(DisposableHelper.fromCancellable(cancellable));
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(this, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
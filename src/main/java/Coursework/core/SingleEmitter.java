@@ -0,0 +1,18 @@
+package Coursework.core;
+
+/**
+ * Эмиттер для Single.create; первое событие завершает подписку, последующие игнорируются
+ */
+public interface SingleEmitter<T> extends SingleObserver<T> {
+    boolean isDisposed();
+
+    /**
+     * Устанавливает действие, вызываемое при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setCancellable(Cancellable cancellable);
+
+    /**
+     * Устанавливает ресурс, освобождаемый при отмене или после события; предыдущий ресурс освобождается
+     */
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,15 @@
+package Coursework.core;
+
+/**
+ * Observer для Single: ровно одно событие — значение или ошибка
+ */
+public interface SingleObserver<T> {
+    /**
+     * Вызывается до события; через Disposable можно отменить подписку изнутри Observer-а
+     */
+    default void onSubscribe(Disposable d) {
+    }
+
+    void onSuccess(T value);
+    void onError(Throwable t);
+}
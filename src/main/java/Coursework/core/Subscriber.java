@@ -0,0 +1,11 @@
+package Coursework.core;
+
+/**
+ * Подписчик Flowable. До получения элементов обязан запросить их через Subscription.request
+ */
+public interface Subscriber<T> {
+    void onSubscribe(Subscription subscription);
+    void onNext(T item);
+    void onError(Throwable t);
+    void onComplete();
+}
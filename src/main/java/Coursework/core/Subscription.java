@@ -0,0 +1,9 @@
+package Coursework.core;
+
+/**
+ * Подписка Flowable: позволяет запросить очередную порцию элементов или отменить поток
+ */
+public interface Subscription {
+    void request(long n);
+    void cancel();
+}
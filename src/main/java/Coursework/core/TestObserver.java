@@ -0,0 +1,187 @@
+package Coursework.core;
+
+import Coursework.internal.DisposableHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Observer для тестов: потокобезопасно записывает события и проверяет их.
+ * Методы проверки возвращают this, чтобы их можно было выстраивать в цепочку;
+ * при несовпадении выбрасывается AssertionError с записанными событиями в сообщении.
+ */
+public final class TestObserver<T> implements Observer<T>, Disposable {
+    private final List<T> values = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private final AtomicInteger completions = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+    private final Observer<? super T> delegate;
+
+    public TestObserver() {
+        this(null);
+    }
+
+    /**
+     * Записывает события и передаёт их delegate
+     */
+    public TestObserver(Observer<? super T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        if (!upstream.compareAndSet(null, d)) {
+            d.dispose();
+        }
+        if (delegate != null) {
+            delegate.onSubscribe(d);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        synchronized (this) {
+            values.add(item);
+        }
+        if (delegate != null) {
+            delegate.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        synchronized (this) {
+            errors.add(t);
+        }
+        try {
+            if (delegate != null) {
+                delegate.onError(t);
+            }
+        } finally {
+            done.countDown();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        completions.incrementAndGet();
+        try {
+            if (delegate != null) {
+                delegate.onComplete();
+            }
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Снимок полученных элементов
+     */
+    public synchronized List<T> values() {
+        return new ArrayList<>(values);
+    }
+
+    public synchronized List<Throwable> errors() {
+        return new ArrayList<>(errors);
+    }
+
+    public boolean isTerminated() {
+        return done.getCount() == 0;
+    }
+
+    /**
+     * Ждёт терминального события; по истечении timeout отменяет подписку и выбрасывает AssertionError
+     */
+    public TestObserver<T> awaitDone(long timeout, TimeUnit unit) {
+        try {
+            if (!done.await(timeout, unit)) {
+                dispose();
+                throw fail("Timeout waiting for a terminal event after " + timeout + " " + unit);
+            }
+        } catch (InterruptedException e) {
+            dispose();
+            Thread.currentThread().interrupt();
+            throw fail("Interrupted while waiting for a terminal event");
+        }
+        return this;
+    }
+
+    @SafeVarargs
+    public final TestObserver<T> assertValues(T... expected) {
+        List<T> actual = values();
+        if (!actual.equals(Arrays.asList(expected))) {
+            throw fail("Expected values " + Arrays.toString(expected));
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertValueCount(int count) {
+        if (values().size() != count) {
+            throw fail("Expected " + count + " values");
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertNoValues() {
+        return assertValueCount(0);
+    }
+
+    public TestObserver<T> assertComplete() {
+        int count = completions.get();
+        if (count != 1) {
+            throw fail(count == 0 ? "Not completed" : "Completed " + count + " times");
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertNotComplete() {
+        if (completions.get() != 0) {
+            throw fail("Completed unexpectedly");
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertNoErrors() {
+        if (!errors().isEmpty()) {
+            throw fail("Expected no errors");
+        }
+        return this;
+    }
+
+    /**
+     * Проверяет, что пришла ровно одна ошибка указанного типа
+     */
+    public TestObserver<T> assertError(Class<? extends Throwable> type) {
+        List<Throwable> list = errors();
+        if (list.size() != 1 || !type.isInstance(list.get(0))) {
+            throw fail("Expected a single " + type.getName());
+        }
+        return this;
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(upstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(upstream.get());
+    }
+
+    private AssertionError fail(String message) {
+        AssertionError error = new AssertionError(message + " (values = " + values()
+                + ", errors = " + errors() + ", completions = " + completions.get() + ")");
+        List<Throwable> list = errors();
+        if (!list.isEmpty()) {
+            error.initCause(list.get(0));
+        }
+        return error;
+    }
+}
@@ -0,0 +1,57 @@
+package Coursework.internal;
+
+import Coursework.core.DistinctSet;
+
+/**
+ * Фильтр Блума поверх массива long. Число бит и хеш-функций подбирается по ожидаемому числу ключей
+ * и доле ложных срабатываний; k индексов получаются двойным хешированием из hashCode ключа.
+ */
+public final class BloomFilterSet<K> implements DistinctSet<K> {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashes;
+
+    public BloomFilterSet(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys > 0 required but it was " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1) but it was " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (Math.max(m, 64) + 63) >>> 6);
+        this.bits = new long[words];
+        this.bitCount = (long) words << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+    }
+
+    @Override
+    public boolean add(K key) {
+        long h1 = mix(key == null ? 0 : key.hashCode());
+        long h2 = mix(h1) | 1;
+        boolean added = false;
+        for (int i = 0; i < hashes; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Финальное перемешивание MurmurHash3: hashCode соседних ключей часто отличается в младших битах
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,131 @@
+package Coursework.internal;
+
+import Coursework.core.Cancellable;
+import Coursework.core.Disposable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Общие операции над полями типа AtomicReference&lt;Disposable&gt;
+ */
+public final class DisposableHelper {
+    /**
+     * Метка отменённого поля
+     */
+    public static final Disposable DISPOSED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    private DisposableHelper() {
+    }
+
+    public static boolean isDisposed(Disposable d) {
+        return d == DISPOSED;
+    }
+
+    /**
+     * Записывает ресурс в поле, освобождая предыдущий; если поле уже отменено, освобождает новый
+     */
+    public static boolean set(AtomicReference<Disposable> field, Disposable d) {
+        for (;;) {
+            Disposable current = field.get();
+            if (current == DISPOSED) {
+                if (d != null) {
+                    d.dispose();
+                }
+                return false;
+            }
+            if (field.compareAndSet(current, d)) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Записывает ресурс в поле, не освобождая предыдущий; если поле уже отменено, освобождает новый
+     */
+    public static boolean replace(AtomicReference<Disposable> field, Disposable d) {
+        for (;;) {
+            Disposable current = field.get();
+            if (current == DISPOSED) {
+                if (d != null) {
+                    d.dispose();
+                }
+                return false;
+            }
+            if (field.compareAndSet(current, d)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Записывает ресурс, только если поле пустое; если поле уже отменено, освобождает новый
+     */
+    public static boolean setOnce(AtomicReference<Disposable> field, Disposable d) {
+        if (field.compareAndSet(null, d)) {
+            return true;
+        }
+        d.dispose();
+        return false;
+    }
+
+    /**
+     * Отменяет поле и освобождает ресурс, который в нём был
+     */
+    public static boolean dispose(AtomicReference<Disposable> field) {
+        Disposable current = field.get();
+        if (current != DISPOSED) {
+            current = field.getAndSet(DISPOSED);
+            if (current != DISPOSED) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Освобождает ресурс после завершения потока, не помечая поле отменённым
+     */
+    public static void release(AtomicReference<Disposable> field) {
+        Disposable current = field.get();
+        if (current != null && current != DISPOSED && field.compareAndSet(current, null)) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Disposable, который один раз вызывает действие отмены
+     */
+    public static Disposable fromCancellable(Cancellable cancellable) {
+        return new Disposable() {
+            private final AtomicBoolean cancelled = new AtomicBoolean();
+
+            @Override
+            public void dispose() {
+                if (cancelled.compareAndSet(false, true)) {
+                    cancellable.cancel();
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return cancelled.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package Coursework.internal;
+
+import Coursework.core.Disposable;
+
+/**
+ * Задача, которая не выполняется, если её отменили до запуска
+ */
+public final class DisposableTask implements Runnable, Disposable {
+    private final Runnable task;
+    private volatile boolean disposed;
+
+    public DisposableTask(Runnable task) {
+        this.task = task;
+    }
+
+    @Override
+    public void run() {
+        if (!disposed) {
+            task.run();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,26 @@
+package Coursework.internal;
+
+import Coursework.core.Disposable;
+
+import java.util.concurrent.Future;
+
+/**
+ * Disposable поверх Future: отмена прерывает задачу, если она уже выполняется
+ */
+public final class FutureDisposable implements Disposable {
+    private final Future<?> future;
+
+    public FutureDisposable(Future<?> future) {
+        this.future = future;
+    }
+
+    @Override
+    public void dispose() {
+        future.cancel(true);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return future.isCancelled();
+    }
+}
@@ -0,0 +1,31 @@
+package Coursework.internal;
+
+import Coursework.core.DistinctSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Множество последних maxSize ключей: LinkedHashMap в порядке доступа вытесняет самый старый ключ
+ */
+public final class LruKeySet<K> extends LinkedHashMap<K, Boolean> implements DistinctSet<K> {
+    private final int maxSize;
+
+    public LruKeySet(int maxSize) {
+        super(16, 0.75f, true);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean add(K key) {
+        return put(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+        return size() > maxSize;
+    }
+}
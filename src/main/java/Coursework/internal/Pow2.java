@@ -0,0 +1,19 @@
+package Coursework.internal;
+
+/**
+ * Вспомогательные операции со степенями двойки для размеров очередей
+ */
+public final class Pow2 {
+    private Pow2() {
+    }
+
+    /**
+     * Округляет значение вверх до ближайшей степени двойки
+     */
+    public static int roundUp(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+}
@@ -0,0 +1,149 @@
+package Coursework.internal;
+
+import Coursework.core.Disposable;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Общий поток-таймер для отложенных и периодических задач.
+ * Таймер только отсчитывает задержку, а саму задачу передаёт Scheduler-у или Worker-у,
+ * поэтому долгая задача не задерживает срабатывание остальных таймеров.
+ */
+public final class SchedulerTimer {
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private SchedulerTimer() {
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "timer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Отменённые таймеры сразу удаляются из очереди, а не ждут своего срока
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Через delay передаёт задачу в target (обычно Scheduler::schedule или Worker::schedule)
+     */
+    public static Disposable schedule(Function<Runnable, Disposable> target, Runnable task, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            return target.apply(task);
+        }
+        DelayedTask delayedTask = new DelayedTask(target, task);
+        delayedTask.timer = TIMER.schedule(delayedTask, delay, unit);
+        return delayedTask;
+    }
+
+    /**
+     * Запускает задачу с фиксированной частотой. Следующий запуск планируется после завершения
+     * предыдущего, поэтому запуски одной задачи никогда не пересекаются.
+     */
+    public static Disposable schedulePeriodically(Function<Runnable, Disposable> target, Runnable task,
+                                                  long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        long initialDelayNanos = unit.toNanos(Math.max(0, initialDelay));
+        PeriodicTask periodicTask = new PeriodicTask(target, task, unit.toNanos(period),
+                System.nanoTime() + initialDelayNanos);
+        periodicTask.scheduleNext(initialDelayNanos);
+        return periodicTask;
+    }
+
+    /**
+     * Задача, ожидающая в таймере; после срабатывания хранит Disposable переданной задачи
+     */
+    static final class DelayedTask extends AtomicReference<Disposable> implements Runnable, Disposable {
+        private final Function<Runnable, Disposable> target;
+        private final Runnable task;
+        volatile Future<?> timer;
+
+        DelayedTask(Function<Runnable, Disposable> target, Runnable task) {
+            this.target = target;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!isDisposed()) {
+                try {
+                    DisposableHelper.replace(this, target.apply(task));
+                } catch (Throwable e) {
+                    // Scheduler отклонил задачу: сообщаем, иначе её потерю поглотит Future таймера
+                    ObservablePlugins.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            Future<?> current = timer;
+            if (current != null) {
+                current.cancel(false);
+            }
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+
+    /**
+     * Периодическая задача: время следующего запуска отсчитывается от начала расписания,
+     * чтобы задержки отдельных запусков не накапливались
+     */
+    static final class PeriodicTask extends AtomicReference<Disposable> implements Runnable, Disposable {
+        private final Function<Runnable, Disposable> target;
+        private final Runnable task;
+        private final long periodNanos;
+        private final long startNanos;
+        private long count;
+
+        PeriodicTask(Function<Runnable, Disposable> target, Runnable task, long periodNanos, long startNanos) {
+            this.target = target;
+            this.task = task;
+            this.periodNanos = periodNanos;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void run() {
+            if (isDisposed()) {
+                return;
+            }
+            task.run();
+            long nextStart = startNanos + ++count * periodNanos;
+            scheduleNext(nextStart - System.nanoTime());
+        }
+
+        void scheduleNext(long delayNanos) {
+            if (!isDisposed()) {
+                // Предыдущий Disposable относится к выполняющемуся сейчас запуску, его не отменяем
+                DisposableHelper.replace(this, schedule(target, this, delayNanos, TimeUnit.NANOSECONDS));
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package Coursework.internal;
+
+import Coursework.core.Disposable;
+import Coursework.core.Scheduler;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker поверх любого Scheduler-а: задачи складываются в очередь,
+ * а одна задача-дренаж выполняет их по порядку
+ */
+public final class SerialWorker extends AtomicInteger implements Scheduler.Worker, Runnable {
+    private final Scheduler scheduler;
+    private final ConcurrentLinkedQueue<DisposableTask> queue = new ConcurrentLinkedQueue<>();
+    private volatile boolean disposed;
+
+    public SerialWorker(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        if (disposed) {
+            return DisposableHelper.DISPOSED;
+        }
+        DisposableTask disposableTask = new DisposableTask(ObservablePlugins.onSchedule(task));
+        queue.offer(disposableTask);
+        if (getAndIncrement() == 0) {
+            try {
+                scheduler.execute(this);
+            } catch (RejectedExecutionException e) {
+                dispose();
+                throw e;
+            }
+        }
+        return disposableTask;
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                DisposableTask task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    // Ошибка задачи не должна останавливать очередь Worker-а
+                    ObservablePlugins.onError(e);
+                }
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (!disposed) {
+            disposed = true;
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,69 @@
+package Coursework.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченная кольцевая очередь один производитель / один потребитель
+ */
+public final class SpscArrayQueue<T> {
+    private final AtomicReferenceArray<Object> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscArrayQueue(int capacity) {
+        int size = Pow2.roundUp(Math.max(1, capacity));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент; возвращает false, если очередь заполнена
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("item is null");
+        }
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, item);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        Object value = buffer.get(offset);
+        if (value == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (T) value;
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // просто отбрасываем элементы
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package Coursework.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Очередь один производитель / один потребитель на связанных кольцевых массивах.
+ * Пока потребитель успевает, производитель пишет в одно и то же кольцо;
+ * при переполнении подключается новое кольцо того же размера.
+ */
+public final class SpscLinkedArrayQueue<T> {
+    private static final Object HAS_NEXT = new Object();
+
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    private AtomicReferenceArray<Object> producerBuffer;
+    private AtomicReferenceArray<Object> consumerBuffer;
+
+    public SpscLinkedArrayQueue(int chunkSize) {
+        int capacity = Pow2.roundUp(Math.max(8, chunkSize));
+        this.mask = capacity - 1;
+        AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(capacity + 1);
+        this.producerBuffer = buffer;
+        this.consumerBuffer = buffer;
+    }
+
+    /**
+     * Добавляет элемент; вызывается только из потока производителя
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("item is null");
+        }
+        AtomicReferenceArray<Object> buffer = producerBuffer;
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        // Текущая ячейка всегда свободна; если занята следующая, кольцо заполнено
+        if (buffer.get((offset + 1) & mask) == null) {
+            buffer.lazySet(offset, item);
+        } else {
+            // Продолжаем в новом кольце, а в последнюю свободную ячейку ставим метку перехода
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(mask + 2);
+            producerBuffer = next;
+            next.lazySet(offset, item);
+            buffer.lazySet(mask + 1, next);
+            buffer.lazySet(offset, HAS_NEXT);
+        }
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * Извлекает элемент или возвращает null; вызывается только из потока потребителя
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        AtomicReferenceArray<Object> buffer = consumerBuffer;
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        Object value = buffer.get(offset);
+        if (value == HAS_NEXT) {
+            AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) buffer.get(mask + 1);
+            buffer.lazySet(mask + 1, null);
+            consumerBuffer = next;
+            buffer = next;
+            value = next.get(offset);
+        }
+        if (value == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (T) value;
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    /**
+     * Приблизительный размер очереди, безопасен для вызова из любого потока
+     */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Очищает очередь; вызывается только из потока потребителя
+     */
+    public void clear() {
+        while (poll() != null) {
+            // просто отбрасываем элементы
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package Coursework.internal;
+
+import Coursework.core.Subscription;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Общие операции над Subscription и счётчиками спроса
+ */
+public final class SubscriptionHelper {
+    /**
+     * Метка отменённой подписки
+     */
+    public static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private SubscriptionHelper() {
+    }
+
+    /**
+     * Складывает спрос с насыщением на Long.MAX_VALUE
+     */
+    public static long addCap(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Атомарно добавляет спрос и возвращает предыдущее значение
+     */
+    public static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, addCap(current, n))) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Атомарно вычитает доставленные элементы; неограниченный спрос не уменьшается
+     */
+    public static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long update = Math.max(0, current - n);
+            if (requested.compareAndSet(current, update)) {
+                return update;
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что запрос положителен (правило 3.9 Reactive Streams)
+     */
+    public static boolean validate(long n) {
+        return n > 0;
+    }
+
+    /**
+     * Устанавливает подписку один раз; если поле уже отменено, отменяет и новую
+     */
+    public static boolean setOnce(AtomicReference<Subscription> field, Subscription subscription) {
+        if (field.compareAndSet(null, subscription)) {
+            return true;
+        }
+        subscription.cancel();
+        return false;
+    }
+
+    /**
+     * Отменяет подписку в поле и помечает его отменённым
+     */
+    public static boolean cancel(AtomicReference<Subscription> field) {
+        Subscription current = field.get();
+        if (current != CANCELLED) {
+            current = field.getAndSet(CANCELLED);
+            if (current != CANCELLED) {
+                if (current != null) {
+                    current.cancel();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Устанавливает подписку и передаёт ей спрос, накопленный до её появления
+     */
+    public static boolean deferredSetOnce(AtomicReference<Subscription> field, AtomicLong requested,
+                                          Subscription subscription) {
+        if (setOnce(field, subscription)) {
+            long r = requested.getAndSet(0L);
+            if (r != 0L) {
+                subscription.request(r);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Передаёт спрос подписке, а если её ещё нет — накапливает его
+     */
+    public static void deferredRequest(AtomicReference<Subscription> field, AtomicLong requested, long n) {
+        Subscription current = field.get();
+        if (current != null) {
+            current.request(n);
+            return;
+        }
+        add(requested, n);
+        current = field.get();
+        if (current != null) {
+            long r = requested.getAndSet(0L);
+            if (r != 0L) {
+                current.request(r);
+            }
+        }
+    }
+}
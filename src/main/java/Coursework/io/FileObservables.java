@@ -0,0 +1,250 @@
+package Coursework.io;
+
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.plugins.ObservablePlugins;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Источники и приёмник для файлов на основе FileChannel.
+ * Файл отображается в память окнами по WINDOW_SIZE байт, а записи и куски отдаются
+ * как срезы отображения без копирования, поэтому память не растёт с размером файла.
+ * Чтение идёт в потоке подписки; чтобы не блокировать вызывающий поток, добавьте subscribeOn(Schedulers.io()).
+ * Отмена подписки останавливает чтение до следующей записи.
+ */
+public final class FileObservables {
+    /**
+     * Размер окна отображения; запись, не поместившаяся в окно, отображается окном вдвое больше
+     */
+    static final int WINDOW_SIZE = 1 << 26;
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private FileObservables() {
+    }
+
+    /**
+     * Строки файла в UTF-8; разделитель '\n', завершающий '\r' отбрасывается
+     */
+    public static Observable<String> lines(Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Строки файла в кодировке charset (однобайтовый '\n' должен быть разделителем строк в этой кодировке)
+     */
+    public static Observable<String> lines(Path path, Charset charset) {
+        return read(path, (channel, emitter) -> {
+            LineDecoder decoder = new LineDecoder(charset);
+            forEachRecord(channel, (byte) '\n', emitter, record -> emitter.onNext(decoder.decode(record)));
+        });
+    }
+
+    /**
+     * Записи файла, разделённые байтом delimiter, как read-only срезы отображения без копирования.
+     * Срез остаётся действительным и после отмены подписки.
+     */
+    public static Observable<ByteBuffer> records(Path path, byte delimiter) {
+        return records(path, delimiter, WINDOW_SIZE);
+    }
+
+    /**
+     * records с заданным начальным размером окна отображения
+     */
+    static Observable<ByteBuffer> records(Path path, byte delimiter, int windowSize) {
+        return read(path, (channel, emitter) ->
+                forEachRecord(channel, delimiter, windowSize, emitter, emitter::onNext));
+    }
+
+    /**
+     * Куски файла по size байт (последний может быть короче)
+     */
+    public static Observable<ByteBuffer> chunks(Path path, int size) {
+        checkSize(size);
+        return read(path, (channel, emitter) -> forEachChunk(channel, size, emitter));
+    }
+
+    /**
+     * Куски открытого канала по size байт от начала файла; канал остаётся открытым, им владеет вызывающий код
+     */
+    public static Observable<ByteBuffer> chunks(FileChannel channel, int size) {
+        checkSize(size);
+        return Observable.create(emitter -> {
+            try {
+                forEachChunk(channel, size, emitter);
+            } catch (IOException e) {
+                if (!emitter.isDisposed()) {
+                    emitter.onError(e);
+                }
+                return;
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Записывает буферы потока в файл (файл создаётся или перезаписывается) и по завершении
+     * отдаёт число записанных байт. Буферы копятся пачками и пишутся одним вызовом gathering write.
+     */
+    public static Observable<Long> write(Observable<ByteBuffer> source, Path path) {
+        return write(source, path, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Как write(source, path), но пачка содержит до batchSize буферов.
+     * Буфер нельзя переиспользовать, пока его пачка не записана; позиция буфера сдвигается при записи.
+     */
+    public static Observable<Long> write(Observable<ByteBuffer> source, Path path, int batchSize) {
+        checkSize(batchSize);
+        return Observable.create(downstream -> {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                downstream.onError(e);
+                return;
+            }
+            source.subscribe(new FileSink(downstream, channel, batchSize));
+        });
+    }
+
+    /**
+     * Открывает файл на чтение на время подписки; отмена закрывает канал.
+     * Ошибка ввода-вывода после отмены (например, закрытый канал) не доставляется.
+     */
+    private static <T> Observable<T> read(Path path, ChannelReader<T> reader) {
+        return Observable.create(emitter -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                emitter.setCancellable(() -> closeQuietly(channel));
+                reader.read(channel, emitter);
+            } catch (IOException e) {
+                if (!emitter.isDisposed()) {
+                    emitter.onError(e);
+                }
+                return;
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Проходит по записям канала; запись, пересекающая границу окна, попадает целиком в следующее окно
+     */
+    static void forEachRecord(FileChannel channel, byte delimiter, ObservableEmitter<?> emitter,
+                              Consumer<ByteBuffer> action) throws IOException {
+        forEachRecord(channel, delimiter, WINDOW_SIZE, emitter, action);
+    }
+
+    /**
+     * forEachRecord с окном windowSize байт
+     */
+    static void forEachRecord(FileChannel channel, byte delimiter, int windowSize, ObservableEmitter<?> emitter,
+                              Consumer<ByteBuffer> action) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        int window = windowSize;
+        while (position < size && !emitter.isDisposed()) {
+            int length = (int) Math.min(window, size - position);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == size;
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (map.get(i) == delimiter) {
+                    action.accept(map.slice(start, i - start));
+                    start = i + 1;
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                }
+            }
+            if (last) {
+                if (start < length) {
+                    action.accept(map.slice(start, length - start));
+                }
+                return;
+            }
+            if (start == 0) {
+                if (window == Integer.MAX_VALUE) {
+                    throw new IOException("Record at offset " + position + " is longer than 2 GiB");
+                }
+                window = (int) Math.min(Integer.MAX_VALUE, 2L * window);
+            } else {
+                window = windowSize;
+            }
+            position += start;
+        }
+    }
+
+    private static void forEachChunk(FileChannel channel, int size, ObservableEmitter<ByteBuffer> emitter)
+            throws IOException {
+        long fileSize = channel.size();
+        // Окно кратно размеру куска, чтобы куски не пересекали границы окон
+        long window = Math.max(size, WINDOW_SIZE / size * (long) size);
+        long position = 0;
+        while (position < fileSize && !emitter.isDisposed()) {
+            int length = (int) Math.min(window, fileSize - position);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int offset = 0; offset < length; offset += size) {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                emitter.onNext(map.slice(offset, Math.min(size, length - offset)));
+            }
+            position += length;
+        }
+    }
+
+    private static void checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+    }
+
+    static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Канал закрывается при отмене или после ошибки: сообщить об ошибке закрытия подписчику уже нельзя
+            ObservablePlugins.onError(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface ChannelReader<T> {
+        void read(FileChannel channel, ObservableEmitter<T> emitter) throws IOException;
+    }
+
+    /**
+     * Декодирует строку из среза через общий буфер, чтобы не выделять массив байт на каждую строку
+     */
+    static final class LineDecoder {
+        private final Charset charset;
+        private byte[] scratch = new byte[256];
+
+        LineDecoder(Charset charset) {
+            this.charset = charset;
+        }
+
+        String decode(ByteBuffer record) {
+            int length = record.remaining();
+            if (length > 0 && record.get(length - 1) == '\r') {
+                length--;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            record.get(0, scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+    }
+}
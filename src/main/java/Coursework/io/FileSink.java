@@ -0,0 +1,119 @@
+package Coursework.io;
+
+import Coursework.core.Disposable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Приёмник FileObservables.write: копит буферы в массив и сбрасывает его одним вызовом
+ * gathering write, когда пачка заполнена или поток завершился. Канал закрывается при
+ * завершении, ошибке или отмене.
+ */
+final class FileSink implements Observer<ByteBuffer>, Disposable {
+    private final ObservableEmitter<Long> downstream;
+    private final FileChannel channel;
+    private final ByteBuffer[] batch;
+
+    private Disposable upstream;
+    private int count;
+    private long written;
+    private boolean done;
+    private volatile boolean disposed;
+
+    FileSink(ObservableEmitter<Long> downstream, FileChannel channel, int batchSize) {
+        this.downstream = downstream;
+        this.channel = channel;
+        this.batch = new ByteBuffer[batchSize];
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        upstream = d;
+        downstream.setDisposable(this);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        if (done) {
+            return;
+        }
+        batch[count++] = buffer;
+        if (count == batch.length) {
+            try {
+                flush();
+            } catch (IOException e) {
+                done = true;
+                upstream.dispose();
+                fail(e);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        fail(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        downstream.onNext(written);
+        downstream.onComplete();
+    }
+
+    /**
+     * Пишет пачку целиком: канал может принять только часть байт, тогда запись продолжается
+     * с первого буфера, в котором ещё остались данные
+     */
+    private void flush() throws IOException {
+        int offset = 0;
+        while (offset < count) {
+            written += channel.write(batch, offset, count - offset);
+            while (offset < count && !batch[offset].hasRemaining()) {
+                batch[offset++] = null;
+            }
+        }
+        count = 0;
+    }
+
+    private void fail(Throwable t) {
+        FileObservables.closeQuietly(channel);
+        // После отмены запись обрывается закрытием канала; такую ошибку не доставляем
+        if (!disposed) {
+            downstream.onError(t);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        upstream.dispose();
+        FileObservables.closeQuietly(channel);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
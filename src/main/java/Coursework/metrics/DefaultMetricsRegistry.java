@@ -0,0 +1,66 @@
+package Coursework.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр в памяти; при exportJmx каждая новая метрика публикуется как MXBean
+ * с именем вида Coursework.metrics:type=Operator,name="observeOn"
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+    private final Map<String, OperatorMetrics> operators = new ConcurrentHashMap<>();
+    private final Map<String, SchedulerMetrics> schedulers = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final boolean exportJmx;
+
+    public DefaultMetricsRegistry(boolean exportJmx) {
+        this.exportJmx = exportJmx;
+    }
+
+    @Override
+    public OperatorMetrics operator(String name) {
+        return operators.computeIfAbsent(name, n -> export("Operator", n, new OperatorMetrics(n)));
+    }
+
+    @Override
+    public SchedulerMetrics scheduler(String name) {
+        return schedulers.computeIfAbsent(name, n -> export("Scheduler", n, new SchedulerMetrics(n)));
+    }
+
+    @Override
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> export("Histogram", n, new LatencyHistogram(n)));
+    }
+
+    public Map<String, OperatorMetrics> operators() {
+        return Collections.unmodifiableMap(operators);
+    }
+
+    public Map<String, SchedulerMetrics> schedulers() {
+        return Collections.unmodifiableMap(schedulers);
+    }
+
+    public Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    private <M> M export(String type, String name, M metric) {
+        if (!exportJmx) {
+            return metric;
+        }
+        try {
+            ObjectName objectName = new ObjectName("Coursework.metrics:type=" + type + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metric, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            // Имя уже опубликовано другим реестром; метрика работает и без JMX
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not export metric " + name + " to JMX", e);
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,78 @@
+package Coursework.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек с корзинами по степеням двойки: запись — одно атомарное сложение без аллокаций,
+ * перцентили считаются с точностью до корзины (не хуже чем вдвое)
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Верхняя граница корзины, в которую попадает доля percentile (0..1) наблюдений
+     */
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0L;
+        }
+        long threshold = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, threshold)) {
+                return i == 0 ? 0L : Math.min(max.get(), i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getMean() {
+        long total = count.sum();
+        return total == 0 ? 0L : sum.sum() / total;
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long getP50() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getP99() {
+        return percentile(0.99);
+    }
+}
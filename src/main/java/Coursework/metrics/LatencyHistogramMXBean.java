@@ -0,0 +1,16 @@
+package Coursework.metrics;
+
+/**
+ * Гистограмма задержек, видимая через JMX; значения в наносекундах
+ */
+public interface LatencyHistogramMXBean {
+    long getCount();
+
+    long getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP99();
+}
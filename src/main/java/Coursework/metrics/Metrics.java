@@ -0,0 +1,43 @@
+package Coursework.metrics;
+
+/**
+ * Точка входа в метрики библиотеки. Встроенные счётчики операторов и Scheduler-ов включаются
+ * свойством -Dcoursework.metrics=true. Флаг — static final константа: при выключенных метриках
+ * JIT удаляет проверки из горячего пути, и операторы не выделяют для метрик ни одного объекта.
+ */
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("coursework.metrics");
+
+    private static volatile MetricsRegistry registry =
+            new DefaultMetricsRegistry(!"false".equals(System.getProperty("coursework.metrics.jmx")));
+
+    private Metrics() {
+    }
+
+    public static MetricsRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Подменяет реестр, например чтобы передавать метрики во внешнюю систему мониторинга.
+     * Операторы берут метрики из реестра при подписке, поэтому замена действует на новые подписки.
+     */
+    public static void setRegistry(MetricsRegistry registry) {
+        if (registry == null) {
+            throw new NullPointerException("registry is null");
+        }
+        Metrics.registry = registry;
+    }
+
+    public static OperatorMetrics operator(String name) {
+        return registry.operator(name);
+    }
+
+    public static SchedulerMetrics scheduler(String name) {
+        return registry.scheduler(name);
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return registry.histogram(name);
+    }
+}
@@ -0,0 +1,12 @@
+package Coursework.metrics;
+
+/**
+ * Реестр метрик: по имени возвращает один и тот же объект, сколько бы подписок его ни запрашивали
+ */
+public interface MetricsRegistry {
+    OperatorMetrics operator(String name);
+
+    SchedulerMetrics scheduler(String name);
+
+    LatencyHistogram histogram(String name);
+}
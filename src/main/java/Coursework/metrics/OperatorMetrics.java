@@ -0,0 +1,79 @@
+package Coursework.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики одного вида операторов, общие для всех подписок. LongAdder не создаёт точку
+ * конкуренции, когда много потоков одновременно обновляют один счётчик.
+ */
+public final class OperatorMetrics implements OperatorMetricsMXBean {
+    private final String name;
+    private final LongAdder itemsIn = new LongAdder();
+    private final LongAdder itemsOut = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LongAdder queueDepth = new LongAdder();
+
+    OperatorMetrics(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void recordIn() {
+        itemsIn.increment();
+    }
+
+    public void recordOut() {
+        itemsOut.increment();
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public void recordDrop() {
+        drops.increment();
+    }
+
+    /**
+     * Элемент встал в очередь оператора
+     */
+    public void enqueued() {
+        queueDepth.increment();
+    }
+
+    /**
+     * count элементов покинули очередь оператора (доставлены или отброшены при отмене)
+     */
+    public void dequeued(long count) {
+        queueDepth.add(-count);
+    }
+
+    @Override
+    public long getItemsIn() {
+        return itemsIn.sum();
+    }
+
+    @Override
+    public long getItemsOut() {
+        return itemsOut.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getDrops() {
+        return drops.sum();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return queueDepth.sum();
+    }
+}
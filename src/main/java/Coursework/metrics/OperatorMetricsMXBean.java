@@ -0,0 +1,16 @@
+package Coursework.metrics;
+
+/**
+ * Счётчики оператора, видимые через JMX
+ */
+public interface OperatorMetricsMXBean {
+    long getItemsIn();
+
+    long getItemsOut();
+
+    long getErrors();
+
+    long getDrops();
+
+    long getQueueDepth();
+}
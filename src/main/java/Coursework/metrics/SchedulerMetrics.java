@@ -0,0 +1,69 @@
+package Coursework.metrics;
+
+/**
+ * Время ожидания задачи в очереди пула и время её выполнения
+ */
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+    private final String name;
+    private final LatencyHistogram waitTime;
+    private final LatencyHistogram runTime;
+
+    SchedulerMetrics(String name) {
+        this.name = name;
+        this.waitTime = new LatencyHistogram(name + ".wait");
+        this.runTime = new LatencyHistogram(name + ".run");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Оборачивает задачу так, чтобы она записала время ожидания и выполнения
+     */
+    public Runnable wrap(Runnable task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            waitTime.record(started - submitted);
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - started);
+            }
+        };
+    }
+
+    public LatencyHistogram waitTime() {
+        return waitTime;
+    }
+
+    public LatencyHistogram runTime() {
+        return runTime;
+    }
+
+    @Override
+    public long getTasks() {
+        return runTime.getCount();
+    }
+
+    @Override
+    public long getMeanWaitTime() {
+        return waitTime.getMean();
+    }
+
+    @Override
+    public long getP99WaitTime() {
+        return waitTime.getP99();
+    }
+
+    @Override
+    public long getMeanRunTime() {
+        return runTime.getMean();
+    }
+
+    @Override
+    public long getP99RunTime() {
+        return runTime.getP99();
+    }
+}
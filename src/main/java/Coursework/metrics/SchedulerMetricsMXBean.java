@@ -0,0 +1,16 @@
+package Coursework.metrics;
+
+/**
+ * Метрики Scheduler-а, видимые через JMX; времена в наносекундах
+ */
+public interface SchedulerMetricsMXBean {
+    long getTasks();
+
+    long getMeanWaitTime();
+
+    long getP99WaitTime();
+
+    long getMeanRunTime();
+
+    long getP99RunTime();
+}
@@ -0,0 +1,451 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Flowable;
+import Coursework.core.MissingBackpressureException;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.SpscArrayQueue;
+import Coursework.internal.SpscLinkedArrayQueue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Мосты из асинхронного потока в вызывающий поток: ожидание результата и перебор элементов
+ */
+public final class BlockingOperator {
+    /**
+     * Iterable, каждый iterator() которого подписывается заново. У Observable нет обратного давления,
+     * поэтому очередь не ограничена и растёт звеньями по prefetch элементов.
+     */
+    public static <T> Iterable<T> blockingIterable(Observable<T> source, int prefetch) {
+        checkPrefetch(prefetch);
+        return () -> {
+            ObservableIterator<T> iterator = new ObservableIterator<>(prefetch);
+            source.subscribe(iterator);
+            return iterator;
+        };
+    }
+
+    /**
+     * Iterable поверх Flowable: в очереди не больше prefetch элементов, запрос пополняется пачками
+     */
+    public static <T> Iterable<T> blockingIterable(Flowable<T> source, int prefetch) {
+        checkPrefetch(prefetch);
+        return () -> {
+            FlowableIterator<T> iterator = new FlowableIterator<>(prefetch);
+            source.subscribe(iterator);
+            return iterator;
+        };
+    }
+
+    public static <T> T blockingFirst(Observable<T> source) {
+        return await(source, new LastObserver<>(true));
+    }
+
+    public static <T> T blockingLast(Observable<T> source) {
+        return await(source, new LastObserver<>(false));
+    }
+
+    /**
+     * Вызывает action для каждого элемента в вызывающем потоке; исключение action отменяет подписку
+     */
+    public static <T> void blockingForEach(Observable<T> source, Consumer<? super T> action) {
+        ObservableIterator<T> iterator = new ObservableIterator<>(Observable.bufferSize());
+        source.subscribe(iterator);
+        try {
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+        } catch (Throwable e) {
+            iterator.dispose();
+            throw e;
+        }
+    }
+
+    /**
+     * Доставляет события observer-у в вызывающем потоке и возвращается после терминального события;
+     * исключение observer-а, как и в blockingForEach, отменяет подписку и выбрасывается вызывающему
+     */
+    public static <T> void blockingSubscribe(Observable<T> source, Observer<? super T> observer) {
+        ObservableIterator<T> iterator = new ObservableIterator<>(Observable.bufferSize());
+        observer.onSubscribe(iterator);
+        source.subscribe(iterator);
+        for (;;) {
+            T item;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                item = iterator.next();
+            } catch (RuntimeException e) {
+                // Ошибку потока получает observer; прерывание ожидания выбрасывается вызывающему
+                if (iterator.isDisposed()) {
+                    throw e;
+                }
+                observer.onError(iterator.error);
+                return;
+            }
+            try {
+                observer.onNext(item);
+            } catch (Throwable e) {
+                iterator.dispose();
+                throw e;
+            }
+        }
+        if (!iterator.isDisposed()) {
+            try {
+                observer.onComplete();
+            } catch (Throwable e) {
+                iterator.dispose();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Ждёт терминального события; ошибка потока выбрасывается в вызывающем потоке
+     */
+    public static <T> void blockingSubscribe(Observable<T> source) {
+        await(source, new LastObserver<T>(false) {
+            @Override
+            public void onComplete() {
+                countDown();
+            }
+        });
+    }
+
+    private static <T> T await(Observable<T> source, LastObserver<T> observer) {
+        source.subscribe(observer);
+        if (observer.getCount() != 0) {
+            try {
+                observer.await();
+            } catch (InterruptedException e) {
+                observer.upstream.dispose();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        Throwable error = observer.error;
+        if (error != null) {
+            throw propagate(error);
+        }
+        return observer.value;
+    }
+
+    /**
+     * Непроверяемые исключения выбрасываются как есть, проверяемые оборачиваются в RuntimeException
+     */
+    static RuntimeException propagate(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        return new RuntimeException(t);
+    }
+
+    private static void checkPrefetch(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+    }
+
+    /**
+     * Ожидает первый или последний элемент; значение и ошибка публикуются через countDown()
+     */
+    static class LastObserver<T> extends CountDownLatch implements Observer<T> {
+        private final boolean first;
+        Disposable upstream;
+        T value;
+        Throwable error;
+
+        LastObserver(boolean first) {
+            super(1);
+            this.first = first;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (getCount() == 0) {
+                return;
+            }
+            value = item;
+            if (first) {
+                upstream.dispose();
+                countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (getCount() == 0) {
+                return;
+            }
+            value = null;
+            error = t;
+            countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            if (getCount() == 0) {
+                return;
+            }
+            if (value == null) {
+                error = new NoSuchElementException("The source is empty");
+            }
+            countDown();
+        }
+    }
+
+    /**
+     * Итератор с ожиданием без блокировок. Счётчик (значение AtomicInteger) растёт на каждом сигнале
+     * производителя; потребитель запоминает его, проверяет очередь, публикует свой поток в waiter
+     * и паркуется, только если счётчик не изменился. Производитель после инкремента будит waiter,
+     * поэтому сигнал не теряется, а на элемент приходится один атомарный инкремент вместо захвата замка.
+     */
+    abstract static class BlockingIterator<T> extends AtomicInteger implements Iterator<T>, Disposable {
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private volatile Thread waiter;
+        volatile boolean done;
+        volatile Throwable error;
+        private T next;
+
+        abstract T poll();
+
+        abstract boolean isQueueEmpty();
+
+        abstract void clearQueue();
+
+        /**
+         * Потребитель забрал элемент из очереди
+         */
+        void consumed() {
+        }
+
+        final void setUpstream(Disposable d) {
+            if (!upstream.compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        final void signal() {
+            incrementAndGet();
+            Thread w = waiter;
+            if (w != null) {
+                LockSupport.unpark(w);
+            }
+        }
+
+        final void terminate(Throwable t) {
+            error = t;
+            done = true;
+            signal();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            for (;;) {
+                if (isDisposed()) {
+                    clearQueue();
+                    return false;
+                }
+                boolean d = done;
+                T item = poll();
+                if (item != null) {
+                    next = item;
+                    consumed();
+                    return true;
+                }
+                if (d) {
+                    Throwable t = error;
+                    if (t != null) {
+                        throw propagate(t);
+                    }
+                    return false;
+                }
+                int signals = get();
+                if (done || !isQueueEmpty()) {
+                    continue;
+                }
+                waiter = Thread.currentThread();
+                if (get() == signals && !isDisposed()) {
+                    LockSupport.park(this);
+                }
+                waiter = null;
+                if (Thread.interrupted()) {
+                    dispose();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(new InterruptedException());
+                }
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = next;
+            next = null;
+            return item;
+        }
+
+        @Override
+        public void dispose() {
+            Disposable d = upstream.getAndSet(DisposableHelper.DISPOSED);
+            if (d != null && d != DisposableHelper.DISPOSED) {
+                d.dispose();
+            }
+            signal();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.get() == DisposableHelper.DISPOSED;
+        }
+    }
+
+    static final class ObservableIterator<T> extends BlockingIterator<T> implements Observer<T> {
+        private final SpscLinkedArrayQueue<T> queue;
+
+        ObservableIterator(int prefetch) {
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            setUpstream(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            queue.offer(item);
+            signal();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(t);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null);
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isQueueEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clearQueue() {
+            queue.clear();
+        }
+    }
+
+    static final class FlowableIterator<T> extends BlockingIterator<T> implements Subscriber<T> {
+        private final SpscArrayQueue<T> queue;
+        private final int prefetch;
+        private final int limit;
+        private Subscription subscription;
+        private int consumed;
+
+        FlowableIterator(int prefetch) {
+            this.queue = new SpscArrayQueue<>(prefetch);
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            setUpstream(new Disposable() {
+                private volatile boolean cancelled;
+
+                @Override
+                public void dispose() {
+                    cancelled = true;
+                    s.cancel();
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return cancelled;
+                }
+            });
+            s.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!queue.offer(item)) {
+                subscription.cancel();
+                onError(new MissingBackpressureException("blockingIterable: queue is full"));
+                return;
+            }
+            signal();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(t);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null);
+        }
+
+        /**
+         * Запрос пополняется пачками по limit элементов, а не на каждый элемент
+         */
+        @Override
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isQueueEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clearQueue() {
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class BufferOperator {
+    public static <T> Observable<List<T>> buffer(Observable<T> source, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(downstream -> source.subscribe(new CountBufferObserver<>(downstream, count)));
+    }
+
+    public static <T> Observable<List<T>> buffer(Observable<T> source, long timespan, TimeUnit unit,
+                                                 Scheduler scheduler, int maxSize) {
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return Observable.create(downstream ->
+                source.subscribe(new TimedBufferObserver<>(downstream, timespan, unit, scheduler, maxSize)));
+    }
+
+    /**
+     * Собирает элементы в списки по count штук; последний неполный список отправляется при завершении
+     */
+    static final class CountBufferObserver<T> implements Observer<T> {
+        private final ObservableEmitter<List<T>> downstream;
+        private final int count;
+        private List<T> buffer;
+
+        CountBufferObserver(ObservableEmitter<List<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            List<T> b = buffer;
+            if (b == null) {
+                b = new ArrayList<>(count);
+                buffer = b;
+            }
+            b.add(item);
+            if (b.size() == count) {
+                buffer = null;
+                downstream.onNext(b);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            buffer = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            List<T> b = buffer;
+            buffer = null;
+            if (b != null) {
+                downstream.onNext(b);
+            }
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * Отправляет накопленное каждые timespan или сразу по достижении maxSize.
+     * Все события доставляются задачами одного Worker-а, поэтому списки приходят по порядку,
+     * даже если переполнение и тик таймера случились одновременно. Пустые списки не отправляются.
+     */
+    static final class TimedBufferObserver<T> implements Observer<T>, Disposable, Runnable {
+        private final ObservableEmitter<List<T>> downstream;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+        private final int maxSize;
+
+        private List<T> buffer = new ArrayList<>();
+        private Disposable upstream;
+        private volatile boolean disposed;
+
+        TimedBufferObserver(ObservableEmitter<List<T>> downstream, long timespan, TimeUnit unit,
+                            Scheduler scheduler, int maxSize) {
+            this.downstream = downstream;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+            worker.schedulePeriodically(this, timespan, timespan, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                b.add(item);
+                if (b.size() >= maxSize) {
+                    buffer = new ArrayList<>();
+                    emit(b);
+                }
+            }
+        }
+
+        /**
+         * Тик таймера: забирает накопленное за период
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null || b.isEmpty()) {
+                    return;
+                }
+                buffer = new ArrayList<>();
+                emit(b);
+            }
+        }
+
+        // Вызывается под блокировкой: порядок постановки в Worker совпадает с порядком списков
+        private void emit(List<T> b) {
+            worker.schedule(() -> downstream.onNext(b));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                if (buffer == null) {
+                    return;
+                }
+                buffer = null;
+                worker.schedule(() -> downstream.onError(t));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                buffer = null;
+                worker.schedule(() -> {
+                    if (!b.isEmpty()) {
+                        downstream.onNext(b);
+                    }
+                    downstream.onComplete();
+                });
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package Coursework.operators;
+
+import Coursework.core.CircuitBreaker;
+import Coursework.core.CircuitBreakerOpenException;
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+
+public final class CircuitBreakerOperator {
+    /**
+     * Подписка на источник проходит через breaker: пока он разомкнут, поток сразу завершается
+     * ошибкой CircuitBreakerOpenException, не занимая потоки ожиданием нездоровой зависимости
+     */
+    public static <T> Observable<T> circuitBreaker(Observable<T> source, CircuitBreaker breaker) {
+        return Observable.create(downstream -> {
+            if (!breaker.tryAcquire()) {
+                downstream.onError(new CircuitBreakerOpenException("Circuit breaker is open"));
+                return;
+            }
+            source.subscribe(new BreakerObserver<>(downstream, breaker));
+        });
+    }
+
+    /**
+     * Сообщает автомату результат подписки ровно один раз: первый элемент или завершение — успех,
+     * ошибка — неудача, отмена до результата — onCancel
+     */
+    static final class BreakerObserver<T> implements Observer<T>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final CircuitBreaker breaker;
+        private Disposable upstream;
+        private volatile boolean reported;
+        private volatile boolean disposed;
+
+        BreakerObserver(ObservableEmitter<T> downstream, CircuitBreaker breaker) {
+            this.downstream = downstream;
+            this.breaker = breaker;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!reported) {
+                reported = true;
+                breaker.onSuccess();
+            }
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!reported) {
+                reported = true;
+                breaker.onFailure();
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!reported) {
+                reported = true;
+                breaker.onSuccess();
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            if (!reported) {
+                breaker.onCancel();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.internal.DisposableHelper;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public final class CombineLatestOperator {
+    /**
+     * На каждый элемент любого источника выдаёт combiner от последних элементов всех источников,
+     * как только каждый источник выдал хотя бы один элемент. Источник, завершившийся без элементов,
+     * завершает поток сразу; иначе поток завершается, когда завершились все источники.
+     */
+    public static <R> Observable<R> combineLatest(Observable<?>[] sources,
+                                                  Function<? super Object[], ? extends R> combiner) {
+        return Observable.create(downstream -> {
+            if (sources.length == 0) {
+                downstream.onComplete();
+                return;
+            }
+            new LatestCoordinator<>(downstream, combiner, sources.length).subscribe(sources);
+        });
+    }
+
+    /**
+     * Источники пишут пары (номер, элемент) в общую неблокирующую очередь, а массивом последних
+     * значений владеет только дренаж, поэтому обновление и вызов combiner не требуют замка
+     */
+    static final class LatestCoordinator<R> extends AtomicInteger implements Disposable {
+        private final ObservableEmitter<R> downstream;
+        private final Function<? super Object[], ? extends R> combiner;
+        private final LatestInner[] inners;
+        private final Object[] latest;
+        private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private int filled;
+        private volatile boolean cancelled;
+
+        LatestCoordinator(ObservableEmitter<R> downstream, Function<? super Object[], ? extends R> combiner,
+                          int count) {
+            this.downstream = downstream;
+            this.combiner = combiner;
+            this.inners = new LatestInner[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new LatestInner(this, i);
+            }
+            this.latest = new Object[count];
+        }
+
+        void subscribe(Observable<?>[] sources) {
+            downstream.setDisposable(this);
+            for (int i = 0; i < sources.length && !cancelled; i++) {
+                sources[i].subscribe(inners[i]);
+            }
+        }
+
+        void innerNext(int index, Object item) {
+            queue.offer(new Entry(index, item));
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                drain();
+            } else {
+                ObservablePlugins.onError(t);
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                Throwable t = error.get();
+                if (t != null) {
+                    terminate();
+                    downstream.onError(t);
+                    return;
+                }
+                Entry entry = queue.poll();
+                if (entry != null) {
+                    if (latest[entry.index] == null) {
+                        filled++;
+                    }
+                    latest[entry.index] = entry.item;
+                    if (filled == latest.length) {
+                        R result;
+                        try {
+                            result = combiner.apply(latest.clone());
+                        } catch (Throwable e) {
+                            error.compareAndSet(null, e);
+                            continue;
+                        }
+                        downstream.onNext(result);
+                    }
+                    continue;
+                }
+                if (isCompleted()) {
+                    terminate();
+                    downstream.onComplete();
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Флаги done читаются до повторной проверки очереди: источник пишет элементы раньше флага,
+         * поэтому при пустой очереди все его элементы уже учтены в latest
+         */
+        private boolean isCompleted() {
+            boolean all = true;
+            boolean empty = false;
+            for (int i = 0; i < inners.length; i++) {
+                if (!inners[i].done) {
+                    all = false;
+                } else if (latest[i] == null) {
+                    empty = true;
+                }
+            }
+            return (all || empty) && queue.isEmpty();
+        }
+
+        private void terminate() {
+            cancelled = true;
+            for (LatestInner inner : inners) {
+                inner.dispose();
+            }
+            queue.clear();
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            for (LatestInner inner : inners) {
+                inner.dispose();
+            }
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+
+    static final class Entry {
+        final int index;
+        final Object item;
+
+        Entry(int index, Object item) {
+            this.index = index;
+            this.item = item;
+        }
+    }
+
+    static final class LatestInner extends AtomicReference<Disposable> implements Observer<Object>, Disposable {
+        private final LatestCoordinator<?> parent;
+        private final int index;
+        volatile boolean done;
+
+        LatestInner(LatestCoordinator<?> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            parent.innerNext(index, item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
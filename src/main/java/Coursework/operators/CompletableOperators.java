@@ -0,0 +1,267 @@
+package Coursework.operators;
+
+import Coursework.core.Completable;
+import Coursework.core.CompletableEmitter;
+import Coursework.core.CompletableObserver;
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.core.Single;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.DisposableTask;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Операторы Completable; устроены так же, как SingleOperators, но без значения
+ */
+public final class CompletableOperators {
+    private CompletableOperators() {
+    }
+
+    public static Completable andThen(Completable source, Completable next) {
+        return Completable.create(downstream -> source.subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onComplete() {
+                next.subscribe(new ForwardObserver(downstream));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static <T> Single<T> andThen(Completable source, Single<T> next) {
+        return Single.create(downstream -> source.subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onComplete() {
+                next.subscribe(new SingleOperators.ForwardObserver<>(downstream));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static Completable merge(Completable[] sources) {
+        return Completable.create(downstream -> {
+            if (sources.length == 0) {
+                downstream.onComplete();
+                return;
+            }
+            new MergeCoordinator(downstream, sources.length).subscribe(sources);
+        });
+    }
+
+    /**
+     * Как SingleOperators.subscribeOn: задача подписки заменяется Disposable-ом источника без прерывания потока
+     */
+    public static Completable subscribeOn(Completable source, Scheduler scheduler) {
+        return Completable.create(downstream -> {
+            DisposableTask task = new DisposableTask(() -> source.subscribe(new ForwardObserver(downstream)));
+            downstream.setDisposable(task);
+            scheduler.execute(task);
+        });
+    }
+
+    public static Completable observeOn(Completable source, Scheduler scheduler) {
+        return Completable.create(downstream -> source.subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onComplete() {
+                schedule(downstream::onComplete);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                schedule(() -> downstream.onError(t));
+            }
+
+            private void schedule(Runnable delivery) {
+                DisposableTask task = new DisposableTask(delivery);
+                downstream.setDisposable(task);
+                scheduler.execute(task);
+            }
+        }));
+    }
+
+    public static <T> Observable<T> toObservable(Completable source) {
+        return Observable.create(downstream -> source.subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * Пропускает элементы Observable и передаёт только его завершение или ошибку
+     */
+    public static <T> Completable ignoreElements(Observable<T> source) {
+        return Completable.create(downstream -> source.subscribe(new Observer<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    static final class ForwardObserver implements CompletableObserver {
+        private final CompletableEmitter downstream;
+
+        ForwardObserver(CompletableEmitter downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+
+    /**
+     * Счётчик (значение AtomicInteger) — число ещё не завершившихся источников;
+     * ошибка обнуляет его и отменяет остальные источники
+     */
+    static final class MergeCoordinator extends AtomicInteger implements Disposable {
+        private final CompletableEmitter downstream;
+        private final MergeInner[] inners;
+
+        MergeCoordinator(CompletableEmitter downstream, int count) {
+            super(count);
+            this.downstream = downstream;
+            this.inners = new MergeInner[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new MergeInner(this);
+            }
+        }
+
+        void subscribe(Completable[] sources) {
+            downstream.setDisposable(this);
+            for (int i = 0; i < sources.length && get() > 0; i++) {
+                sources[i].subscribe(inners[i]);
+            }
+        }
+
+        void innerComplete() {
+            if (decrementAndGet() == 0) {
+                downstream.onComplete();
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (getAndSet(0) <= 0) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            disposeInners();
+            downstream.onError(t);
+        }
+
+        private void disposeInners() {
+            for (MergeInner inner : inners) {
+                inner.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (getAndSet(0) > 0) {
+                disposeInners();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() <= 0;
+        }
+    }
+
+    static final class MergeInner extends AtomicReference<Disposable> implements CompletableObserver, Disposable {
+        private final MergeCoordinator parent;
+
+        MergeInner(MergeCoordinator parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.SerializedObserver;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.SpscLinkedArrayQueue;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Последовательное объединение внутренних потоков: элементы идут в порядке элементов источника
+ */
+public final class ConcatMapOperator {
+    /**
+     * Подписывается на следующий внутренний поток только после завершения текущего;
+     * элементы источника ждут в очереди, растущей звеньями по prefetch
+     */
+    public static <T, R> Observable<R> concatMap(Observable<T> source,
+                                                 Function<? super T, ? extends Observable<? extends R>> mapper,
+                                                 int prefetch) {
+        checkPositive(prefetch, "prefetch");
+        return Observable.create(downstream -> source.subscribe(new ConcatMapObserver<>(downstream, mapper, prefetch)));
+    }
+
+    /**
+     * Подписывается сразу на maxConcurrency внутренних потоков, буферизует их элементы
+     * и выдаёт их по очереди: сначала весь первый поток, затем весь второй и так далее
+     */
+    public static <T, R> Observable<R> concatMapEager(Observable<T> source,
+                                                      Function<? super T, ? extends Observable<? extends R>> mapper,
+                                                      int maxConcurrency, int prefetch) {
+        checkPositive(maxConcurrency, "maxConcurrency");
+        checkPositive(prefetch, "prefetch");
+        return Observable.create(downstream ->
+                source.subscribe(new EagerObserver<>(downstream, mapper, maxConcurrency, prefetch)));
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + value);
+        }
+    }
+
+    /**
+     * Дренаж владеет очередью источника и подпиской на текущий внутренний поток; синхронный
+     * внутренний поток, завершившись внутри subscribe, только увеличивает wip, поэтому
+     * переход к следующему выполняется в цикле, а не рекурсией. Элементы асинхронного внутреннего
+     * потока и ошибка источника приходят из разных потоков, поэтому события идут через
+     * SerializedObserver: без очереди, пока они не пересекаются.
+     */
+    static final class ConcatMapObserver<T, R> extends AtomicInteger implements Observer<T>, Disposable {
+        private final ObservableEmitter<R> downstream;
+        private final SerializedObserver<R> serialized;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final InnerObserver inner = new InnerObserver();
+
+        private Disposable upstream;
+        private volatile boolean done;
+        private volatile boolean active;
+        private volatile boolean cancelled;
+
+        ConcatMapObserver(ObservableEmitter<R> downstream,
+                          Function<? super T, ? extends Observable<? extends R>> mapper, int prefetch) {
+            this.downstream = downstream;
+            this.serialized = new SerializedObserver<>(downstream);
+            this.mapper = mapper;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || !error.compareAndSet(null, t)) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            if (!error.compareAndSet(null, t)) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            upstream.dispose();
+            active = false;
+            drain();
+        }
+
+        void innerComplete() {
+            active = false;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                Throwable t = error.get();
+                if (t != null) {
+                    cancelled = true;
+                    inner.dispose();
+                    queue.clear();
+                    serialized.onError(t);
+                    return;
+                }
+                if (!active) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    if (d && item == null) {
+                        cancelled = true;
+                        serialized.onComplete();
+                        return;
+                    }
+                    if (item != null) {
+                        Observable<? extends R> next;
+                        try {
+                            next = mapper.apply(item);
+                        } catch (Throwable e) {
+                            upstream.dispose();
+                            error.compareAndSet(null, e);
+                            continue;
+                        }
+                        active = true;
+                        next.subscribe(inner);
+                        continue;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.dispose();
+            inner.dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        /**
+         * Одна внутренняя подписка переиспользуется для всех внутренних потоков по очереди
+         */
+        final class InnerObserver extends AtomicReference<Disposable> implements Observer<R> {
+            @Override
+            public void onSubscribe(Disposable d) {
+                // Предыдущий внутренний поток уже завершился, освобождать его не нужно
+                DisposableHelper.replace(this, d);
+            }
+
+            @Override
+            public void onNext(R item) {
+                if (!cancelled) {
+                    serialized.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                innerError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                innerComplete();
+            }
+
+            void dispose() {
+                DisposableHelper.dispose(this);
+            }
+        }
+    }
+
+    /**
+     * Внутренние подписки и их очереди живут в очереди inners, которой владеет только дренаж:
+     * он подписывается на новые потоки, пока их меньше maxConcurrency, и выдаёт элементы головного
+     */
+    static final class EagerObserver<T, R> extends AtomicInteger implements Observer<T>, Disposable {
+        private final ObservableEmitter<R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final SpscLinkedArrayQueue<T> sources;
+        private final ArrayDeque<EagerInner<R>> inners = new ArrayDeque<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private Disposable upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        EagerObserver(ObservableEmitter<R> downstream,
+                      Function<? super T, ? extends Observable<? extends R>> mapper,
+                      int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.sources = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            sources.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || !error.compareAndSet(null, t)) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            if (!error.compareAndSet(null, t)) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                while (inners.size() < maxConcurrency) {
+                    T item = sources.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    Observable<? extends R> next;
+                    try {
+                        next = mapper.apply(item);
+                    } catch (Throwable e) {
+                        upstream.dispose();
+                        error.compareAndSet(null, e);
+                        break;
+                    }
+                    EagerInner<R> inner = new EagerInner<>(this, prefetch);
+                    inners.offer(inner);
+                    next.subscribe(inner);
+                }
+                boolean innerCompleted = false;
+                EagerInner<R> head;
+                while ((head = inners.peek()) != null) {
+                    boolean innerDone = head.done;
+                    for (;;) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        R item = head.queue.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        downstream.onNext(item);
+                    }
+                    if (!innerDone || !head.queue.isEmpty()) {
+                        break;
+                    }
+                    inners.poll();
+                    innerCompleted = true;
+                }
+                // Освободилось место: сразу подписываемся на ожидающие элементы источника или завершаем поток
+                if (innerCompleted) {
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                clearAll();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancelled = true;
+                upstream.dispose();
+                clearAll();
+                downstream.onError(t);
+                return true;
+            }
+            if (done && sources.isEmpty() && inners.isEmpty()) {
+                cancelled = true;
+                downstream.onComplete();
+                return true;
+            }
+            return false;
+        }
+
+        private void clearAll() {
+            sources.clear();
+            EagerInner<R> inner;
+            while ((inner = inners.poll()) != null) {
+                inner.dispose();
+                inner.queue.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.dispose();
+            if (getAndIncrement() == 0) {
+                clearAll();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+
+    static final class EagerInner<R> extends AtomicReference<Disposable> implements Observer<R>, Disposable {
+        private final EagerObserver<?, R> parent;
+        final SpscLinkedArrayQueue<R> queue;
+        volatile boolean done;
+
+        EagerInner(EagerObserver<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(R item) {
+            queue.offer(item);
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
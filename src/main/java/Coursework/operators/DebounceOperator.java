@@ -0,0 +1,105 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.DisposableHelper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class DebounceOperator {
+    public static <T> Observable<T> debounce(Observable<T> source, long timeout, TimeUnit unit, Scheduler scheduler) {
+        return Observable.create(downstream ->
+                source.subscribe(new DebounceObserver<>(downstream, timeout, unit, scheduler)));
+    }
+
+    /**
+     * Отправляет элемент, только если за timeout после него не пришёл следующий.
+     * Ожидающий элемент хранится в ссылке: отправляет его тот, кто первым забрал его оттуда —
+     * таймер или завершение источника.
+     */
+    static final class DebounceObserver<T> extends AtomicReference<DebounceObserver.Pending<T>>
+            implements Observer<T>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+        private final AtomicReference<Disposable> timer = new AtomicReference<>();
+
+        private Disposable upstream;
+        private volatile boolean disposed;
+
+        DebounceObserver(ObservableEmitter<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            Pending<T> pending = new Pending<>(item);
+            set(pending);
+            DisposableHelper.set(timer, worker.schedule(() -> emit(pending), timeout, unit));
+        }
+
+        private void emit(Pending<T> pending) {
+            if (compareAndSet(pending, null)) {
+                downstream.onNext(pending.value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            set(null);
+            worker.schedule(() -> downstream.onError(t));
+        }
+
+        /**
+         * Последний элемент не теряется: он отправляется перед onComplete
+         */
+        @Override
+        public void onComplete() {
+            worker.schedule(() -> {
+                Pending<T> pending = getAndSet(null);
+                if (pending != null) {
+                    downstream.onNext(pending.value);
+                }
+                downstream.onComplete();
+            });
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            DisposableHelper.dispose(timer);
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        static final class Pending<T> {
+            final T value;
+
+            Pending(T value) {
+                this.value = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package Coursework.operators;
+
+import Coursework.core.DistinctSet;
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public final class DistinctOperator {
+    /**
+     * Пропускает элементы с ранее не встречавшимся ключом; множество ключей создаётся для каждой подписки
+     */
+    public static <T, K> Observable<T> distinct(Observable<T> source, Function<? super T, K> keySelector,
+                                                Supplier<? extends DistinctSet<? super K>> setSupplier) {
+        return Observable.create(downstream -> {
+            DistinctSet<? super K> seen = setSupplier.get();
+            source.subscribe(new FilteringObserver<>(downstream, item -> seen.add(keySelector.apply(item))));
+        });
+    }
+
+    /**
+     * Пропускает элемент, только если его ключ отличается от ключа предыдущего элемента
+     */
+    public static <T, K> Observable<T> distinctUntilChanged(Observable<T> source, Function<? super T, K> keySelector) {
+        return Observable.create(downstream -> source.subscribe(new FilteringObserver<>(downstream, new Predicate<T>() {
+            private boolean hasLast;
+            private K last;
+
+            @Override
+            public boolean test(T item) {
+                K key = keySelector.apply(item);
+                boolean changed = !hasLast || !Objects.equals(last, key);
+                hasLast = true;
+                last = key;
+                return changed;
+            }
+        })));
+    }
+
+    /**
+     * Фильтр с состоянием: в отличие от MapFilterChain предикат принадлежит одной подписке
+     */
+    static final class FilteringObserver<T> implements Observer<T> {
+        private final ObservableEmitter<T> downstream;
+        private final Predicate<? super T> predicate;
+        private Disposable upstream;
+        private boolean done;
+
+        FilteringObserver(ObservableEmitter<T> downstream, Predicate<? super T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable e) {
+                done = true;
+                upstream.dispose();
+                downstream.onError(e);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+}
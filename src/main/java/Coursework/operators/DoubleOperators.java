@@ -0,0 +1,215 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.DoubleEmitter;
+import Coursework.core.DoubleObservable;
+import Coursework.core.DoubleObserver;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Операторы DoubleObservable. События приходят последовательно, поэтому флаги состояния — обычные поля.
+ */
+public final class DoubleOperators {
+    private DoubleOperators() {
+    }
+
+    public static DoubleObservable map(DoubleObservable source, DoubleUnaryOperator mapper) {
+        return DoubleObservable.create(downstream -> source.subscribe(new DoubleStage(downstream) {
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                double mapped;
+                try {
+                    mapped = mapper.applyAsDouble(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+        }));
+    }
+
+    public static DoubleObservable filter(DoubleObservable source, DoublePredicate predicate) {
+        return DoubleObservable.create(downstream -> source.subscribe(new DoubleStage(downstream) {
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        }));
+    }
+
+    public static DoubleObservable sum(DoubleObservable source) {
+        return DoubleObservable.create(downstream -> source.subscribe(new DoubleStage(downstream) {
+            private double sum;
+
+            @Override
+            public void onNext(double item) {
+                sum += item;
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                downstream.onNext(sum);
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(DoubleObservable source, DoubleFunction<? extends R> mapper) {
+        return Observable.create(downstream -> source.subscribe(new DoubleObserver() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                R mapped;
+                try {
+                    mapped = mapper.apply(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    public static <T> DoubleObservable fromObservable(Observable<T> source, ToDoubleFunction<? super T> mapper) {
+        return DoubleObservable.create(downstream -> source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                double mapped;
+                try {
+                    mapped = mapper.applyAsDouble(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Общая часть промежуточной стадии: связь отмены с источником и завершение по ошибке
+     */
+    abstract static class DoubleStage implements DoubleObserver {
+        final DoubleEmitter downstream;
+        Disposable upstream;
+        boolean done;
+
+        DoubleStage(DoubleEmitter downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        final void fail(Throwable e) {
+            done = true;
+            upstream.dispose();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
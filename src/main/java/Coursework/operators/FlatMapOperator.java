@@ -1,76 +1,412 @@
 package Coursework.operators;
 
+import Coursework.core.Disposable;
 import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
 import Coursework.core.OnSubscribe;
 import Coursework.core.Observer;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.SpscLinkedArrayQueue;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.OperatorMetrics;
+import Coursework.plugins.ObservablePlugins;
 
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 public final class FlatMapOperator {
     public static <T, R> Observable<R> flatMap(Observable<T> source,
                                                Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return flatMap(source, mapper, Integer.MAX_VALUE, Observable.bufferSize());
+    }
+
+    public static <T, R> Observable<R> flatMap(Observable<T> source,
+                                               Function<? super T, ? extends Observable<? extends R>> mapper,
+                                               int maxConcurrency, int bufferSize) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
         return Observable.create(new OnSubscribe<R>() {
             @Override
-            public void call(Observer<? super R> downstream) {
-                AtomicBoolean errored = new AtomicBoolean(false);
-                AtomicInteger active = new AtomicInteger(1);
-                source.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        if (errored.get()) {
-                            return;
+            public void call(ObservableEmitter<R> downstream) {
+                source.subscribe(new MergeObserver<>(downstream, mapper, maxConcurrency, bufferSize));
+            }
+        });
+    }
+
+    /**
+     * Объединяет внутренние потоки так, что downstream всегда вызывается последовательно.
+     * Кто первым захватил счётчик wip, тот и доставляет элементы; остальные потоки только кладут
+     * элементы в очередь своей внутренней подписки. Сверх maxConcurrency элементы источника ждут в очереди.
+     */
+    static final class MergeObserver<T, R> extends AtomicInteger implements Observer<T>, Disposable {
+        @SuppressWarnings("rawtypes")
+        private static final InnerObserver[] EMPTY = new InnerObserver[0];
+        @SuppressWarnings("rawtypes")
+        private static final InnerObserver[] CANCELLED = new InnerObserver[0];
+
+        private final ObservableEmitter<R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int bufferSize;
+        private final SpscLinkedArrayQueue<T> sources;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        @SuppressWarnings("unchecked")
+        private final AtomicReference<InnerObserver<R>[]> observers = new AtomicReference<>(EMPTY);
+        final OperatorMetrics metrics = Metrics.ENABLED ? Metrics.operator("flatMap") : null;
+
+        private Disposable upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        MergeObserver(ObservableEmitter<R> downstream,
+                      Function<? super T, ? extends Observable<? extends R>> mapper,
+                      int maxConcurrency, int bufferSize) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.bufferSize = bufferSize;
+            this.sources = maxConcurrency == Integer.MAX_VALUE ? null : new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (Metrics.ENABLED) {
+                metrics.recordIn();
+            }
+            if (sources == null) {
+                subscribeInner(item);
+            } else {
+                sources.offer(item);
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            if (error.compareAndSet(null, t)) {
+                if (Metrics.ENABLED) {
+                    metrics.recordError();
+                }
+                done = true;
+                drain();
+            } else {
+                ObservablePlugins.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void subscribeInner(T item) {
+            Observable<? extends R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Throwable e) {
+                innerError(e);
+                return;
+            }
+            InnerObserver<R> innerObserver = new InnerObserver<>(this);
+            if (add(innerObserver)) {
+                inner.subscribe(innerObserver);
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                if (Metrics.ENABLED) {
+                    metrics.recordError();
+                }
+                drain();
+            } else {
+                ObservablePlugins.onError(t);
+            }
+        }
+
+        /**
+         * Отменяет источник и все внутренние подписки; очереди очищает тот, кто владеет дренажом
+         */
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            cancelAll();
+            if (getAndIncrement() == 0) {
+                clearQueues();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void cancelAll() {
+            upstream.dispose();
+            for (InnerObserver<R> inner : observers.getAndSet(CANCELLED)) {
+                inner.dispose();
+                // Брошенные очереди внутренних подписок больше не учитываются в глубине очереди
+                SpscLinkedArrayQueue<R> queue = inner.queue;
+                if (Metrics.ENABLED && queue != null) {
+                    metrics.dequeued(queue.size());
+                }
+            }
+        }
+
+        private void clearQueues() {
+            if (sources != null) {
+                sources.clear();
+            }
+        }
+
+        /**
+         * Быстрый путь: если никто не доставляет элементы и очередь подписки пуста, отдаём элемент сразу
+         */
+        void tryEmit(R item, InnerObserver<R> inner) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                SpscLinkedArrayQueue<R> queue = inner.queue;
+                if (queue == null || queue.isEmpty()) {
+                    if (!cancelled) {
+                        if (Metrics.ENABLED) {
+                            metrics.recordOut();
                         }
-                        Observable<? extends R> inner;
-                        try {
-                            inner = mapper.apply(item);
-                        } catch (Throwable e) {
-                            if (errored.compareAndSet(false, true)) {
-                                downstream.onError(e);
-                            }
+                        downstream.onNext(item);
+                    }
+                    if (decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    enqueue(queue, item);
+                }
+            } else {
+                enqueue(inner.getOrCreateQueue(), item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        private void enqueue(SpscLinkedArrayQueue<R> queue, R item) {
+            if (Metrics.ENABLED) {
+                metrics.enqueued();
+            }
+            queue.offer(item);
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                if (sources != null) {
+                    while (observers.get().length < maxConcurrency) {
+                        T item = sources.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        subscribeInner(item);
+                        if (checkTerminated()) {
                             return;
                         }
-                        active.incrementAndGet();
-                        inner.subscribe(new Observer<R>() {
-                            @Override
-                            public void onNext(R r) {
-                                if (!errored.get()) {
-                                    downstream.onNext(r);
-                                }
+                    }
+                }
+                boolean innerCompleted = false;
+                for (InnerObserver<R> inner : observers.get()) {
+                    boolean innerDone = inner.done;
+                    SpscLinkedArrayQueue<R> queue = inner.queue;
+                    if (queue != null) {
+                        for (;;) {
+                            if (checkTerminated()) {
+                                return;
                             }
-
-                            @Override
-                            public void onError(Throwable t) {
-                                if (errored.compareAndSet(false, true)) {
-                                    downstream.onError(t);
-                                }
+                            R item = queue.poll();
+                            if (item == null) {
+                                break;
                             }
-
-                            @Override
-                            public void onComplete() {
-                                if (active.decrementAndGet() == 0 && !errored.get()) {
-                                    downstream.onComplete();
-                                }
+                            if (Metrics.ENABLED) {
+                                metrics.dequeued(1);
+                                metrics.recordOut();
                             }
-                        });
-                    }
-
-                    @Override
-                    public void onError(Throwable t) {
-                        if (errored.compareAndSet(false, true)) {
-                            downstream.onError(t);
+                            downstream.onNext(item);
                         }
                     }
+                    if (innerDone && (queue == null || queue.isEmpty())) {
+                        remove(inner);
+                        innerCompleted = true;
+                    }
+                }
+                // Освободилось место: сразу пробуем подписаться на ожидающие источники
+                if (innerCompleted) {
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
 
-                    @Override
-                    public void onComplete() {
-                        if (active.decrementAndGet() == 0 && !errored.get()) {
-                            downstream.onComplete();
-                        }
+        private boolean checkTerminated() {
+            if (cancelled) {
+                clearQueues();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancelled = true;
+                cancelAll();
+                clearQueues();
+                downstream.onError(t);
+                return true;
+            }
+            boolean d = done;
+            if (d && (sources == null || sources.isEmpty()) && observers.get().length == 0) {
+                cancelled = true;
+                downstream.onComplete();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean add(InnerObserver<R> inner) {
+            for (;;) {
+                InnerObserver<R>[] current = observers.get();
+                if (current == CANCELLED) {
+                    inner.dispose();
+                    return false;
+                }
+                int n = current.length;
+                @SuppressWarnings("unchecked")
+                InnerObserver<R>[] next = new InnerObserver[n + 1];
+                System.arraycopy(current, 0, next, 0, n);
+                next[n] = inner;
+                if (observers.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void remove(InnerObserver<R> inner) {
+            for (;;) {
+                InnerObserver<R>[] current = observers.get();
+                int n = current.length;
+                int index = -1;
+                for (int i = 0; i < n; i++) {
+                    if (current[i] == inner) {
+                        index = i;
+                        break;
                     }
-                });
+                }
+                if (index < 0) {
+                    return;
+                }
+                InnerObserver<R>[] next;
+                if (n == 1) {
+                    next = EMPTY;
+                } else {
+                    next = new InnerObserver[n - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, n - index - 1);
+                }
+                if (observers.compareAndSet(current, next)) {
+                    return;
+                }
             }
-        });
+        }
+    }
+
+    /**
+     * Внутренняя подписка; очередь создаётся только когда элемент не удалось отдать сразу
+     */
+    static final class InnerObserver<R> extends AtomicReference<Disposable> implements Observer<R>, Disposable {
+        private final MergeObserver<?, R> parent;
+        volatile SpscLinkedArrayQueue<R> queue;
+        volatile boolean done;
+
+        InnerObserver(MergeObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        SpscLinkedArrayQueue<R> getOrCreateQueue() {
+            SpscLinkedArrayQueue<R> q = queue;
+            if (q == null) {
+                q = new SpscLinkedArrayQueue<>(parent.bufferSize);
+                queue = q;
+            }
+            return q;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.tryEmit(item, this);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                parent.innerError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
     }
 }
@@ -0,0 +1,134 @@
+package Coursework.operators;
+
+import Coursework.core.Flowable;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.SubscriptionHelper;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Переходники между Flowable и java.util.concurrent.Flow: протоколы совпадают,
+ * поэтому запросы и отмена передаются напрямую, без промежуточных очередей
+ */
+public final class FlowAdapters {
+    public static <T> Flow.Publisher<T> toFlowPublisher(Flowable<T> source) {
+        return subscriber -> source.subscribe(new FlowSubscriberAdapter<>(subscriber));
+    }
+
+    public static <T> Flowable<T> fromFlowPublisher(Flow.Publisher<? extends T> publisher) {
+        return Flowable.fromPublisher(subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Правило 3.9 Reactive Streams требует ответить на неположительный запрос ошибкой, а запрос
+     * приходит из потока подписчика, пока элементы ещё могут идти из потока Flowable.
+     * Счётчик (значение AtomicInteger) не даёт ошибке пересечься с onNext: кто застал onNext
+     * в процессе, оставляет событие в terminal, и его доставляет сам onNext после выдачи элемента.
+     */
+    static final class FlowSubscriberAdapter<T> extends AtomicInteger implements Subscriber<T>, Flow.Subscription {
+        private static final Throwable COMPLETE = new Throwable("complete");
+
+        private final Flow.Subscriber<? super T> downstream;
+        private final AtomicReference<Throwable> terminal = new AtomicReference<>();
+        private Subscription upstream;
+
+        FlowSubscriberAdapter(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                downstream.onNext(item);
+                if (decrementAndGet() != 0) {
+                    deliver(terminal.get());
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(t);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(COMPLETE);
+        }
+
+        @Override
+        public void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                upstream.cancel();
+                terminate(new IllegalArgumentException("request > 0 required but it was " + n));
+                return;
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+        private void terminate(Throwable t) {
+            if (!terminal.compareAndSet(null, t)) {
+                if (t != COMPLETE) {
+                    ObservablePlugins.onError(t);
+                }
+                return;
+            }
+            if (getAndIncrement() == 0) {
+                deliver(t);
+            }
+        }
+
+        private void deliver(Throwable t) {
+            if (t == COMPLETE) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(t);
+            }
+        }
+    }
+}
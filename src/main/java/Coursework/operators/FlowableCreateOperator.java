@@ -0,0 +1,437 @@
+package Coursework.operators;
+
+import Coursework.core.BackpressureStrategy;
+import Coursework.core.Cancellable;
+import Coursework.core.Flowable;
+import Coursework.core.FlowableEmitter;
+import Coursework.core.FlowableOnSubscribe;
+import Coursework.core.MissingBackpressureException;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.SpscArrayQueue;
+import Coursework.internal.SubscriptionHelper;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.OperatorMetrics;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class FlowableCreateOperator {
+    /**
+     * Элементы, отброшенные стратегиями DROP и LATEST
+     */
+    private static final OperatorMetrics DROPS = Metrics.ENABLED ? Metrics.operator("backpressure") : null;
+
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> onSubscribe, BackpressureStrategy strategy,
+                                         int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Flowable.fromPublisher(downstream -> {
+            BaseEmitter<T> emitter = emitter(downstream, strategy, bufferSize);
+            downstream.onSubscribe(emitter);
+            try {
+                onSubscribe.call(emitter);
+            } catch (Throwable e) {
+                emitter.onError(e);
+            }
+        });
+    }
+
+    /**
+     * Создаёт эмиттер с нужной стратегией; используется также операторами onBackpressureXxx
+     */
+    static <T> BaseEmitter<T> emitter(Subscriber<? super T> downstream, BackpressureStrategy strategy,
+                                      int bufferSize) {
+        switch (strategy) {
+            case DROP:
+                return new DropEmitter<>(downstream);
+            case LATEST:
+                return new LatestEmitter<>(downstream);
+            case ERROR:
+                return new ErrorEmitter<>(downstream);
+            default:
+                return new BufferEmitter<>(downstream, bufferSize);
+        }
+    }
+
+    /**
+     * Общая часть эмиттеров: счётчик спроса (сам объект), отмена и связь с источником выше по цепочке
+     */
+    abstract static class BaseEmitter<T> extends AtomicLong implements FlowableEmitter<T>, Subscription {
+        final Subscriber<? super T> downstream;
+        final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        private final AtomicReference<Cancellable> resource = new AtomicReference<>();
+        volatile boolean cancelled;
+
+        BaseEmitter(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public final void request(long n) {
+            if (!SubscriptionHelper.validate(n)) {
+                onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            SubscriptionHelper.add(this, n);
+            onRequested();
+        }
+
+        @Override
+        public final void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                SubscriptionHelper.cancel(upstream);
+                release();
+                onCancelled();
+            }
+        }
+
+        @Override
+        public final void setCancellable(Cancellable cancellable) {
+            Cancellable previous = resource.getAndSet(cancellable);
+            if (previous != null) {
+                previous.cancel();
+            }
+            if (cancelled) {
+                release();
+            }
+        }
+
+        /**
+         * Вызывает зарегистрированное действие отмены не более одного раза
+         */
+        final void release() {
+            Cancellable current = resource.getAndSet(null);
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public final long requested() {
+            return get();
+        }
+
+        @Override
+        public final boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Связывает эмиттер с подпиской источника, чтобы отмена шла вверх по цепочке
+         */
+        final boolean setUpstream(Subscription subscription) {
+            return SubscriptionHelper.setOnce(upstream, subscription);
+        }
+
+        void onRequested() {
+        }
+
+        void onCancelled() {
+        }
+    }
+
+    /**
+     * Эмиттер без буфера: элемент доставляется сразу или обрабатывается как переполнение.
+     * request(n <= 0) приходит из потока подписчика, поэтому терминальное событие записывается CAS-ом
+     * в terminal, а доставляет его тот, кто обнулил счётчик wip: если производитель сейчас внутри
+     * onNext, ошибка будет доставлена им сразу после этого элемента.
+     */
+    abstract static class NoOverflowEmitter<T> extends BaseEmitter<T> {
+        private static final Throwable COMPLETE = new Throwable("complete");
+
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Throwable> terminal = new AtomicReference<>();
+
+        NoOverflowEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public final void onNext(T item) {
+            if (terminal.get() != null || cancelled) {
+                return;
+            }
+            if (item == null) {
+                onError(new NullPointerException("onNext called with null"));
+                return;
+            }
+            if (get() != 0) {
+                if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                    downstream.onNext(item);
+                    SubscriptionHelper.produced(this, 1);
+                    if (wip.decrementAndGet() != 0) {
+                        deliver(terminal.get());
+                    }
+                }
+            } else {
+                onOverflow();
+            }
+        }
+
+        @Override
+        public final void onError(Throwable t) {
+            terminate(t);
+        }
+
+        @Override
+        public final void onComplete() {
+            terminate(COMPLETE);
+        }
+
+        private void terminate(Throwable t) {
+            if (cancelled || !terminal.compareAndSet(null, t)) {
+                if (t != COMPLETE) {
+                    ObservablePlugins.onError(t);
+                }
+                return;
+            }
+            if (t != COMPLETE) {
+                SubscriptionHelper.cancel(upstream);
+            }
+            if (wip.getAndIncrement() == 0) {
+                deliver(t);
+            }
+        }
+
+        private void deliver(Throwable t) {
+            try {
+                if (t == COMPLETE) {
+                    downstream.onComplete();
+                } else {
+                    downstream.onError(t);
+                }
+            } finally {
+                release();
+            }
+        }
+
+        abstract void onOverflow();
+    }
+
+    static final class DropEmitter<T> extends NoOverflowEmitter<T> {
+        DropEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            // элемент без спроса просто отбрасывается
+            if (Metrics.ENABLED) {
+                DROPS.recordDrop();
+            }
+        }
+    }
+
+    static final class ErrorEmitter<T> extends NoOverflowEmitter<T> {
+        ErrorEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            onError(new MissingBackpressureException("create: could not emit value due to lack of requests"));
+        }
+    }
+
+    /**
+     * Эмиттер с очередью: элементы копятся до появления спроса и доставляются дренажом.
+     * Терминальное событие занимает once CAS-ом: ошибка request(n <= 0) из потока подписчика
+     * не перезапишет error, который записывает производитель.
+     */
+    abstract static class QueueDrainEmitter<T> extends BaseEmitter<T> {
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean once = new AtomicBoolean();
+        Throwable error;
+        volatile boolean done;
+
+        QueueDrainEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public final void onError(Throwable t) {
+            if (cancelled || !once.compareAndSet(false, true)) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            error = t;
+            done = true;
+            SubscriptionHelper.cancel(upstream);
+            drain();
+        }
+
+        @Override
+        public final void onComplete() {
+            if (cancelled || !once.compareAndSet(false, true)) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        final void onRequested() {
+            drain();
+        }
+
+        @Override
+        final void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        abstract T poll();
+
+        abstract boolean isEmpty();
+
+        abstract void clear();
+
+        final void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long r = get();
+                long e = 0L;
+                while (e != r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                }
+                if (e == r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (done && isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                }
+                if (e != 0L) {
+                    SubscriptionHelper.produced(this, e);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void terminate() {
+            Throwable t = error;
+            try {
+                if (t != null) {
+                    downstream.onError(t);
+                } else {
+                    downstream.onComplete();
+                }
+            } finally {
+                release();
+            }
+        }
+    }
+
+    static final class BufferEmitter<T> extends QueueDrainEmitter<T> {
+        private final SpscArrayQueue<T> queue;
+
+        BufferEmitter(Subscriber<? super T> downstream, int capacity) {
+            super(downstream);
+            this.queue = new SpscArrayQueue<>(capacity);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (item == null) {
+                onError(new NullPointerException("onNext called with null"));
+                return;
+            }
+            if (!queue.offer(item)) {
+                onError(new MissingBackpressureException("create: buffer of " + queue.capacity() + " items is full"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clear() {
+            queue.clear();
+        }
+    }
+
+    static final class LatestEmitter<T> extends QueueDrainEmitter<T> {
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        LatestEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (item == null) {
+                onError(new NullPointerException("onNext called with null"));
+                return;
+            }
+            if (Metrics.ENABLED) {
+                if (latest.getAndSet(item) != null) {
+                    DROPS.recordDrop();
+                }
+            } else {
+                latest.set(item);
+            }
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return latest.getAndSet(null);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return latest.get() == null;
+        }
+
+        @Override
+        void clear() {
+            latest.lazySet(null);
+        }
+    }
+}
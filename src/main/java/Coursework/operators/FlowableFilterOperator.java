@@ -0,0 +1,82 @@
+package Coursework.operators;
+
+import Coursework.core.Flowable;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+
+import java.util.function.Predicate;
+
+public final class FlowableFilterOperator {
+    public static <T> Flowable<T> filter(Flowable<T> source, Predicate<? super T> predicate) {
+        return Flowable.fromPublisher(downstream -> source.subscribe(new FilterSubscriber<>(downstream, predicate)));
+    }
+
+    /**
+     * Каждый отброшенный элемент возмещается запросом одного нового, чтобы спрос подписчика не терялся
+     */
+    static final class FilterSubscriber<T> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final Predicate<? super T> predicate;
+        private Subscription upstream;
+        private boolean done;
+
+        FilterSubscriber(Subscriber<? super T> downstream, Predicate<? super T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(item);
+            } else {
+                upstream.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package Coursework.operators;
+
+import Coursework.core.Flowable;
+import Coursework.core.MissingBackpressureException;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.SpscArrayQueue;
+import Coursework.internal.SubscriptionHelper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public final class FlowableFlatMapOperator {
+    public static <T, R> Flowable<R> flatMap(Flowable<T> source,
+                                             Function<? super T, ? extends Flowable<? extends R>> mapper,
+                                             int maxConcurrency, int prefetch) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return Flowable.fromPublisher(downstream ->
+                source.subscribe(new MergeSubscriber<>(downstream, mapper, maxConcurrency, prefetch)));
+    }
+
+    /**
+     * Держит не больше maxConcurrency внутренних подписок, у каждой своя ограниченная очередь.
+     * Все элементы доставляются одним дренажом с учётом спроса подписчика.
+     */
+    static final class MergeSubscriber<T, R> extends AtomicInteger implements Subscriber<T>, Subscription {
+        @SuppressWarnings("rawtypes")
+        private static final InnerSubscriber[] EMPTY = new InnerSubscriber[0];
+        @SuppressWarnings("rawtypes")
+        private static final InnerSubscriber[] TERMINATED = new InnerSubscriber[0];
+
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends Flowable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        @SuppressWarnings("unchecked")
+        private final AtomicReference<InnerSubscriber<R>[]> subscribers = new AtomicReference<>(EMPTY);
+
+        /**
+         * Внутренние подписки, снятые при отмене; их очереди очищает тот, кто владеет дренажом
+         */
+        private volatile InnerSubscriber<R>[] abandoned;
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private int lastIndex;
+
+        MergeSubscriber(Subscriber<? super R> downstream,
+                        Function<? super T, ? extends Flowable<? extends R>> mapper,
+                        int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Flowable<? extends R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Throwable e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            InnerSubscriber<R> innerSubscriber = new InnerSubscriber<>(this, prefetch);
+            if (add(innerSubscriber)) {
+                inner.subscribe(innerSubscriber);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            if (error.compareAndSet(null, t)) {
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                SubscriptionHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            upstream.cancel();
+            // Снятые подписки публикуются в abandoned до флага: дренаж, увидевший cancelled, очистит их очереди
+            InnerSubscriber<R>[] inners = cancelInners();
+            cancelled = true;
+            if (getAndIncrement() == 0) {
+                clearInners(inners);
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                upstream.cancel();
+                drain();
+            }
+        }
+
+        private boolean add(InnerSubscriber<R> inner) {
+            for (;;) {
+                InnerSubscriber<R>[] current = subscribers.get();
+                if (current == TERMINATED) {
+                    inner.cancel();
+                    return false;
+                }
+                int n = current.length;
+                @SuppressWarnings("unchecked")
+                InnerSubscriber<R>[] next = new InnerSubscriber[n + 1];
+                System.arraycopy(current, 0, next, 0, n);
+                next[n] = inner;
+                if (subscribers.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private void remove(InnerSubscriber<R> inner) {
+            for (;;) {
+                InnerSubscriber<R>[] current = subscribers.get();
+                int n = current.length;
+                int index = -1;
+                for (int i = 0; i < n; i++) {
+                    if (current[i] == inner) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return;
+                }
+                InnerSubscriber<R>[] next;
+                if (n == 1) {
+                    @SuppressWarnings("unchecked")
+                    InnerSubscriber<R>[] empty = EMPTY;
+                    next = empty;
+                } else {
+                    @SuppressWarnings("unchecked")
+                    InnerSubscriber<R>[] copy = new InnerSubscriber[n - 1];
+                    System.arraycopy(current, 0, copy, 0, index);
+                    System.arraycopy(current, index + 1, copy, index, n - index - 1);
+                    next = copy;
+                }
+                if (subscribers.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Снимает и отменяет все внутренние подписки; возвращает снятый массив, чтобы очистить их очереди
+         */
+        @SuppressWarnings("unchecked")
+        private InnerSubscriber<R>[] cancelInners() {
+            InnerSubscriber<R>[] current = subscribers.getAndSet(TERMINATED);
+            if (current != TERMINATED) {
+                abandoned = current;
+                for (InnerSubscriber<R> inner : current) {
+                    inner.cancel();
+                }
+            }
+            return current;
+        }
+
+        private void clearInners(InnerSubscriber<R>[] inners) {
+            if (inners == null) {
+                return;
+            }
+            for (InnerSubscriber<R> inner : inners) {
+                inner.queue.clear();
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                long r = requested.get();
+                long e = 0L;
+                int replenish = 0;
+                InnerSubscriber<R>[] inners = subscribers.get();
+                int n = inners.length;
+                if (n != 0) {
+                    // Начинаем с той внутренней подписки, на которой остановились, чтобы не голодали остальные
+                    int index = lastIndex < n ? lastIndex : 0;
+                    for (int i = 0; i < n; i++) {
+                        InnerSubscriber<R> inner = inners[index];
+                        while (e != r) {
+                            if (checkTerminated()) {
+                                return;
+                            }
+                            R item = inner.queue.poll();
+                            if (item == null) {
+                                break;
+                            }
+                            downstream.onNext(item);
+                            e++;
+                            inner.consumed();
+                        }
+                        boolean innerDone = inner.done;
+                        if (innerDone && inner.queue.isEmpty()) {
+                            remove(inner);
+                            replenish++;
+                        }
+                        if (e == r) {
+                            break;
+                        }
+                        if (++index == n) {
+                            index = 0;
+                        }
+                    }
+                    lastIndex = index;
+                }
+                if (e != 0L) {
+                    SubscriptionHelper.produced(requested, e);
+                }
+                if (replenish != 0 && !cancelled && maxConcurrency != Integer.MAX_VALUE) {
+                    upstream.request(replenish);
+                }
+                if (checkTerminated()) {
+                    return;
+                }
+                if (replenish != 0) {
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                clearInners(abandoned);
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancelled = true;
+                upstream.cancel();
+                clearInners(cancelInners());
+                downstream.onError(t);
+                return true;
+            }
+            boolean d = done;
+            if (d && subscribers.get().length == 0) {
+                cancelled = true;
+                downstream.onComplete();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Внутренняя подписка: запрашивает prefetch элементов и пополняет запрос пачками
+     */
+    static final class InnerSubscriber<R> extends AtomicReference<Subscription> implements Subscriber<R> {
+        private final MergeSubscriber<?, R> parent;
+        private final int prefetch;
+        private final int limit;
+        final SpscArrayQueue<R> queue;
+        volatile boolean done;
+        private int produced;
+
+        InnerSubscriber(MergeSubscriber<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (SubscriptionHelper.setOnce(this, subscription)) {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!queue.offer(item)) {
+                cancel();
+                parent.innerError(new MissingBackpressureException("flatMap: inner queue is full"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        /**
+         * Вызывается дренажом после доставки элемента этой подписки
+         */
+        void consumed() {
+            if (++produced == limit) {
+                produced = 0;
+                get().request(limit);
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.cancel(this);
+        }
+    }
+}
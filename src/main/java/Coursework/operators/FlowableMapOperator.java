@@ -0,0 +1,78 @@
+package Coursework.operators;
+
+import Coursework.core.Flowable;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+
+import java.util.function.Function;
+
+public final class FlowableMapOperator {
+    public static <T, R> Flowable<R> map(Flowable<T> source, Function<? super T, ? extends R> mapper) {
+        return Flowable.fromPublisher(downstream -> source.subscribe(new MapSubscriber<>(downstream, mapper)));
+    }
+
+    /**
+     * Спрос и отмена передаются источнику без изменений: один входной элемент даёт один выходной
+     */
+    static final class MapSubscriber<T, R> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends R> mapper;
+        private Subscription upstream;
+        private boolean done;
+
+        MapSubscriber(Subscriber<? super R> downstream, Function<? super T, ? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R mapped;
+            try {
+                mapped = mapper.apply(item);
+            } catch (Throwable e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            downstream.onNext(mapped);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package Coursework.operators;
+
+import Coursework.core.Flowable;
+import Coursework.core.MissingBackpressureException;
+import Coursework.core.Scheduler;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.SpscArrayQueue;
+import Coursework.internal.SubscriptionHelper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class FlowableObserveOnOperator {
+    public static <T> Flowable<T> observeOn(Flowable<T> source, Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return Flowable.fromPublisher(downstream ->
+                source.subscribe(new ObserveOnSubscriber<>(downstream, scheduler, prefetch)));
+    }
+
+    /**
+     * Запрашивает у источника prefetch элементов, держит их в ограниченной очереди
+     * и пополняет запрос пачками по мере того, как дренаж отдаёт элементы подписчику
+     */
+    static final class ObserveOnSubscriber<T> extends AtomicInteger implements Subscriber<T>, Subscription, Runnable {
+        private final Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private Throwable error;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private int consumed;
+
+        ObserveOnSubscriber(Subscriber<? super T> downstream, Scheduler scheduler, int prefetch) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                onError(new MissingBackpressureException("observeOn: queue is full, source ignored requests"));
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                SubscriptionHelper.add(requested, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+                while (e != r) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (checkTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                }
+                if (e == r && checkTerminated(done, queue.isEmpty())) {
+                    return;
+                }
+                if (e != 0L) {
+                    SubscriptionHelper.produced(requested, e);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            if (d && empty) {
+                Throwable t = error;
+                try {
+                    if (t != null) {
+                        downstream.onError(t);
+                    } else {
+                        downstream.onComplete();
+                    }
+                } finally {
+                    worker.dispose();
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package Coursework.operators;
+
+import Coursework.core.BackpressureStrategy;
+import Coursework.core.Flowable;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+
+public final class FlowableOnBackpressureOperator {
+    /**
+     * Запрашивает у источника всё сразу и применяет стратегию к элементам, на которые у подписчика нет спроса
+     */
+    public static <T> Flowable<T> onBackpressure(Flowable<T> source, BackpressureStrategy strategy, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Flowable.fromPublisher(downstream -> {
+            FlowableCreateOperator.BaseEmitter<T> emitter =
+                    FlowableCreateOperator.emitter(downstream, strategy, bufferSize);
+            downstream.onSubscribe(emitter);
+            source.subscribe(new Subscriber<T>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    if (emitter.setUpstream(subscription)) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+                }
+
+                @Override
+                public void onNext(T item) {
+                    emitter.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    emitter.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    emitter.onComplete();
+                }
+            });
+        });
+    }
+}
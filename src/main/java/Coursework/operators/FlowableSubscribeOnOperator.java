@@ -0,0 +1,73 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Flowable;
+import Coursework.core.Scheduler;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.SubscriptionHelper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class FlowableSubscribeOnOperator {
+    public static <T> Flowable<T> subscribeOn(Flowable<T> source, Scheduler scheduler) {
+        return Flowable.fromPublisher(downstream -> {
+            SubscribeOnSubscriber<T> parent = new SubscribeOnSubscriber<>(downstream);
+            downstream.onSubscribe(parent);
+            parent.setTask(scheduler.schedule(() -> source.subscribe(parent)));
+        });
+    }
+
+    /**
+     * Подписка на источник происходит позже, поэтому спрос, пришедший раньше неё, накапливается
+     */
+    static final class SubscribeOnSubscriber<T> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<Disposable> task = new AtomicReference<>();
+
+        SubscribeOnSubscriber(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setTask(Disposable d) {
+            DisposableHelper.setOnce(task, d);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            SubscriptionHelper.deferredSetOnce(upstream, requested, subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                SubscriptionHelper.deferredRequest(upstream, requested, n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            DisposableHelper.dispose(task);
+            SubscriptionHelper.cancel(upstream);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package Coursework.operators;
+
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * Источники поверх стандартных типов JDK
+ */
+public final class FromOperator {
+    /**
+     * Перебирает Iterable лениво: следующий элемент берётся только после доставки предыдущего,
+     * а после отмены перебор прекращается
+     */
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> iterable) {
+        return Observable.create(emitter -> emit(iterable.iterator(), emitter));
+    }
+
+    /**
+     * Перебирает Stream лениво и закрывает его при завершении или отмене.
+     * Stream одноразовый, поэтому повторная подписка завершится IllegalStateException.
+     */
+    public static <T> Observable<T> fromStream(Stream<? extends T> stream) {
+        return Observable.create(emitter -> {
+            emitter.setCancellable(stream::close);
+            emit(stream.iterator(), emitter);
+        });
+    }
+
+    private static <T> void emit(Iterator<? extends T> iterator, ObservableEmitter<T> emitter) {
+        for (;;) {
+            if (emitter.isDisposed()) {
+                return;
+            }
+            T item;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                item = iterator.next();
+            } catch (Throwable e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onNext(item);
+        }
+        emitter.onComplete();
+    }
+
+    /**
+     * Отдаёт результат future и завершается; future, завершившийся с null, даёт пустой поток.
+     * Отмена подписки не отменяет сам future: его могут ждать и другие потребители.
+     */
+    public static <T> Observable<T> fromFuture(CompletableFuture<? extends T> future) {
+        return Observable.create(emitter -> future.whenComplete((value, error) -> {
+            if (error != null) {
+                emitter.onError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            if (value != null) {
+                emitter.onNext(value);
+            }
+            emitter.onComplete();
+        }));
+    }
+
+    /**
+     * Подписывается на Flow.Publisher и сразу запрашивает Long.MAX_VALUE элементов:
+     * у Observable нет обратного давления. Отмена подписки отменяет Flow.Subscription.
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return Observable.create(emitter -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                emitter.setCancellable(subscription::cancel);
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                emitter.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                emitter.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+}
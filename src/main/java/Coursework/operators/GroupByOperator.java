@@ -0,0 +1,230 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.GroupedObservable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public final class GroupByOperator {
+    /**
+     * Делит поток на подпотоки по ключу. Группа закрывается (onComplete), если за idleTimeout
+     * в неё не пришло ни одного элемента или если групп стало больше maxGroups — тогда закрывается
+     * группа, дольше всех не получавшая элементов. Следующий элемент с тем же ключом откроет новую группу.
+     * Простой групп проверяется таймером Worker-а раз в idleTimeout по времени scheduler-а,
+     * поэтому группа закрывается и тогда, когда источник замолчал.
+     */
+    public static <T, K> Observable<GroupedObservable<K, T>> groupBy(Observable<T> source,
+                                                                      Function<? super T, ? extends K> keySelector,
+                                                                      int maxGroups, long idleTimeout, TimeUnit unit,
+                                                                      Scheduler scheduler) {
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+        }
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("idleTimeout >= 0 required but it was " + idleTimeout);
+        }
+        long idleNanos = unit.toNanos(idleTimeout);
+        return Observable.create(downstream ->
+                source.subscribe(new GroupByObserver<>(downstream, keySelector, maxGroups, idleNanos, scheduler)));
+    }
+
+    /**
+     * Группы хранятся в LinkedHashMap в порядке доступа: в голове всегда группа, дольше всех
+     * не получавшая элементов, поэтому вытеснение по простою и по числу групп смотрит только в голову.
+     * Карту меняют и источник, и таймер, поэтому она защищена блокировкой. Под ней группа только получает
+     * элемент в очередь или отметку завершения, а доставка подписчику группы (drain) идёт после неё,
+     * поэтому таймер не ждёт медленного подписчика группы, а источник — таймер. Внешний downstream
+     * вызывается только из потока источника. Отмена внешнего потока отменяет источник и завершает открытые группы.
+     */
+    static final class GroupByObserver<T, K> implements Observer<T>, Disposable, Runnable {
+        private final ObservableEmitter<GroupedObservable<K, T>> downstream;
+        private final Function<? super T, ? extends K> keySelector;
+        private final int maxGroups;
+        private final long idleNanos;
+        private final Scheduler scheduler;
+        private final Scheduler.Worker worker;
+        private final LinkedHashMap<K, Group<T>> groups = new LinkedHashMap<>(16, 0.75f, true);
+        private Disposable upstream;
+        private boolean done;
+        private volatile boolean disposed;
+
+        GroupByObserver(ObservableEmitter<GroupedObservable<K, T>> downstream,
+                        Function<? super T, ? extends K> keySelector, int maxGroups, long idleNanos,
+                        Scheduler scheduler) {
+            this.downstream = downstream;
+            this.keySelector = keySelector;
+            this.maxGroups = maxGroups;
+            this.idleNanos = idleNanos;
+            this.scheduler = scheduler;
+            this.worker = idleNanos > 0 ? scheduler.createWorker() : null;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+            if (worker != null) {
+                worker.schedulePeriodically(this, idleNanos, idleNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || disposed) {
+                return;
+            }
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (Throwable e) {
+                done = true;
+                upstream.dispose();
+                fail(e);
+                return;
+            }
+            Group<T> group;
+            Group<T> evicted = null;
+            boolean created = false;
+            synchronized (this) {
+                if (disposed) {
+                    return;
+                }
+                group = groups.get(key);
+                if (group == null || group.window.isCancelled()) {
+                    if (group != null) {
+                        groups.remove(key);
+                    }
+                    if (groups.size() == maxGroups) {
+                        evicted = evictEldest();
+                    }
+                    group = new Group<>(new UnicastWindow<>());
+                    groups.put(key, group);
+                    created = true;
+                }
+                group.lastAccess = now();
+                group.window.offer(item);
+            }
+            if (evicted != null) {
+                evicted.window.drain();
+            }
+            if (created) {
+                downstream.onNext(new GroupedObservable<>(key, group.window));
+            }
+            group.window.drain();
+        }
+
+        /**
+         * Тик таймера: выполняется в Worker-е и закрывает группы, простоявшие idleTimeout
+         */
+        @Override
+        public void run() {
+            List<Group<T>> idle = new ArrayList<>();
+            synchronized (this) {
+                long now = now();
+                Iterator<Group<T>> it = groups.values().iterator();
+                while (it.hasNext()) {
+                    Group<T> group = it.next();
+                    if (now - group.lastAccess < idleNanos) {
+                        break;
+                    }
+                    it.remove();
+                    group.window.complete();
+                    idle.add(group);
+                }
+            }
+            for (Group<T> group : idle) {
+                group.window.drain();
+            }
+        }
+
+        private long now() {
+            return idleNanos > 0 ? scheduler.now(TimeUnit.NANOSECONDS) : 0L;
+        }
+
+        /**
+         * Вызывается под блокировкой: завершённую группу вызывающий дренирует после неё
+         */
+        private Group<T> evictEldest() {
+            Iterator<Group<T>> it = groups.values().iterator();
+            Group<T> eldest = it.next();
+            it.remove();
+            eldest.window.complete();
+            return eldest;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            fail(t);
+        }
+
+        private void fail(Throwable t) {
+            for (Group<T> group : drainGroups()) {
+                group.window.onError(t);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Group<T> group : drainGroups()) {
+                group.window.onComplete();
+            }
+            downstream.onComplete();
+        }
+
+        private List<Group<T>> drainGroups() {
+            if (worker != null) {
+                worker.dispose();
+            }
+            List<Group<T>> list;
+            synchronized (this) {
+                list = new ArrayList<>(groups.values());
+                groups.clear();
+            }
+            return list;
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            for (Group<T> group : drainGroups()) {
+                group.window.onComplete();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class Group<T> {
+        final UnicastWindow<T> window;
+        long lastAccess;
+
+        Group(UnicastWindow<T> window) {
+            this.window = window;
+        }
+    }
+}
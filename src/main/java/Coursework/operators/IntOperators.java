@@ -0,0 +1,215 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.IntEmitter;
+import Coursework.core.IntObservable;
+import Coursework.core.IntObserver;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Операторы IntObservable. События приходят последовательно, поэтому флаги состояния — обычные поля.
+ */
+public final class IntOperators {
+    private IntOperators() {
+    }
+
+    public static IntObservable map(IntObservable source, IntUnaryOperator mapper) {
+        return IntObservable.create(downstream -> source.subscribe(new IntStage(downstream) {
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                int mapped;
+                try {
+                    mapped = mapper.applyAsInt(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+        }));
+    }
+
+    public static IntObservable filter(IntObservable source, IntPredicate predicate) {
+        return IntObservable.create(downstream -> source.subscribe(new IntStage(downstream) {
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        }));
+    }
+
+    public static IntObservable sum(IntObservable source) {
+        return IntObservable.create(downstream -> source.subscribe(new IntStage(downstream) {
+            private int sum;
+
+            @Override
+            public void onNext(int item) {
+                sum += item;
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                downstream.onNext(sum);
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(IntObservable source, IntFunction<? extends R> mapper) {
+        return Observable.create(downstream -> source.subscribe(new IntObserver() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                R mapped;
+                try {
+                    mapped = mapper.apply(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    public static <T> IntObservable fromObservable(Observable<T> source, ToIntFunction<? super T> mapper) {
+        return IntObservable.create(downstream -> source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                int mapped;
+                try {
+                    mapped = mapper.applyAsInt(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Общая часть промежуточной стадии: связь отмены с источником и завершение по ошибке
+     */
+    abstract static class IntStage implements IntObserver {
+        final IntEmitter downstream;
+        Disposable upstream;
+        boolean done;
+
+        IntStage(IntEmitter downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        final void fail(Throwable e) {
+            done = true;
+            upstream.dispose();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package Coursework.operators;
+
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+public final class IntervalOperator {
+    public static Observable<Long> interval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return Observable.create(emitter -> {
+            Scheduler.Worker worker = scheduler.createWorker();
+            emitter.setDisposable(worker);
+            worker.schedulePeriodically(new IntervalTask(emitter), initialDelay, period, unit);
+        });
+    }
+
+    /**
+     * Тик interval: запуски выполняются по очереди в одном Worker-е, поэтому счётчик — обычное поле
+     */
+    static final class IntervalTask implements Runnable {
+        private final ObservableEmitter<Long> emitter;
+        private long count;
+
+        IntervalTask(ObservableEmitter<Long> emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            if (!emitter.isDisposed()) {
+                emitter.onNext(count++);
+            }
+        }
+    }
+}
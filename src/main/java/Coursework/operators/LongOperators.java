@@ -0,0 +1,215 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.LongEmitter;
+import Coursework.core.LongObservable;
+import Coursework.core.LongObserver;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Операторы LongObservable. События приходят последовательно, поэтому флаги состояния — обычные поля.
+ */
+public final class LongOperators {
+    private LongOperators() {
+    }
+
+    public static LongObservable map(LongObservable source, LongUnaryOperator mapper) {
+        return LongObservable.create(downstream -> source.subscribe(new LongStage(downstream) {
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                long mapped;
+                try {
+                    mapped = mapper.applyAsLong(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+        }));
+    }
+
+    public static LongObservable filter(LongObservable source, LongPredicate predicate) {
+        return LongObservable.create(downstream -> source.subscribe(new LongStage(downstream) {
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                if (pass) {
+                    downstream.onNext(item);
+                }
+            }
+        }));
+    }
+
+    public static LongObservable sum(LongObservable source) {
+        return LongObservable.create(downstream -> source.subscribe(new LongStage(downstream) {
+            private long sum;
+
+            @Override
+            public void onNext(long item) {
+                sum += item;
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                downstream.onNext(sum);
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(LongObservable source, LongFunction<? extends R> mapper) {
+        return Observable.create(downstream -> source.subscribe(new LongObserver() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                R mapped;
+                try {
+                    mapped = mapper.apply(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    public static <T> LongObservable fromObservable(Observable<T> source, ToLongFunction<? super T> mapper) {
+        return LongObservable.create(downstream -> source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                long mapped;
+                try {
+                    mapped = mapper.applyAsLong(item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Общая часть промежуточной стадии: связь отмены с источником и завершение по ошибке
+     */
+    abstract static class LongStage implements LongObserver {
+        final LongEmitter downstream;
+        Disposable upstream;
+        boolean done;
+
+        LongStage(LongEmitter downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        final void fail(Throwable e) {
+            done = true;
+            upstream.dispose();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
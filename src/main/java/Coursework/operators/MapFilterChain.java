@@ -0,0 +1,152 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+import Coursework.core.Observer;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.OperatorMetrics;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Слитая цепочка соседних map/filter: вся цепочка подписывается на источник одним Observer-ом,
+ * который применяет стадии по очереди. Вместо отдельного Observable, эмиттера и флага ошибки
+ * на каждую стадию остаётся один проход по массиву функций на элемент.
+ */
+final class MapFilterChain<T, R> implements OnSubscribe<R> {
+    private final Observable<T> source;
+    private final Object[] stages;
+
+    private MapFilterChain(Observable<T> source, Object[] stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    static <T, R> Observable<R> map(Observable<T> source, Function<? super T, ? extends R> mapper) {
+        return append(source, mapper);
+    }
+
+    static <T> Observable<T> filter(Observable<T> source, Predicate<? super T> predicate) {
+        return append(source, new FilterStage(predicate));
+    }
+
+    /**
+     * Добавляет стадию к цепочке источника или начинает новую цепочку.
+     * Цепочки неизменяемы: промежуточный Observable можно подписывать независимо.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, R> Observable<R> append(Observable<T> source, Object stage) {
+        if (source.onSubscribe() instanceof MapFilterChain) {
+            MapFilterChain<Object, T> chain = (MapFilterChain<Object, T>) source.onSubscribe();
+            Object[] next = new Object[chain.stages.length + 1];
+            System.arraycopy(chain.stages, 0, next, 0, chain.stages.length);
+            next[chain.stages.length] = stage;
+            return Observable.create(new MapFilterChain<>(chain.source, next));
+        }
+        return Observable.create(new MapFilterChain<>(source, new Object[]{stage}));
+    }
+
+    @Override
+    public void call(ObservableEmitter<R> downstream) {
+        source.subscribe(new ChainObserver<>(downstream, stages));
+    }
+
+    /**
+     * Observer всей цепочки. События приходят последовательно, поэтому флаг done — обычное поле.
+     */
+    static final class ChainObserver<T, R> implements Observer<T> {
+        private final ObservableEmitter<R> downstream;
+        private final Object[] stages;
+        private final OperatorMetrics metrics = Metrics.ENABLED ? Metrics.operator("mapFilter") : null;
+        private Disposable upstream;
+        private boolean done;
+
+        ChainObserver(ObservableEmitter<R> downstream, Object[] stages) {
+            this.downstream = downstream;
+            this.stages = stages;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (Metrics.ENABLED) {
+                metrics.recordIn();
+            }
+            Object value = item;
+            try {
+                for (Object stage : stages) {
+                    if (stage instanceof FilterStage) {
+                        if (!((FilterStage) stage).test(value)) {
+                            if (Metrics.ENABLED) {
+                                metrics.recordDrop();
+                            }
+                            return;
+                        }
+                    } else {
+                        value = ((Function<Object, Object>) stage).apply(value);
+                    }
+                }
+            } catch (Throwable e) {
+                if (Metrics.ENABLED) {
+                    metrics.recordError();
+                }
+                done = true;
+                upstream.dispose();
+                downstream.onError(e);
+                return;
+            }
+            if (Metrics.ENABLED) {
+                metrics.recordOut();
+            }
+            downstream.onNext((R) value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * Обёртка, отличающая стадию filter от стадии map в общем массиве
+     */
+    static final class FilterStage {
+        private final Predicate<Object> predicate;
+
+        @SuppressWarnings("unchecked")
+        FilterStage(Predicate<?> predicate) {
+            this.predicate = (Predicate<Object>) predicate;
+        }
+
+        boolean test(Object value) {
+            return predicate.test(value);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Maybe;
+import Coursework.core.MaybeEmitter;
+import Coursework.core.MaybeObserver;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.core.Single;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.DisposableTask;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Операторы Maybe; устроены так же, как SingleOperators, с отдельной веткой для завершения без значения
+ */
+public final class MaybeOperators {
+    private MaybeOperators() {
+    }
+
+    public static <T, R> Maybe<R> map(Maybe<T> source, Function<? super T, ? extends R> mapper) {
+        return Maybe.create(downstream -> source.subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                R mapped;
+                try {
+                    mapped = mapper.apply(value);
+                } catch (Throwable e) {
+                    downstream.onError(e);
+                    return;
+                }
+                if (mapped == null) {
+                    downstream.onComplete();
+                } else {
+                    downstream.onSuccess(mapped);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static <T, R> Maybe<R> flatMap(Maybe<T> source, Function<? super T, ? extends Maybe<? extends R>> mapper) {
+        return Maybe.create(downstream -> source.subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                Maybe<? extends R> next;
+                try {
+                    next = mapper.apply(value);
+                } catch (Throwable e) {
+                    downstream.onError(e);
+                    return;
+                }
+                next.subscribe(new ForwardObserver<R>(downstream));
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static <R> Maybe<R> zip(Maybe<?>[] sources, Function<? super Object[], ? extends R> zipper) {
+        return Maybe.create(downstream -> {
+            if (sources.length == 0) {
+                downstream.onComplete();
+                return;
+            }
+            new ZipCoordinator<>(downstream, zipper, sources.length).subscribe(sources);
+        });
+    }
+
+    /**
+     * Как SingleOperators.subscribeOn: задача подписки заменяется Disposable-ом источника без прерывания потока
+     */
+    public static <T> Maybe<T> subscribeOn(Maybe<T> source, Scheduler scheduler) {
+        return Maybe.create(downstream -> {
+            DisposableTask task = new DisposableTask(() -> source.subscribe(new ForwardObserver<>(downstream)));
+            downstream.setDisposable(task);
+            scheduler.execute(task);
+        });
+    }
+
+    public static <T> Maybe<T> observeOn(Maybe<T> source, Scheduler scheduler) {
+        return Maybe.create(downstream -> source.subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                schedule(() -> downstream.onSuccess(value));
+            }
+
+            @Override
+            public void onComplete() {
+                schedule(downstream::onComplete);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                schedule(() -> downstream.onError(t));
+            }
+
+            private void schedule(Runnable delivery) {
+                DisposableTask task = new DisposableTask(delivery);
+                downstream.setDisposable(task);
+                scheduler.execute(task);
+            }
+        }));
+    }
+
+    public static <T> Single<T> toSingle(Maybe<T> source) {
+        return Single.create(downstream -> source.subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                downstream.onSuccess(value);
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onError(new NoSuchElementException("Maybe completed without a value"));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static <T> Observable<T> toObservable(Maybe<T> source) {
+        return Observable.create(downstream -> source.subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                downstream.onNext(value);
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * Первый элемент Observable; после него подписка на источник освобождается эмиттером Maybe
+     */
+    public static <T> Maybe<T> firstElement(Observable<T> source) {
+        return Maybe.create(downstream -> source.subscribe(new Observer<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                downstream.onSuccess(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    static final class ForwardObserver<T> implements MaybeObserver<T> {
+        private final MaybeEmitter<? super T> downstream;
+
+        ForwardObserver(MaybeEmitter<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            downstream.onSuccess(value);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+
+    /**
+     * Как SingleOperators.ZipCoordinator; завершение источника без значения, как и ошибка,
+     * обнуляет счётчик, отменяет остальные источники и завершает результат пустым
+     */
+    static final class ZipCoordinator<R> extends AtomicInteger implements Disposable {
+        private final MaybeEmitter<R> downstream;
+        private final Function<? super Object[], ? extends R> zipper;
+        private final ZipInner[] inners;
+        private final Object[] values;
+
+        ZipCoordinator(MaybeEmitter<R> downstream, Function<? super Object[], ? extends R> zipper, int count) {
+            super(count);
+            this.downstream = downstream;
+            this.zipper = zipper;
+            this.inners = new ZipInner[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new ZipInner(this, i);
+            }
+            this.values = new Object[count];
+        }
+
+        void subscribe(Maybe<?>[] sources) {
+            downstream.setDisposable(this);
+            for (int i = 0; i < sources.length && get() > 0; i++) {
+                sources[i].subscribe(inners[i]);
+            }
+        }
+
+        void innerSuccess(int index, Object value) {
+            values[index] = value;
+            if (decrementAndGet() != 0) {
+                return;
+            }
+            R result;
+            try {
+                result = zipper.apply(values.clone());
+            } catch (Throwable e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        void innerComplete() {
+            if (getAndSet(0) > 0) {
+                disposeInners();
+                downstream.onComplete();
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (getAndSet(0) <= 0) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            disposeInners();
+            downstream.onError(t);
+        }
+
+        private void disposeInners() {
+            for (ZipInner inner : inners) {
+                inner.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (getAndSet(0) > 0) {
+                disposeInners();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() <= 0;
+        }
+    }
+
+    static final class ZipInner extends AtomicReference<Disposable> implements MaybeObserver<Object>, Disposable {
+        private final ZipCoordinator<?> parent;
+        private final int index;
+
+        ZipInner(ZipCoordinator<?> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onSuccess(Object value) {
+            parent.innerSuccess(index, value);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package Coursework.operators;
+
+import Coursework.core.ConnectableObservable;
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.OnSubscribe;
+import Coursework.internal.DisposableHelper;
+import Coursework.subjects.Subject;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public final class MulticastOperator {
+    /**
+     * ConnectableObservable поверх Subject-а: подписчики подписываются на Subject,
+     * а connect() подписывает Subject на источник. subjectFactory определяет поведение:
+     * PublishSubject для publish(), ReplaySubject для replay().
+     */
+    public static <T> ConnectableObservable<T> multicast(Observable<T> source,
+                                                         Supplier<? extends Subject<T>> subjectFactory) {
+        return new MulticastObservable<>(new State<>(source, subjectFactory));
+    }
+
+    static final class MulticastObservable<T> extends ConnectableObservable<T> {
+        private final State<T> state;
+
+        MulticastObservable(State<T> state) {
+            super(state);
+            this.state = state;
+        }
+
+        @Override
+        public Disposable connect() {
+            return state.connect();
+        }
+    }
+
+    /**
+     * Текущее подключение. Завершённое подключение остаётся текущим, чтобы поздние подписчики
+     * получили его финальное событие (и сохранённые элементы у replay); connect() заменяет его новым.
+     */
+    static final class State<T> extends AtomicReference<Connection<T>> implements OnSubscribe<T> {
+        private final Observable<T> source;
+        private final Supplier<? extends Subject<T>> subjectFactory;
+
+        State(Observable<T> source, Supplier<? extends Subject<T>> subjectFactory) {
+            this.source = source;
+            this.subjectFactory = subjectFactory;
+        }
+
+        @Override
+        public void call(ObservableEmitter<T> emitter) {
+            for (;;) {
+                Connection<T> current = get();
+                if (current == null) {
+                    Connection<T> next = new Connection<>(this, subjectFactory.get());
+                    if (!compareAndSet(null, next)) {
+                        continue;
+                    }
+                    current = next;
+                }
+                current.subject.onSubscribe().call(emitter);
+                return;
+            }
+        }
+
+        Disposable connect() {
+            for (;;) {
+                Connection<T> current = get();
+                if (current == null || current.done) {
+                    Connection<T> next = new Connection<>(this, subjectFactory.get());
+                    if (!compareAndSet(current, next)) {
+                        continue;
+                    }
+                    current = next;
+                }
+                if (current.connected.compareAndSet(false, true)) {
+                    source.subscribe(current);
+                }
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Подписка Subject-а на источник; dispose() отключает источник и сбрасывает состояние
+     */
+    static final class Connection<T> extends AtomicReference<Disposable> implements Observer<T>, Disposable {
+        private final State<T> state;
+        final Subject<T> subject;
+        final AtomicBoolean connected = new AtomicBoolean();
+        volatile boolean done;
+
+        Connection(State<T> state, Subject<T> subject) {
+            this.state = state;
+            this.subject = subject;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            subject.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            subject.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            subject.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (DisposableHelper.dispose(this)) {
+                state.compareAndSet(this, null);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.SpscLinkedArrayQueue;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.OperatorMetrics;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ObserveOnOperator {
+    public static <T> Observable<T> observeOn(Observable<T> source, Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(new OnSubscribe<T>() {
+            @Override
+            public void call(ObservableEmitter<T> downstream) {
+                source.subscribe(new ObserveOnObserver<>(downstream, scheduler, bufferSize));
+            }
+        });
+    }
+
+    /**
+     * Складывает события в очередь и доставляет их одной задачей-дренажом.
+     * Счётчик wip гарантирует, что одновременно работает не более одного дренажа,
+     * поэтому доставка последовательна и упорядочена даже на многопоточном Scheduler-е.
+     */
+    static final class ObserveOnObserver<T> extends AtomicInteger implements Observer<T>, Disposable, Runnable {
+        private final ObservableEmitter<T> downstream;
+        private final Scheduler.Worker worker;
+        private final int batchSize;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final OperatorMetrics metrics = Metrics.ENABLED ? Metrics.operator("observeOn") : null;
+
+        private Disposable upstream;
+        private Throwable error;
+        private volatile boolean done;
+        private volatile boolean disposed;
+
+        ObserveOnObserver(ObservableEmitter<T> downstream, Scheduler scheduler, int batchSize) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.batchSize = batchSize;
+            this.queue = new SpscLinkedArrayQueue<>(batchSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (Metrics.ENABLED) {
+                metrics.recordIn();
+                metrics.enqueued();
+            }
+            queue.offer(item);
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            if (Metrics.ENABLED) {
+                metrics.recordError();
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        /**
+         * Отменяет источник и очищает очередь; уже запланированный дренаж завершится без доставки
+         */
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                clearQueue();
+            }
+        }
+
+        private void clearQueue() {
+            if (Metrics.ENABLED) {
+                metrics.dequeued(queue.size());
+            }
+            queue.clear();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int emitted = 0;
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        clearQueue();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        Throwable t = error;
+                        try {
+                            if (t != null) {
+                                downstream.onError(t);
+                            } else {
+                                downstream.onComplete();
+                            }
+                        } finally {
+                            worker.dispose();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    if (Metrics.ENABLED) {
+                        metrics.dequeued(1);
+                        metrics.recordOut();
+                    }
+                    downstream.onNext(item);
+                    // Пачка обработана: ставим дренаж в конец очереди Worker-а, уступая поток другим задачам.
+                    // wip остаётся ненулевым, поэтому параллельный дренаж не запустится.
+                    if (++emitted == batchSize) {
+                        worker.schedule(this);
+                        return;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.internal.DisposableHelper;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Замена ошибки источника запасным потоком или значением
+ */
+public final class OnErrorOperator {
+    /**
+     * После ошибки подписывается на поток, который вернул resume; элементы до ошибки уже доставлены
+     */
+    public static <T> Observable<T> onErrorResumeNext(Observable<T> source,
+                                                      Function<? super Throwable, ? extends Observable<? extends T>> resume) {
+        return Observable.create(downstream -> source.subscribe(new ResumeObserver<>(downstream, resume)));
+    }
+
+    /**
+     * После ошибки выдаёт значение, которое вернул valueSupplier, и завершает поток
+     */
+    public static <T> Observable<T> onErrorReturn(Observable<T> source,
+                                                  Function<? super Throwable, ? extends T> valueSupplier) {
+        return onErrorResumeNext(source, error -> Observable.just(valueSupplier.apply(error)));
+    }
+
+    /**
+     * Подписка на источник и на запасной поток хранится в одном поле: отмена доходит до того,
+     * на который подписаны сейчас
+     */
+    static final class ResumeObserver<T> extends AtomicReference<Disposable> implements Observer<T>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final Function<? super Throwable, ? extends Observable<? extends T>> resume;
+        private boolean resumed;
+
+        ResumeObserver(ObservableEmitter<T> downstream,
+                       Function<? super Throwable, ? extends Observable<? extends T>> resume) {
+            this.downstream = downstream;
+            this.resume = resume;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (!resumed) {
+                downstream.setDisposable(this);
+            }
+            DisposableHelper.replace(this, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (resumed) {
+                downstream.onError(t);
+                return;
+            }
+            resumed = true;
+            Observable<? extends T> next;
+            try {
+                next = resume.apply(t);
+            } catch (Throwable e) {
+                e.addSuppressed(t);
+                downstream.onError(e);
+                return;
+            }
+            next.subscribe(this);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
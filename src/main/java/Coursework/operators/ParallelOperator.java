@@ -0,0 +1,493 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.SpscLinkedArrayQueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public final class ParallelOperator {
+    /**
+     * Метка отфильтрованного элемента: в упорядоченном режиме она занимает место элемента,
+     * чтобы слияние знало, что ждать от этого рельса больше нечего
+     */
+    private static final Object SKIP = new Object();
+    private static final Object NONE = new Object();
+
+    /**
+     * Стадии рельсов хранятся массивом, как в MapFilterChain: map — Function, filter — FilterStage,
+     * reduce — ReduceStage. Каждая стадия добавляется к копии массива.
+     */
+    public static Object[] map(Object[] stages, Function<?, ?> mapper) {
+        return append(stages, mapper);
+    }
+
+    public static Object[] filter(Object[] stages, Predicate<?> predicate) {
+        return append(stages, new MapFilterChain.FilterStage(predicate));
+    }
+
+    /**
+     * Свёртка каждого рельса; initial == null означает свёртку без начального значения
+     */
+    public static Object[] reduce(Object[] stages, Supplier<?> initial, BiFunction<?, ?, ?> reducer) {
+        return append(stages, new ReduceStage(initial, reducer));
+    }
+
+    private static Object[] append(Object[] stages, Object stage) {
+        Object[] next = new Object[stages.length + 1];
+        System.arraycopy(stages, 0, next, 0, stages.length);
+        next[stages.length] = stage;
+        return next;
+    }
+
+    /**
+     * Делит источник по кругу на parallelism рельсов, выполняет стадии в Worker-ах scheduler-а
+     * (или в потоке источника, если scheduler == null) и сливает результаты обратно
+     */
+    public static <T> Observable<T> sequential(Observable<?> source, int parallelism, Scheduler scheduler,
+                                              int prefetch, Object[] stages, boolean preserveOrder) {
+        return Observable.create(downstream -> source.subscribe(
+                new ParallelObserver<T>(downstream, parallelism, scheduler, prefetch, stages, preserveOrder)));
+    }
+
+    /**
+     * Сливает отсортированные списки рельсов в один отсортированный поток
+     */
+    public static <T> Observable<T> mergeSorted(Observable<List<T>> sortedRails, Comparator<? super T> comparator) {
+        return Observable.create(downstream -> sortedRails.subscribe(new Observer<List<T>>() {
+            private final List<List<T>> rails = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(List<T> item) {
+                rails.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(
+                        Math.max(1, rails.size()), (a, b) -> comparator.compare(a.head(), b.head()));
+                for (List<T> rail : rails) {
+                    if (!rail.isEmpty()) {
+                        heads.add(new Cursor<>(rail));
+                    }
+                }
+                while (!heads.isEmpty() && !downstream.isDisposed()) {
+                    Cursor<T> cursor = heads.poll();
+                    downstream.onNext(cursor.head());
+                    if (cursor.advance()) {
+                        heads.add(cursor);
+                    }
+                }
+                downstream.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Сворачивает частичные результаты рельсов в один элемент
+     */
+    public static <T> Observable<T> reduceAll(Observable<T> partials, BinaryOperator<T> reducer) {
+        return Observable.create(downstream -> partials.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private T value;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    value = value == null ? item : reducer.apply(value, item);
+                } catch (Throwable e) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (value != null) {
+                        downstream.onNext(value);
+                    }
+                    downstream.onComplete();
+                }
+            }
+        }));
+    }
+
+    static final class ReduceStage {
+        final Supplier<Object> initial;
+        final BiFunction<Object, Object, Object> reducer;
+
+        @SuppressWarnings("unchecked")
+        ReduceStage(Supplier<?> initial, BiFunction<?, ?, ?> reducer) {
+            this.initial = (Supplier<Object>) initial;
+            this.reducer = (BiFunction<Object, Object, Object>) reducer;
+        }
+    }
+
+    static final class Cursor<T> {
+        private final List<T> list;
+        private int index;
+
+        Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        T head() {
+            return list.get(index);
+        }
+
+        boolean advance() {
+            return ++index < list.size();
+        }
+    }
+
+    /**
+     * Раздаёт элементы источника по рельсам и сливает их выходные очереди.
+     * Слияние выполняет тот поток, который захватил счётчик wip, как в flatMap;
+     * в упорядоченном режиме элементы забираются из рельсов в том же круговом порядке, в каком раздавались.
+     */
+    static final class ParallelObserver<T> extends AtomicInteger implements Observer<Object>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final Rail[] rails;
+        private final boolean preserveOrder;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private Disposable upstream;
+        private int nextRail;
+        private int orderedCursor;
+        volatile boolean cancelled;
+
+        ParallelObserver(ObservableEmitter<T> downstream, int parallelism, Scheduler scheduler, int prefetch,
+                         Object[] stages, boolean preserveOrder) {
+            this.downstream = downstream;
+            this.preserveOrder = preserveOrder;
+            this.rails = new Rail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new Rail(this, scheduler == null ? null : scheduler.createWorker(), prefetch, stages);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            Rail rail = rails[nextRail];
+            if (++nextRail == rails.length) {
+                nextRail = 0;
+            }
+            rail.input.offer(item);
+            rail.schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            railError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            for (Rail rail : rails) {
+                rail.done = true;
+                rail.schedule();
+            }
+        }
+
+        void railError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                drain();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.dispose();
+            for (Rail rail : rails) {
+                rail.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (preserveOrder ? drainOrdered() : drainUnordered()) {
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean drainUnordered() {
+            for (;;) {
+                if (checkTerminated()) {
+                    return true;
+                }
+                boolean allFinished = true;
+                boolean emitted = false;
+                for (Rail rail : rails) {
+                    boolean finished = rail.finished;
+                    Object value;
+                    while ((value = rail.output.poll()) != null) {
+                        if (checkTerminated()) {
+                            return true;
+                        }
+                        downstream.onNext((T) value);
+                        emitted = true;
+                    }
+                    allFinished &= finished;
+                }
+                if (allFinished) {
+                    complete();
+                    return true;
+                }
+                if (!emitted) {
+                    return false;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean drainOrdered() {
+            for (;;) {
+                if (checkTerminated()) {
+                    return true;
+                }
+                Rail rail = rails[orderedCursor];
+                boolean finished = rail.finished;
+                Object value = rail.output.poll();
+                if (value == null) {
+                    // Элементы раздавались по кругу: если ожидаемый рельс исчерпан, дальше элементов нет
+                    if (finished) {
+                        complete();
+                        return true;
+                    }
+                    return false;
+                }
+                if (++orderedCursor == rails.length) {
+                    orderedCursor = 0;
+                }
+                if (value != SKIP) {
+                    downstream.onNext((T) value);
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                downstream.onError(t);
+                dispose();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Рельсы останавливаются после доставки события: Worker может оказаться текущим потоком
+         */
+        private void complete() {
+            downstream.onComplete();
+            dispose();
+        }
+    }
+
+    /**
+     * Рельс: входная очередь от источника, стадии и выходная очередь для слияния.
+     * Рельс обрабатывает элементы пачками до prefetch штук за один запуск задачи
+     * и будит слияние один раз на пачку, а не на каждый элемент.
+     */
+    static final class Rail extends AtomicInteger implements Runnable {
+        private final ParallelObserver<?> parent;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final Object[] stages;
+        private final Object[] accumulators;
+        final SpscLinkedArrayQueue<Object> input;
+        final SpscLinkedArrayQueue<Object> output;
+        volatile boolean done;
+        volatile boolean finished;
+
+        Rail(ParallelObserver<?> parent, Scheduler.Worker worker, int prefetch, Object[] stages) {
+            this.parent = parent;
+            this.worker = worker;
+            this.prefetch = prefetch;
+            this.stages = stages;
+            this.accumulators = new Object[stages.length];
+            this.input = new SpscLinkedArrayQueue<>(prefetch);
+            this.output = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                if (worker != null) {
+                    worker.schedule(this);
+                } else {
+                    run();
+                }
+            }
+        }
+
+        void dispose() {
+            if (worker != null) {
+                worker.dispose();
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int processed = 0;
+            for (;;) {
+                for (;;) {
+                    if (parent.cancelled) {
+                        input.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    Object item = input.poll();
+                    if (item == null) {
+                        if (d) {
+                            try {
+                                flush();
+                            } catch (Throwable e) {
+                                parent.railError(e);
+                                return;
+                            }
+                            finished = true;
+                            parent.drain();
+                            return;
+                        }
+                        break;
+                    }
+                    try {
+                        push(item, 0);
+                    } catch (Throwable e) {
+                        parent.railError(e);
+                        return;
+                    }
+                    // Пачка обработана: отдаём результаты и уступаем поток Worker-а, wip остаётся ненулевым
+                    if (++processed == prefetch && worker != null) {
+                        parent.drain();
+                        worker.schedule(this);
+                        return;
+                    }
+                }
+                parent.drain();
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void push(Object value, int from) {
+            for (int i = from; i < stages.length; i++) {
+                Object stage = stages[i];
+                if (stage instanceof MapFilterChain.FilterStage) {
+                    if (!((MapFilterChain.FilterStage) stage).test(value)) {
+                        if (parent.preserveOrder) {
+                            output.offer(SKIP);
+                        }
+                        return;
+                    }
+                } else if (stage instanceof ReduceStage) {
+                    ReduceStage reduce = (ReduceStage) stage;
+                    Object acc = accumulators[i];
+                    if (acc == null) {
+                        acc = reduce.initial != null ? reduce.initial.get() : NONE;
+                    }
+                    accumulators[i] = acc == NONE ? value : reduce.reducer.apply(acc, value);
+                    return;
+                } else {
+                    value = ((Function<Object, Object>) stage).apply(value);
+                }
+            }
+            output.offer(value);
+        }
+
+        /**
+         * Источник завершён: результаты свёрток проходят через стадии, стоящие после них
+         */
+        private void flush() {
+            for (int i = 0; i < stages.length; i++) {
+                if (stages[i] instanceof ReduceStage) {
+                    ReduceStage reduce = (ReduceStage) stages[i];
+                    Object acc = accumulators[i];
+                    accumulators[i] = null;
+                    if (acc == null && reduce.initial != null) {
+                        acc = reduce.initial.get();
+                    }
+                    if (acc != null && acc != NONE) {
+                        push(acc, i + 1);
+                    }
+                }
+            }
+        }
+    }
+}
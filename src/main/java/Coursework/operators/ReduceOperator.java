@@ -0,0 +1,113 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+public final class ReduceOperator {
+    /**
+     * Сворачивает элементы попарно; пустой поток завершается без элементов
+     */
+    public static <T> Observable<T> reduce(Observable<T> source, BinaryOperator<T> reducer) {
+        return Observable.create(downstream -> source.subscribe(new ReduceObserver<>(downstream, null, false,
+                (acc, item) -> acc == null ? item : reducer.apply(acc, item))));
+    }
+
+    /**
+     * Сворачивает элементы начиная с seed; пустой поток отдаёт сам seed.
+     * seed общий для всех подписок, поэтому он должен быть неизменяемым, иначе используйте collect.
+     */
+    public static <T, R> Observable<R> reduce(Observable<T> source, R seed,
+                                              BiFunction<R, ? super T, R> reducer) {
+        return Observable.create(downstream -> source.subscribe(new ReduceObserver<>(downstream, seed, true, reducer)));
+    }
+
+    /**
+     * Собирает элементы в изменяемый контейнер; контейнер создаётся заново для каждой подписки
+     */
+    public static <T, R> Observable<R> collect(Observable<T> source, Supplier<? extends R> supplier,
+                                               BiConsumer<? super R, ? super T> collector) {
+        return Observable.create(downstream -> {
+            R container = supplier.get();
+            source.subscribe(new ReduceObserver<T, R>(downstream, container, true, (acc, item) -> {
+                collector.accept(acc, item);
+                return acc;
+            }));
+        });
+    }
+
+    public static <T> Observable<Long> count(Observable<T> source) {
+        return reduce(source, 0L, (count, item) -> count + 1);
+    }
+
+    /**
+     * Хранит накопленное значение и отдаёт его один раз при завершении источника
+     */
+    static final class ReduceObserver<T, R> implements Observer<T> {
+        private final ObservableEmitter<R> downstream;
+        private final BiFunction<R, ? super T, R> reducer;
+        private final boolean emitEmpty;
+        private Disposable upstream;
+        private R value;
+        private boolean done;
+
+        ReduceObserver(ObservableEmitter<R> downstream, R initial, boolean emitEmpty,
+                       BiFunction<R, ? super T, R> reducer) {
+            this.downstream = downstream;
+            this.value = initial;
+            this.emitEmpty = emitEmpty;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                value = reducer.apply(value, item);
+            } catch (Throwable e) {
+                done = true;
+                value = null;
+                upstream.dispose();
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            value = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            R v = value;
+            value = null;
+            if (v != null || emitEmpty) {
+                downstream.onNext(v);
+            }
+            downstream.onComplete();
+        }
+    }
+}
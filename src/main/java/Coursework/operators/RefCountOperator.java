@@ -0,0 +1,114 @@
+package Coursework.operators;
+
+import Coursework.core.ConnectableObservable;
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.OnSubscribe;
+import Coursework.internal.DisposableHelper;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class RefCountOperator {
+    public static <T> Observable<T> refCount(ConnectableObservable<T> source) {
+        return Observable.create(new RefCount<>(source));
+    }
+
+    /**
+     * Считает подписчиков: первый подключает источник, последний отписавшийся отключает.
+     * Счётчик меняется под блокировкой, потому что подключение и отключение должны быть согласованы
+     * с ним; сами события через эту блокировку не проходят.
+     */
+    static final class RefCount<T> implements OnSubscribe<T> {
+        private final ConnectableObservable<T> source;
+        private RefConnection connection;
+
+        RefCount(ConnectableObservable<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void call(ObservableEmitter<T> emitter) {
+            RefConnection conn;
+            boolean connect;
+            synchronized (this) {
+                conn = connection;
+                if (conn == null) {
+                    conn = new RefConnection();
+                    connection = conn;
+                }
+                connect = ++conn.subscribers == 1;
+            }
+            source.subscribe(new RefCountObserver<>(emitter, this, conn));
+            if (connect) {
+                DisposableHelper.set(conn, source.connect());
+            }
+        }
+
+        void release(RefConnection conn) {
+            synchronized (this) {
+                if (--conn.subscribers != 0 || connection != conn) {
+                    return;
+                }
+                connection = null;
+            }
+            DisposableHelper.dispose(conn);
+        }
+    }
+
+    static final class RefConnection extends AtomicReference<Disposable> {
+        int subscribers;
+    }
+
+    /**
+     * Подписчик общего потока; его отмена или завершение уменьшает счётчик ровно один раз
+     */
+    static final class RefCountObserver<T> extends AtomicBoolean implements Observer<T>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final RefCount<T> parent;
+        private final RefConnection connection;
+        private Disposable upstream;
+
+        RefCountObserver(ObservableEmitter<T> downstream, RefCount<T> parent, RefConnection connection) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.connection = connection;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                upstream.dispose();
+                parent.release(connection);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.DisposableHelper;
+import Coursework.subjects.PublishSubject;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Повторная подписка на источник после ошибки (retry) или завершения (repeat)
+ */
+public final class RetryOperator {
+    /**
+     * Переподписывается после ошибки не больше times раз, пока predicate пропускает ошибку
+     */
+    public static <T> Observable<T> retry(Observable<T> source, long times, Predicate<? super Throwable> predicate) {
+        checkTimes(times);
+        return Observable.create(downstream -> new RetryObserver<>(downstream, source, times, predicate).start());
+    }
+
+    /**
+     * Переподписывается после завершения, пока источник не пройдёт times раз
+     */
+    public static <T> Observable<T> repeat(Observable<T> source, long times) {
+        checkTimes(times);
+        return Observable.create(downstream -> {
+            if (times == 0) {
+                downstream.onComplete();
+                return;
+            }
+            new RepeatObserver<>(downstream, source, times - 1).start();
+        });
+    }
+
+    /**
+     * Ошибки источника передаются в handler как Observable; каждый элемент результата handler-а
+     * переподписывает источник, его завершение или ошибка завершают поток
+     */
+    public static <T> Observable<T> retryWhen(Observable<T> source,
+                                              Function<? super Observable<Throwable>, ? extends Observable<?>> handler) {
+        return Observable.create(downstream -> {
+            PublishSubject<Throwable> errors = PublishSubject.create();
+            Observable<?> trigger = handler.apply(errors);
+            WhenObserver<T> observer = new WhenObserver<>(downstream, source, errors);
+            downstream.setDisposable(observer);
+            trigger.subscribe(observer.trigger);
+            observer.subscribeNext();
+        });
+    }
+
+    /**
+     * Переподписка с экспоненциальной задержкой: перед попыткой n (с нуля) ждём случайное время
+     * в диапазоне [d / 2, d], где d = min(maxDelay, initialDelay * 2^n). Разброс не даёт клиентам,
+     * упавшим одновременно, повторять запросы синхронно. Счётчик попыток сбрасывается после
+     * каждого полученного элемента, поэтому долгоживущий поток не исчерпывает попытки со временем.
+     */
+    public static <T> Observable<T> retryWithBackoff(Observable<T> source, long maxRetries,
+                                                     long initialDelay, long maxDelay, TimeUnit unit,
+                                                     Scheduler scheduler) {
+        checkTimes(maxRetries);
+        if (initialDelay <= 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("0 < initialDelay <= maxDelay required but it was "
+                    + initialDelay + ", " + maxDelay);
+        }
+        return Observable.create(downstream -> new BackoffObserver<>(downstream, source, maxRetries,
+                unit.toNanos(initialDelay), unit.toNanos(maxDelay), scheduler.createWorker()).start());
+    }
+
+    private static void checkTimes(long times) {
+        if (times < 0) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+    }
+
+    /**
+     * Основа операторов повторной подписки. Один Observer переиспользуется для всех подписок;
+     * счётчик wip превращает переподписку из onError/onComplete синхронного источника в цикл,
+     * чтобы стек не рос с числом попыток.
+     */
+    abstract static class ResubscribeObserver<T> extends AtomicInteger implements Observer<T>, Disposable {
+        final ObservableEmitter<T> downstream;
+        private final Observable<T> source;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+        ResubscribeObserver(ObservableEmitter<T> downstream, Observable<T> source) {
+            this.downstream = downstream;
+            this.source = source;
+        }
+
+        final void start() {
+            downstream.setDisposable(this);
+            subscribeNext();
+        }
+
+        final void subscribeNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (isDisposed()) {
+                    return;
+                }
+                source.subscribe(this);
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            // Предыдущая подписка уже завершилась, освобождать её не нужно
+            DisposableHelper.replace(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(upstream.get());
+        }
+    }
+
+    static final class RetryObserver<T> extends ResubscribeObserver<T> {
+        private final Predicate<? super Throwable> predicate;
+        private long remaining;
+
+        RetryObserver(ObservableEmitter<T> downstream, Observable<T> source, long times,
+                      Predicate<? super Throwable> predicate) {
+            super(downstream, source);
+            this.remaining = times;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (remaining == 0) {
+                downstream.onError(t);
+                return;
+            }
+            boolean retry;
+            try {
+                retry = predicate.test(t);
+            } catch (Throwable e) {
+                e.addSuppressed(t);
+                downstream.onError(e);
+                return;
+            }
+            if (!retry) {
+                downstream.onError(t);
+                return;
+            }
+            if (remaining != Long.MAX_VALUE) {
+                remaining--;
+            }
+            subscribeNext();
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+
+    static final class RepeatObserver<T> extends ResubscribeObserver<T> {
+        private long remaining;
+
+        RepeatObserver(ObservableEmitter<T> downstream, Observable<T> source, long times) {
+            super(downstream, source);
+            this.remaining = times;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (remaining == 0) {
+                downstream.onComplete();
+                return;
+            }
+            if (remaining != Long.MAX_VALUE) {
+                remaining--;
+            }
+            subscribeNext();
+        }
+    }
+
+    static final class BackoffObserver<T> extends ResubscribeObserver<T> {
+        private final long maxRetries;
+        private final long initialDelayNanos;
+        private final long maxDelayNanos;
+        private final Scheduler.Worker worker;
+        private long attempt;
+
+        BackoffObserver(ObservableEmitter<T> downstream, Observable<T> source, long maxRetries,
+                        long initialDelayNanos, long maxDelayNanos, Scheduler.Worker worker) {
+            super(downstream, source);
+            this.maxRetries = maxRetries;
+            this.initialDelayNanos = initialDelayNanos;
+            this.maxDelayNanos = maxDelayNanos;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onNext(T item) {
+            attempt = 0;
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (attempt == maxRetries) {
+                worker.dispose();
+                downstream.onError(t);
+                return;
+            }
+            long delay = delayNanos(attempt++);
+            worker.schedule(this::subscribeNext, delay, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onComplete() {
+            worker.dispose();
+            downstream.onComplete();
+        }
+
+        private long delayNanos(long attempt) {
+            long delay = attempt >= Long.numberOfLeadingZeros(initialDelayNanos) - 1
+                    ? maxDelayNanos
+                    : Math.min(maxDelayNanos, initialDelayNanos << attempt);
+            long half = delay >> 1;
+            return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            worker.dispose();
+        }
+    }
+
+    /**
+     * Источник и trigger могут завершить поток из разных потоков, поэтому терминальное событие
+     * разыгрывается через флаг once
+     */
+    static final class WhenObserver<T> extends ResubscribeObserver<T> {
+        private final PublishSubject<Throwable> errors;
+        private final AtomicBoolean once = new AtomicBoolean();
+        final TriggerObserver trigger = new TriggerObserver();
+
+        WhenObserver(ObservableEmitter<T> downstream, Observable<T> source, PublishSubject<Throwable> errors) {
+            super(downstream, source);
+            this.errors = errors;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            errors.onNext(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (once.compareAndSet(false, true)) {
+                trigger.dispose();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            trigger.dispose();
+        }
+
+        final class TriggerObserver extends AtomicReference<Disposable> implements Observer<Object>, Disposable {
+            @Override
+            public void onSubscribe(Disposable d) {
+                DisposableHelper.setOnce(this, d);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                subscribeNext();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (once.compareAndSet(false, true)) {
+                    WhenObserver.super.dispose();
+                    downstream.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (once.compareAndSet(false, true)) {
+                    WhenObserver.super.dispose();
+                    downstream.onComplete();
+                }
+            }
+
+            @Override
+            public void dispose() {
+                DisposableHelper.dispose(this);
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return DisposableHelper.isDisposed(get());
+            }
+        }
+    }
+}
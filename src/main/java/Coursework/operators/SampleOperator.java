@@ -0,0 +1,95 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class SampleOperator {
+    public static <T> Observable<T> sample(Observable<T> source, long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return Observable.create(downstream ->
+                source.subscribe(new SampleObserver<>(downstream, period, unit, scheduler)));
+    }
+
+    /**
+     * Раз в period отправляет последний пришедший элемент, если за период был хотя бы один.
+     * Последний элемент источника отправляется перед onComplete.
+     */
+    static final class SampleObserver<T> extends AtomicReference<T> implements Observer<T>, Disposable, Runnable {
+        private final ObservableEmitter<T> downstream;
+        private final long period;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+
+        private Disposable upstream;
+        private volatile boolean disposed;
+
+        SampleObserver(ObservableEmitter<T> downstream, long period, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.period = period;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+            worker.schedulePeriodically(this, period, period, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            lazySet(item);
+        }
+
+        /**
+         * Тик таймера: выполняется в Worker-е
+         */
+        @Override
+        public void run() {
+            T item = getAndSet(null);
+            if (item != null) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            worker.schedule(() -> {
+                lazySet(null);
+                downstream.onError(t);
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            worker.schedule(() -> {
+                run();
+                downstream.onComplete();
+            });
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Источники из одного элемента или без элементов с укороченной подпиской: вместо эмиттера
+ * Observable.create подписчик получает один объект ScalarDisposable (а пустой поток — общий
+ * экземпляр), без проверок на null, CAS и освобождения ресурсов при завершении
+ */
+public final class ScalarOperator {
+    private static final Observable<Object> EMPTY = new EmptyObservable();
+
+    /**
+     * Disposable пустого потока: событий после onSubscribe уже не будет, отменять нечего
+     */
+    static final Disposable EMPTY_DISPOSABLE = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return false;
+        }
+    };
+
+    private ScalarOperator() {
+    }
+
+    public static <T> Observable<T> just(T value) {
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        return ObservablePlugins.onAssembly(new JustObservable<>(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> empty() {
+        return ObservablePlugins.onAssembly((Observable<T>) EMPTY);
+    }
+
+    /**
+     * Вызывает callable при каждой подписке; null даёт пустой поток, исключение — onError
+     */
+    public static <T> Observable<T> fromCallable(Callable<? extends T> callable) {
+        return ObservablePlugins.onAssembly(new CallableObservable<>(callable));
+    }
+
+    static final class JustObservable<T> extends Observable<T> {
+        private final T value;
+
+        JustObservable(T value) {
+            super(emitter -> {
+                emitter.onNext(value);
+                emitter.onComplete();
+            });
+            this.value = value;
+        }
+
+        @Override
+        public Disposable subscribe(Observer<? super T> observer) {
+            ScalarDisposable d = new ScalarDisposable();
+            observer.onSubscribe(d);
+            if (d.disposed) {
+                return d;
+            }
+            try {
+                observer.onNext(value);
+            } catch (Throwable e) {
+                fail(observer, d, e);
+                return d;
+            }
+            complete(observer, d);
+            return d;
+        }
+    }
+
+    static final class EmptyObservable extends Observable<Object> {
+        EmptyObservable() {
+            super(emitter -> emitter.onComplete());
+        }
+
+        @Override
+        public Disposable subscribe(Observer<? super Object> observer) {
+            observer.onSubscribe(EMPTY_DISPOSABLE);
+            try {
+                observer.onComplete();
+            } catch (Throwable e) {
+                ObservablePlugins.onError(e);
+            }
+            return EMPTY_DISPOSABLE;
+        }
+    }
+
+    static final class CallableObservable<T> extends Observable<T> {
+        private final Callable<? extends T> callable;
+
+        CallableObservable(Callable<? extends T> callable) {
+            super(emitter -> {
+                T value;
+                try {
+                    value = callable.call();
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                if (value != null) {
+                    emitter.onNext(value);
+                }
+                emitter.onComplete();
+            });
+            this.callable = callable;
+        }
+
+        @Override
+        public Disposable subscribe(Observer<? super T> observer) {
+            ScalarDisposable d = new ScalarDisposable();
+            observer.onSubscribe(d);
+            if (d.disposed) {
+                return d;
+            }
+            try {
+                T value = callable.call();
+                if (value != null && !d.disposed) {
+                    observer.onNext(value);
+                }
+            } catch (Throwable e) {
+                fail(observer, d, e);
+                return d;
+            }
+            complete(observer, d);
+            return d;
+        }
+    }
+
+    /**
+     * Как эмиттер Observable.create: исключение до терминального события превращается в onError,
+     * а после отмены уходит в обработчик ObservablePlugins
+     */
+    private static void fail(Observer<?> observer, ScalarDisposable d, Throwable e) {
+        if (d.disposed) {
+            ObservablePlugins.onError(e);
+        } else {
+            observer.onError(e);
+        }
+    }
+
+    /**
+     * Исключение из onComplete доставить уже некому: поток считается завершённым
+     */
+    private static void complete(Observer<?> observer, ScalarDisposable d) {
+        if (d.disposed) {
+            return;
+        }
+        try {
+            observer.onComplete();
+        } catch (Throwable e) {
+            ObservablePlugins.onError(e);
+        }
+    }
+
+    /**
+     * Отмена единственного элемента: достаточно volatile-флага, ресурсов для освобождения нет
+     */
+    static final class ScalarDisposable implements Disposable {
+        volatile boolean disposed;
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+public final class ScanOperator {
+    /**
+     * Отдаёт первый элемент как есть, а дальше — результат свёртки с каждым следующим
+     */
+    public static <T> Observable<T> scan(Observable<T> source, BinaryOperator<T> accumulator) {
+        return Observable.create(downstream -> source.subscribe(new ScanObserver<T, T>(downstream, null,
+                (acc, item) -> acc == null ? item : accumulator.apply(acc, item))));
+    }
+
+    /**
+     * Отдаёт seed при подписке, а затем накопленное значение после каждого элемента
+     */
+    public static <T, R> Observable<R> scan(Observable<T> source, R seed, BiFunction<R, ? super T, R> accumulator) {
+        return Observable.create(downstream -> {
+            downstream.onNext(seed);
+            source.subscribe(new ScanObserver<>(downstream, seed, accumulator));
+        });
+    }
+
+    static final class ScanObserver<T, R> implements Observer<T> {
+        private final ObservableEmitter<R> downstream;
+        private final BiFunction<R, ? super T, R> accumulator;
+        private Disposable upstream;
+        private R value;
+        private boolean done;
+
+        ScanObserver(ObservableEmitter<R> downstream, R initial, BiFunction<R, ? super T, R> accumulator) {
+            this.downstream = downstream;
+            this.value = initial;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R next;
+            try {
+                next = accumulator.apply(value, item);
+            } catch (Throwable e) {
+                done = true;
+                upstream.dispose();
+                downstream.onError(e);
+                return;
+            }
+            value = next;
+            downstream.onNext(next);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+}
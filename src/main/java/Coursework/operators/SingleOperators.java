@@ -0,0 +1,337 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.core.Single;
+import Coursework.core.SingleEmitter;
+import Coursework.core.SingleObserver;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.DisposableTask;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Операторы Single. Событие одно, поэтому стадии не держат ни очередей, ни флагов завершения:
+ * эмиттер следующей стадии сам отбрасывает всё, что придёт после первого события.
+ */
+public final class SingleOperators {
+    private SingleOperators() {
+    }
+
+    public static <T, R> Single<R> map(Single<T> source, Function<? super T, ? extends R> mapper) {
+        return Single.create(downstream -> source.subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                R mapped;
+                try {
+                    mapped = mapper.apply(value);
+                } catch (Throwable e) {
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onSuccess(mapped);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * Подписка на внутренний Single заменяет в эмиттере уже завершённую подписку на источник,
+     * поэтому отмена всегда доходит до той стадии, которая сейчас работает
+     */
+    public static <T, R> Single<R> flatMap(Single<T> source, Function<? super T, ? extends Single<? extends R>> mapper) {
+        return Single.create(downstream -> source.subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                Single<? extends R> next;
+                try {
+                    next = mapper.apply(value);
+                } catch (Throwable e) {
+                    downstream.onError(e);
+                    return;
+                }
+                next.subscribe(new ForwardObserver<R>(downstream));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    public static <R> Single<R> zip(Single<?>[] sources, Function<? super Object[], ? extends R> zipper) {
+        return Single.create(downstream -> {
+            if (sources.length == 0) {
+                downstream.onError(new NoSuchElementException("zip of no sources"));
+                return;
+            }
+            new ZipCoordinator<>(downstream, zipper, sources.length).subscribe(sources);
+        });
+    }
+
+    /**
+     * Задача подписки — DisposableTask: когда источник установит свой Disposable, он заменит
+     * задачу в эмиттере, и её отмена лишь снимет флаг, не прерывая поток, в котором идёт подписка
+     */
+    public static <T> Single<T> subscribeOn(Single<T> source, Scheduler scheduler) {
+        return Single.create(downstream -> {
+            DisposableTask task = new DisposableTask(() -> source.subscribe(new ForwardObserver<>(downstream)));
+            downstream.setDisposable(task);
+            scheduler.execute(task);
+        });
+    }
+
+    /**
+     * Событие доставляется одной задачей в Scheduler-е; отмена до её запуска отменяет и доставку
+     */
+    public static <T> Single<T> observeOn(Single<T> source, Scheduler scheduler) {
+        return Single.create(downstream -> source.subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                schedule(() -> downstream.onSuccess(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                schedule(() -> downstream.onError(t));
+            }
+
+            private void schedule(Runnable delivery) {
+                DisposableTask task = new DisposableTask(delivery);
+                downstream.setDisposable(task);
+                scheduler.execute(task);
+            }
+        }));
+    }
+
+    public static <T> Observable<T> toObservable(Single<T> source) {
+        return Observable.create(downstream -> source.subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                downstream.onNext(value);
+                downstream.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                downstream.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * Единственный элемент Observable: пустой поток даёт NoSuchElementException,
+     * второй элемент отменяет подписку и даёт IllegalArgumentException
+     */
+    public static <T> Single<T> singleOrError(Observable<T> source) {
+        return Single.create(downstream -> source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private T value;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                upstream = d;
+                downstream.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (value != null) {
+                    done = true;
+                    upstream.dispose();
+                    downstream.onError(new IllegalArgumentException("Sequence contains more than one element"));
+                    return;
+                }
+                value = item;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (done) {
+                    ObservablePlugins.onError(t);
+                    return;
+                }
+                done = true;
+                downstream.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (value == null) {
+                    downstream.onError(new NoSuchElementException("Sequence contains no elements"));
+                } else {
+                    downstream.onSuccess(value);
+                }
+            }
+        }));
+    }
+
+    static final class ForwardObserver<T> implements SingleObserver<T> {
+        private final SingleEmitter<? super T> downstream;
+
+        ForwardObserver(SingleEmitter<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            downstream.onSuccess(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+
+    /**
+     * Счётчик (значение AtomicInteger) — число источников, ещё не выдавших значение.
+     * Значения записываются до уменьшения счётчика, поэтому стадия, уменьшившая его до нуля,
+     * видит их все; ошибка обнуляет счётчик, и zipper после неё уже не вызывается.
+     */
+    static final class ZipCoordinator<R> extends AtomicInteger implements Disposable {
+        private final SingleEmitter<R> downstream;
+        private final Function<? super Object[], ? extends R> zipper;
+        private final ZipInner[] inners;
+        private final Object[] values;
+
+        ZipCoordinator(SingleEmitter<R> downstream, Function<? super Object[], ? extends R> zipper, int count) {
+            super(count);
+            this.downstream = downstream;
+            this.zipper = zipper;
+            this.inners = new ZipInner[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new ZipInner(this, i);
+            }
+            this.values = new Object[count];
+        }
+
+        void subscribe(Single<?>[] sources) {
+            downstream.setDisposable(this);
+            for (int i = 0; i < sources.length && get() > 0; i++) {
+                sources[i].subscribe(inners[i]);
+            }
+        }
+
+        void innerSuccess(int index, Object value) {
+            values[index] = value;
+            if (decrementAndGet() != 0) {
+                return;
+            }
+            R result;
+            try {
+                result = zipper.apply(values.clone());
+            } catch (Throwable e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        void innerError(Throwable t) {
+            if (getAndSet(0) <= 0) {
+                ObservablePlugins.onError(t);
+                return;
+            }
+            disposeInners();
+            downstream.onError(t);
+        }
+
+        private void disposeInners() {
+            for (ZipInner inner : inners) {
+                inner.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (getAndSet(0) > 0) {
+                disposeInners();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() <= 0;
+        }
+    }
+
+    static final class ZipInner extends AtomicReference<Disposable> implements SingleObserver<Object>, Disposable {
+        private final ZipCoordinator<?> parent;
+        private final int index;
+
+        ZipInner(ZipCoordinator<?> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onSuccess(Object value) {
+            parent.innerSuccess(index, value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
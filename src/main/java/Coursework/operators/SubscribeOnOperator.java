@@ -0,0 +1,126 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.DisposableHelper;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class SubscribeOnOperator {
+    public static <T> Observable<T> subscribeOn(Observable<T> source, Scheduler scheduler) {
+        return Observable.create(new OnSubscribe<T>() {
+            @Override
+            public void call(ObservableEmitter<T> downstream) {
+                SubscribeOnObserver<T> parent = new SubscribeOnObserver<>(downstream);
+                downstream.setDisposable(parent);
+                parent.setTask(scheduler.schedule(() -> parent.run(source)));
+            }
+        });
+    }
+
+    /**
+     * Хранит и задачу подписки в Scheduler-е, и Disposable источника, чтобы отмена остановила обе.
+     * Отмена задачи прерывает поток источника, поэтому прерывание допускается только при отмене
+     * из другого потока: терминальное событие и отмена из потока самого источника лишь отпускают
+     * задачу (RELEASED), и очистка, которую источник делает после onComplete, не получает прерывания.
+     */
+    static final class SubscribeOnObserver<T> extends AtomicReference<Disposable> implements Observer<T>, Disposable {
+        /**
+         * Метка задачи, которую больше не нужно отменять
+         */
+        static final Disposable RELEASED = new Disposable() {
+            @Override
+            public void dispose() {
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return true;
+            }
+        };
+
+        private final ObservableEmitter<T> downstream;
+        private final AtomicReference<Disposable> task = new AtomicReference<>();
+        private volatile Thread runner;
+
+        SubscribeOnObserver(ObservableEmitter<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        /**
+         * Тело задачи подписки: выполняется в Scheduler-е и запоминает свой поток
+         */
+        void run(Observable<T> source) {
+            runner = Thread.currentThread();
+            try {
+                source.subscribe(this);
+            } finally {
+                runner = null;
+            }
+        }
+
+        /**
+         * Задача, отпущенная раньше, чем пришёл её Disposable, не отменяется; отменённая — отменяется
+         */
+        void setTask(Disposable d) {
+            if (!task.compareAndSet(null, d) && task.get() == DisposableHelper.DISPOSED) {
+                d.dispose();
+            }
+        }
+
+        /**
+         * Переводит задачу в RELEASED без отмены или в DISPOSED с отменой; отпущенная задача так и остаётся отпущенной
+         */
+        private void disposeTask(boolean cancel) {
+            for (;;) {
+                Disposable current = task.get();
+                if (current == RELEASED || current == DisposableHelper.DISPOSED) {
+                    return;
+                }
+                if (task.compareAndSet(current, cancel ? DisposableHelper.DISPOSED : RELEASED)) {
+                    if (cancel && current != null) {
+                        current.dispose();
+                    }
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            disposeTask(false);
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            disposeTask(false);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposeTask(runner != Thread.currentThread());
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+public final class ThrottleFirstOperator {
+    public static <T> Observable<T> throttleFirst(Observable<T> source, long window, TimeUnit unit,
+                                                  Scheduler scheduler) {
+        return Observable.create(downstream ->
+                source.subscribe(new ThrottleFirstObserver<>(downstream, window, unit, scheduler)));
+    }
+
+    /**
+     * Пропускает элемент и закрывает ворота на window; элементы, пришедшие за это время, отбрасываются.
+     * Таймер только открывает ворота, поэтому downstream вызывается лишь из потока источника.
+     */
+    static final class ThrottleFirstObserver<T> implements Observer<T>, Disposable {
+        private final ObservableEmitter<T> downstream;
+        private final long window;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+
+        private Disposable upstream;
+        private volatile boolean gate;
+        private volatile boolean disposed;
+
+        ThrottleFirstObserver(ObservableEmitter<T> downstream, long window, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.window = window;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (gate) {
+                return;
+            }
+            gate = true;
+            downstream.onNext(item);
+            worker.schedule(() -> gate = false, window, unit);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
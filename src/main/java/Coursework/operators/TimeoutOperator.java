@@ -0,0 +1,106 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.internal.DisposableHelper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class TimeoutOperator {
+    public static <T> Observable<T> timeout(Observable<T> source, long timeout, TimeUnit unit, Scheduler scheduler) {
+        return Observable.create(downstream ->
+                source.subscribe(new TimeoutObserver<>(downstream, timeout, unit, scheduler)));
+    }
+
+    /**
+     * Завершает поток с TimeoutException, если после подписки или предыдущего элемента
+     * за timeout ничего не пришло. Номер ожидаемого события разыгрывается через CAS:
+     * источник и таймер не могут одновременно вызвать downstream.
+     */
+    static final class TimeoutObserver<T> extends AtomicLong implements Observer<T>, Disposable {
+        private static final long TERMINATED = Long.MAX_VALUE;
+
+        private final ObservableEmitter<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+        private final AtomicReference<Disposable> timer = new AtomicReference<>();
+
+        private Disposable upstream;
+        private volatile boolean disposed;
+
+        TimeoutObserver(ObservableEmitter<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+            startTimeout(0L);
+        }
+
+        private void startTimeout(long index) {
+            DisposableHelper.set(timer, worker.schedule(() -> onTimeout(index), timeout, unit));
+        }
+
+        private void onTimeout(long index) {
+            if (compareAndSet(index, TERMINATED)) {
+                upstream.dispose();
+                downstream.onError(new TimeoutException(
+                        "The source did not signal an event for " + timeout + " " + unit.name().toLowerCase()));
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            long index = get();
+            if (index == TERMINATED || !compareAndSet(index, index + 1)) {
+                return;
+            }
+            downstream.onNext(item);
+            startTimeout(index + 1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (getAndSet(TERMINATED) != TERMINATED) {
+                DisposableHelper.dispose(timer);
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndSet(TERMINATED) != TERMINATED) {
+                DisposableHelper.dispose(timer);
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            DisposableHelper.dispose(timer);
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+public final class ToFutureOperator {
+    /**
+     * Future с последним элементом потока; пустой поток завершает его NoSuchElementException.
+     * Отмена future отменяет подписку.
+     */
+    public static <T> CompletableFuture<T> toFuture(Observable<T> source) {
+        return subscribe(source, false);
+    }
+
+    /**
+     * Future с первым элементом потока; после первого элемента подписка отменяется
+     */
+    public static <T> CompletableFuture<T> firstAsFuture(Observable<T> source) {
+        return subscribe(source, true);
+    }
+
+    private static <T> CompletableFuture<T> subscribe(Observable<T> source, boolean first) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        source.subscribe(new FutureObserver<>(future, first));
+        return future;
+    }
+
+    static final class FutureObserver<T> implements Observer<T> {
+        private final CompletableFuture<T> future;
+        private final boolean first;
+        private Disposable upstream;
+        private T last;
+
+        FutureObserver(CompletableFuture<T> future, boolean first) {
+            this.future = future;
+            this.first = first;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            future.whenComplete((value, error) -> {
+                if (future.isCancelled()) {
+                    d.dispose();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (first) {
+                if (future.complete(item)) {
+                    upstream.dispose();
+                }
+            } else {
+                last = item;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            last = null;
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            T value = last;
+            last = null;
+            if (value != null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(new NoSuchElementException("The source is empty"));
+            }
+        }
+    }
+}
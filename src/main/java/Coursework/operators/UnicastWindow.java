@@ -0,0 +1,120 @@
+package Coursework.operators;
+
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Окно оператора window: допускает одного подписчика и копит элементы, пока он не подключится.
+ * Элементы и завершение могут приходить из разных потоков, доставляет их один дренаж.
+ * Операторы, которые выбирают окно под своей блокировкой, кладут в него событие через offer/complete
+ * под ней, а drain вызывают уже после неё, чтобы код подписчика окна не выполнялся под блокировкой.
+ */
+final class UnicastWindow<T> extends AtomicInteger implements OnSubscribe<T> {
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean once = new AtomicBoolean();
+
+    private volatile ObservableEmitter<T> downstream;
+    private volatile boolean done;
+    private Throwable error;
+
+    @Override
+    public void call(ObservableEmitter<T> emitter) {
+        if (!once.compareAndSet(false, true)) {
+            emitter.onError(new IllegalStateException("Window allows only a single observer"));
+            return;
+        }
+        downstream = emitter;
+        drain();
+    }
+
+    void onNext(T item) {
+        if (offer(item)) {
+            drain();
+        }
+    }
+
+    /**
+     * Кладёт элемент в очередь без доставки; true, если элемент принят
+     */
+    boolean offer(T item) {
+        if (!done && !isCancelled()) {
+            queue.offer(item);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * true, если подписчик окна отменил подписку; элементы такому окну больше не копятся
+     */
+    boolean isCancelled() {
+        ObservableEmitter<T> emitter = downstream;
+        return emitter != null && emitter.isDisposed();
+    }
+
+    void onError(Throwable t) {
+        if (!done) {
+            error = t;
+            done = true;
+            drain();
+        }
+    }
+
+    void onComplete() {
+        if (complete()) {
+            drain();
+        }
+    }
+
+    /**
+     * Отмечает завершение без доставки; true, если окно ещё не было завершено
+     */
+    boolean complete() {
+        if (!done) {
+            done = true;
+            return true;
+        }
+        return false;
+    }
+
+    void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            ObservableEmitter<T> emitter = downstream;
+            if (emitter != null) {
+                for (;;) {
+                    if (emitter.isDisposed()) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (d) {
+                            Throwable t = error;
+                            if (t != null) {
+                                emitter.onError(t);
+                            } else {
+                                emitter.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    emitter.onNext(item);
+                }
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+public final class WindowOperator {
+    public static <T> Observable<Observable<T>> window(Observable<T> source, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(downstream -> source.subscribe(new CountWindowObserver<>(downstream, count)));
+    }
+
+    public static <T> Observable<Observable<T>> window(Observable<T> source, long timespan, TimeUnit unit,
+                                                       Scheduler scheduler) {
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        return Observable.create(downstream ->
+                source.subscribe(new TimedWindowObserver<>(downstream, timespan, unit, scheduler)));
+    }
+
+    /**
+     * Открывает окно на первом элементе и закрывает его после count элементов
+     */
+    static final class CountWindowObserver<T> implements Observer<T> {
+        private final ObservableEmitter<Observable<T>> downstream;
+        private final int count;
+        private UnicastWindow<T> window;
+        private int size;
+
+        CountWindowObserver(ObservableEmitter<Observable<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            UnicastWindow<T> w = window;
+            if (w == null) {
+                w = new UnicastWindow<>();
+                window = w;
+                downstream.onNext(Observable.create(w));
+            }
+            w.onNext(item);
+            if (++size == count) {
+                size = 0;
+                window = null;
+                w.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            UnicastWindow<T> w = window;
+            window = null;
+            if (w != null) {
+                w.onError(t);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            UnicastWindow<T> w = window;
+            window = null;
+            if (w != null) {
+                w.onComplete();
+            }
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * Каждые timespan закрывает текущее окно и открывает новое.
+     * Новые окна и завершение отправляются задачами Worker-а, поэтому downstream вызывается последовательно.
+     * Под блокировкой окно только выбирается и получает элемент или отметку завершения; доставка подписчику
+     * окна идёт после неё, поэтому медленное окно не задерживает ни таймер, ни источник.
+     */
+    static final class TimedWindowObserver<T> implements Observer<T>, Disposable, Runnable {
+        private final ObservableEmitter<Observable<T>> downstream;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+
+        private UnicastWindow<T> window;
+        private Disposable upstream;
+        private volatile boolean disposed;
+
+        TimedWindowObserver(ObservableEmitter<Observable<T>> downstream, long timespan, TimeUnit unit,
+                            Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.setDisposable(this);
+            UnicastWindow<T> w = new UnicastWindow<>();
+            synchronized (this) {
+                window = w;
+            }
+            downstream.onNext(Observable.create(w));
+            worker.schedulePeriodically(this, timespan, timespan, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            UnicastWindow<T> w;
+            synchronized (this) {
+                w = window;
+                if (w == null || !w.offer(item)) {
+                    return;
+                }
+            }
+            w.drain();
+        }
+
+        /**
+         * Тик таймера: выполняется в Worker-е
+         */
+        @Override
+        public void run() {
+            UnicastWindow<T> next = new UnicastWindow<>();
+            UnicastWindow<T> w;
+            synchronized (this) {
+                w = window;
+                if (w == null) {
+                    return;
+                }
+                w.complete();
+                window = next;
+            }
+            w.drain();
+            downstream.onNext(Observable.create(next));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            UnicastWindow<T> w;
+            synchronized (this) {
+                w = window;
+                window = null;
+            }
+            if (w != null) {
+                w.onError(t);
+                worker.schedule(() -> downstream.onError(t));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            UnicastWindow<T> w;
+            synchronized (this) {
+                w = window;
+                window = null;
+            }
+            if (w != null) {
+                w.onComplete();
+                worker.schedule(downstream::onComplete);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.internal.DisposableHelper;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+public final class WithLatestFromOperator {
+    /**
+     * Каждый элемент source объединяется с последним элементом other; пока other ничего
+     * не выдал, элементы source отбрасываются. Ошибка other завершает поток.
+     */
+    public static <T, U, R> Observable<R> withLatestFrom(Observable<T> source, Observable<? extends U> other,
+                                                         BiFunction<? super T, ? super U, ? extends R> combiner) {
+        return Observable.create(downstream -> {
+            WithLatestObserver<T, U, R> observer = new WithLatestObserver<>(downstream, combiner);
+            downstream.setDisposable(observer);
+            other.subscribe(observer.other);
+            source.subscribe(observer);
+        });
+    }
+
+    /**
+     * Элементы выдаёт только source, а терминальное событие может прийти и от other из другого
+     * потока. Счётчик (значение AtomicInteger) не даёт им пересечься: кто застал onNext
+     * в процессе, оставляет событие в terminal, и его доставляет сам onNext после выдачи элемента.
+     */
+    static final class WithLatestObserver<T, U, R> extends AtomicInteger implements Observer<T>, Disposable {
+        private static final Throwable COMPLETE = new Throwable("complete");
+
+        private final ObservableEmitter<R> downstream;
+        private final BiFunction<? super T, ? super U, ? extends R> combiner;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final AtomicReference<U> latest = new AtomicReference<>();
+        private final AtomicReference<Throwable> terminal = new AtomicReference<>();
+        final OtherObserver other = new OtherObserver();
+
+        WithLatestObserver(ObservableEmitter<R> downstream, BiFunction<? super T, ? super U, ? extends R> combiner) {
+            this.downstream = downstream;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            U value = latest.get();
+            if (value == null) {
+                return;
+            }
+            R result;
+            try {
+                result = combiner.apply(item, value);
+            } catch (Throwable e) {
+                dispose();
+                terminate(e);
+                return;
+            }
+            if (get() == 0 && compareAndSet(0, 1)) {
+                downstream.onNext(result);
+                if (decrementAndGet() != 0) {
+                    deliver(terminal.get());
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            other.dispose();
+            terminate(t);
+        }
+
+        @Override
+        public void onComplete() {
+            other.dispose();
+            terminate(COMPLETE);
+        }
+
+        private void terminate(Throwable t) {
+            if (!terminal.compareAndSet(null, t)) {
+                if (t != COMPLETE) {
+                    ObservablePlugins.onError(t);
+                }
+                return;
+            }
+            if (getAndIncrement() == 0) {
+                deliver(t);
+            }
+        }
+
+        private void deliver(Throwable t) {
+            if (t == COMPLETE) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+            other.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(upstream.get());
+        }
+
+        final class OtherObserver extends AtomicReference<Disposable> implements Observer<U> {
+            @Override
+            public void onSubscribe(Disposable d) {
+                DisposableHelper.setOnce(this, d);
+            }
+
+            @Override
+            public void onNext(U item) {
+                latest.set(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                DisposableHelper.dispose(upstream);
+                terminate(t);
+            }
+
+            /**
+             * Завершение other не завершает поток: элементы source объединяются с последним значением
+             */
+            @Override
+            public void onComplete() {
+            }
+
+            void dispose() {
+                DisposableHelper.dispose(this);
+            }
+        }
+    }
+}
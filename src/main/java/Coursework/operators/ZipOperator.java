@@ -0,0 +1,206 @@
+package Coursework.operators;
+
+import Coursework.core.Disposable;
+import Coursework.core.Observable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.Observer;
+import Coursework.internal.DisposableHelper;
+import Coursework.internal.SpscLinkedArrayQueue;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public final class ZipOperator {
+    /**
+     * Объединяет i-е элементы всех источников в один через zipper; поток завершается,
+     * когда завершился любой источник и его очередь пуста
+     */
+    public static <R> Observable<R> zip(Observable<?>[] sources, Function<? super Object[], ? extends R> zipper,
+                                        int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(downstream -> {
+            if (sources.length == 0) {
+                downstream.onComplete();
+                return;
+            }
+            new ZipCoordinator<>(downstream, zipper, sources.length, bufferSize).subscribe(sources);
+        });
+    }
+
+    /**
+     * У каждого источника своя SPSC-очередь; дренаж собирает строку из голов очередей
+     * и выдаёт её, когда заполнены все ячейки. Частично собранная строка переживает выход
+     * из дренажа, поэтому элемент, уже снятый с очереди, не теряется.
+     */
+    static final class ZipCoordinator<R> extends AtomicInteger implements Disposable {
+        private final ObservableEmitter<R> downstream;
+        private final Function<? super Object[], ? extends R> zipper;
+        private final ZipInner[] inners;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private Object[] row;
+        private volatile boolean cancelled;
+
+        ZipCoordinator(ObservableEmitter<R> downstream, Function<? super Object[], ? extends R> zipper,
+                       int count, int bufferSize) {
+            this.downstream = downstream;
+            this.zipper = zipper;
+            this.inners = new ZipInner[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new ZipInner(this, bufferSize);
+            }
+            this.row = new Object[count];
+        }
+
+        void subscribe(Observable<?>[] sources) {
+            downstream.setDisposable(this);
+            for (int i = 0; i < sources.length && !cancelled; i++) {
+                sources[i].subscribe(inners[i]);
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                drain();
+            } else {
+                ObservablePlugins.onError(t);
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    Throwable t = error.get();
+                    if (t != null) {
+                        terminate();
+                        downstream.onError(t);
+                        return;
+                    }
+                    boolean ready = true;
+                    for (int i = 0; i < inners.length; i++) {
+                        if (row[i] == null) {
+                            ZipInner inner = inners[i];
+                            boolean d = inner.done;
+                            Object item = inner.queue.poll();
+                            if (item == null) {
+                                if (d) {
+                                    terminate();
+                                    downstream.onComplete();
+                                    return;
+                                }
+                                ready = false;
+                            } else {
+                                row[i] = item;
+                            }
+                        }
+                    }
+                    if (!ready) {
+                        break;
+                    }
+                    Object[] values = row;
+                    row = new Object[inners.length];
+                    R result;
+                    try {
+                        result = zipper.apply(values);
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                        continue;
+                    }
+                    downstream.onNext(result);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            for (ZipInner inner : inners) {
+                inner.dispose();
+            }
+            clear();
+        }
+
+        private void clear() {
+            for (ZipInner inner : inners) {
+                inner.queue.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            for (ZipInner inner : inners) {
+                inner.dispose();
+            }
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+
+    static final class ZipInner extends AtomicReference<Disposable> implements Observer<Object>, Disposable {
+        private final ZipCoordinator<?> parent;
+        final SpscLinkedArrayQueue<Object> queue;
+        volatile boolean done;
+
+        ZipInner(ZipCoordinator<?> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            queue.offer(item);
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Coursework.plugins;
+
+import Coursework.core.Cancellable;
+import Coursework.core.Disposable;
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+
+/**
+ * Логика подписки, запомнившая место сборки; ошибки, проходящие через неё, получают это место
+ * в списке suppressed-исключений
+ */
+final class AssemblyOnSubscribe<T> implements OnSubscribe<T> {
+    private final OnSubscribe<T> source;
+    private final AssemblyStackTrace assembly;
+
+    AssemblyOnSubscribe(OnSubscribe<T> source, AssemblyStackTrace assembly) {
+        this.source = source;
+        this.assembly = assembly;
+    }
+
+    @Override
+    public void call(ObservableEmitter<T> downstream) {
+        source.call(new AssemblyEmitter<>(downstream, assembly));
+    }
+
+    static final class AssemblyEmitter<T> implements ObservableEmitter<T> {
+        private final ObservableEmitter<T> downstream;
+        private final AssemblyStackTrace assembly;
+
+        AssemblyEmitter(ObservableEmitter<T> downstream, AssemblyStackTrace assembly) {
+            this.downstream = downstream;
+            this.assembly = assembly;
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (t != null && t != assembly) {
+                t.addSuppressed(assembly);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return downstream.isDisposed();
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            downstream.setCancellable(cancellable);
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            downstream.setDisposable(disposable);
+        }
+    }
+}
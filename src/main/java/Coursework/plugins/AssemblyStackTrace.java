@@ -0,0 +1,28 @@
+package Coursework.plugins;
+
+/**
+ * Место сборки оператора. Добавляется как suppressed к ошибке, прошедшей через оператор,
+ * чтобы по трассе было видно, какая строка пользовательского кода построила цепочку.
+ */
+public final class AssemblyStackTrace extends RuntimeException {
+    AssemblyStackTrace() {
+        super((String) null, null, false, true);
+    }
+
+    @Override
+    public String getMessage() {
+        for (StackTraceElement element : getStackTrace()) {
+            if (!isLibraryFrame(element.getClassName())) {
+                return "Assembled at " + element;
+            }
+        }
+        return "Assembled inside the library";
+    }
+
+    private static boolean isLibraryFrame(String className) {
+        return className.startsWith("Coursework.core.")
+                || className.startsWith("Coursework.operators.")
+                || className.startsWith("Coursework.subjects.")
+                || className.startsWith("Coursework.plugins.");
+    }
+}
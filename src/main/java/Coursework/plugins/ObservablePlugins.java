@@ -0,0 +1,144 @@
+package Coursework.plugins;
+
+import Coursework.core.Observable;
+import Coursework.core.OnSubscribe;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Глобальные хуки библиотеки: обёртка собранных операторов, декорирование задач Scheduler-ов
+ * и обработчик ошибок, которые уже некому доставить.
+ * Все хуки хранятся в одном неизменяемом объекте за единственным volatile-полем: пока хуки
+ * не заданы, поле равно null, и путь без хуков сводится к одному чтению без выделения памяти.
+ */
+public final class ObservablePlugins {
+    private static volatile Hooks hooks;
+
+    private ObservablePlugins() {
+    }
+
+    /**
+     * Хук сборки: вызывается для каждого Observable, созданного через Observable.create,
+     * и может вернуть обёртку. Обёртка вместо исходного Observable отключает слияние
+     * соседних map/filter, поэтому хук стоит использовать для отладки и трассировки.
+     */
+    public static synchronized void setOnAssembly(UnaryOperator<Observable<?>> onAssembly) {
+        Hooks current = current();
+        update(new Hooks(onAssembly, current.onSchedule, current.onError, current.trackAssembly));
+    }
+
+    /**
+     * Хук планирования: получает каждую задачу, переданную Scheduler-у или Worker-у,
+     * и может вернуть обёртку, например переносящую контекст вызывающего потока
+     */
+    public static synchronized void setOnSchedule(UnaryOperator<Runnable> onSchedule) {
+        Hooks current = current();
+        update(new Hooks(current.onAssembly, onSchedule, current.onError, current.trackAssembly));
+    }
+
+    /**
+     * Обработчик ошибок, которые нельзя доставить подписчику: вторая ошибка после завершения,
+     * ошибка после отмены, исключение задачи Worker-а или отклонённая отложенная задача
+     */
+    public static synchronized void setOnError(Consumer<? super Throwable> onError) {
+        Hooks current = current();
+        update(new Hooks(current.onAssembly, current.onSchedule, onError, current.trackAssembly));
+    }
+
+    /**
+     * Режим отслеживания сборки: каждый оператор запоминает место своего создания и добавляет
+     * его к проходящей через него ошибке как suppressed-исключение AssemblyStackTrace.
+     * Стоит дорого (стек снимается при каждой сборке), поэтому включается только для отладки.
+     */
+    public static synchronized void setAssemblyTracking(boolean enabled) {
+        Hooks current = current();
+        update(new Hooks(current.onAssembly, current.onSchedule, current.onError, enabled));
+    }
+
+    /**
+     * Снимает все хуки и выключает отслеживание сборки
+     */
+    public static synchronized void reset() {
+        hooks = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> onAssembly(Observable<T> source) {
+        Hooks h = hooks;
+        if (h == null || h.onAssembly == null) {
+            return source;
+        }
+        return (Observable<T>) h.onAssembly.apply(source);
+    }
+
+    /**
+     * Оборачивает логику подписки в AssemblyOnSubscribe, если включено отслеживание сборки
+     */
+    public static <T> OnSubscribe<T> onTrackAssembly(OnSubscribe<T> onSubscribe) {
+        Hooks h = hooks;
+        if (h == null || !h.trackAssembly || onSubscribe instanceof AssemblyOnSubscribe) {
+            return onSubscribe;
+        }
+        return new AssemblyOnSubscribe<>(onSubscribe, new AssemblyStackTrace());
+    }
+
+    public static Runnable onSchedule(Runnable task) {
+        Hooks h = hooks;
+        if (h == null || h.onSchedule == null) {
+            return task;
+        }
+        return h.onSchedule.apply(task);
+    }
+
+    /**
+     * Сообщает о недоставляемой ошибке обработчику из setOnError, а без него —
+     * обработчику необработанных исключений текущего потока
+     */
+    public static void onError(Throwable error) {
+        Hooks h = hooks;
+        if (h != null && h.onError != null) {
+            try {
+                h.onError.accept(error);
+                return;
+            } catch (Throwable e) {
+                error.addSuppressed(e);
+            }
+        }
+        Thread current = Thread.currentThread();
+        current.getUncaughtExceptionHandler().uncaughtException(current, error);
+    }
+
+    private static Hooks current() {
+        Hooks h = hooks;
+        return h != null ? h : Hooks.EMPTY;
+    }
+
+    private static void update(Hooks next) {
+        hooks = next.isEmpty() ? null : next;
+    }
+
+    /**
+     * Неизменяемый набор хуков; меняется целиком, поэтому читатель видит согласованное состояние
+     */
+    static final class Hooks {
+        static final Hooks EMPTY = new Hooks(null, null, null, false);
+
+        final UnaryOperator<Observable<?>> onAssembly;
+        final UnaryOperator<Runnable> onSchedule;
+        final Consumer<? super Throwable> onError;
+        final boolean trackAssembly;
+
+        Hooks(UnaryOperator<Observable<?>> onAssembly, UnaryOperator<Runnable> onSchedule,
+              Consumer<? super Throwable> onError, boolean trackAssembly) {
+            this.onAssembly = onAssembly;
+            this.onSchedule = onSchedule;
+            this.onError = onError;
+            this.trackAssembly = trackAssembly;
+        }
+
+        boolean isEmpty() {
+            return onAssembly == null && onSchedule == null && onError == null && !trackAssembly;
+        }
+    }
+}
@@ -1,20 +1,246 @@
 package Coursework.schedulers;
 
+import Coursework.core.Disposable;
 import Coursework.core.Scheduler;
+import Coursework.internal.FutureDisposable;
+import Coursework.internal.SerialWorker;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.SchedulerMetrics;
+import Coursework.plugins.ObservablePlugins;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Аналог Schedulers.computation(): пул фиксированного размера на количество CPU
+ * Аналог Schedulers.computation(): N однопоточных циклов событий (по умолчанию по числу CPU).
+ * У каждого цикла своя неблокирующая очередь, поэтому потоки не соревнуются за один замок общей очереди.
+ * Worker закрепляется за одним циклом: его дренаж лежит в отдельной очереди цикла, которую соседи
+ * не трогают, поэтому задачи подписчика всегда выполняются в одном потоке.
+ * Задача execute/schedule, отправленная из потока цикла, попадает в общую очередь этого же цикла;
+ * простаивающий цикл забирает такие задачи из очередей соседей, чтобы нагрузка не застревала на одном потоке.
  */
-public class ComputationScheduler implements Scheduler {
-    private final ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-    );
+public final class ComputationScheduler implements Scheduler {
+    private static final ThreadLocal<EventLoop> CURRENT = new ThreadLocal<>();
+
+    private final int parallelism;
+    private final NamedThreadFactory threadFactory = new NamedThreadFactory("computation");
+    private final AtomicReference<EventLoop[]> loops = new AtomicReference<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final SchedulerMetrics metrics = Metrics.ENABLED ? Metrics.scheduler(getClass().getSimpleName()) : null;
+
+    public ComputationScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ComputationScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        start();
+    }
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        pick().execute(decorate(task));
+    }
+
+    /**
+     * Отмена прерывает задачу, если она уже выполняется; поток цикла после задачи сбрасывает флаг прерывания
+     */
+    @Override
+    public Disposable schedule(Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(decorate(task), null);
+        pick().execute(future);
+        return new FutureDisposable(future);
+    }
+
+    /**
+     * Worker закрепляется за циклом по кругу; его задачи выполняются одной задачей-дренажом
+     * в закреплённой очереди цикла, из которой соседи не забирают
+     */
+    @Override
+    public Worker createWorker() {
+        EventLoop[] current = loops();
+        EventLoop loop = current[Math.floorMod(next.getAndIncrement(), current.length)];
+        // SerialWorker уже пропустил каждую задачу через хук onSchedule, дренаж идёт в цикл мимо хука
+        return new SerialWorker(task -> loop.executePinned(meter(task)));
+    }
+
+    private Runnable decorate(Runnable task) {
+        return meter(ObservablePlugins.onSchedule(task));
+    }
+
+    private Runnable meter(Runnable task) {
+        return Metrics.ENABLED ? metrics.wrap(task) : task;
+    }
+
+    /**
+     * Из потока цикла задача остаётся в его очереди, из остальных потоков циклы выбираются по кругу
+     */
+    private EventLoop pick() {
+        EventLoop[] current = loops();
+        EventLoop local = CURRENT.get();
+        if (local != null && local.siblings == current) {
+            return local;
+        }
+        return current[Math.floorMod(next.getAndIncrement(), current.length)];
+    }
+
+    private EventLoop[] loops() {
+        EventLoop[] current = loops.get();
+        if (current == null) {
+            throw new RejectedExecutionException(getClass().getSimpleName() + " is shut down");
+        }
+        return current;
+    }
+
+    @Override
+    public void start() {
+        if (loops.get() != null) {
+            return;
+        }
+        EventLoop[] created = new EventLoop[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            created[i] = new EventLoop(created, i);
+        }
+        if (!loops.compareAndSet(null, created)) {
+            return;
+        }
+        for (EventLoop loop : created) {
+            loop.thread = threadFactory.newThread(loop);
+            loop.thread.start();
+        }
+    }
+
+    /**
+     * Останавливает циклы, прерывая выполняющиеся задачи; задачи в очередях отбрасываются
+     */
+    @Override
+    public void shutdown() {
+        EventLoop[] current = loops.getAndSet(null);
+        if (current != null) {
+            for (EventLoop loop : current) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Однопоточный цикл событий. Общая очередь неблокирующая и допускает нескольких потребителей,
+     * потому что соседи забирают из неё задачи; закреплённую очередь разбирает только сам цикл.
+     * Флаг idle выставляется до повторной проверки очередей, а отправитель читает его после
+     * добавления задачи, поэтому пробуждение не теряется.
+     */
+    static final class EventLoop implements Runnable {
+        final EventLoop[] siblings;
+        private final int index;
+        private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Runnable> pinned = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean idle = new AtomicBoolean();
+        private volatile boolean terminated;
+        volatile Thread thread;
+
+        EventLoop(EventLoop[] siblings, int index) {
+            this.siblings = siblings;
+            this.index = index;
+        }
+
+        void execute(Runnable task) {
+            if (terminated) {
+                throw new RejectedExecutionException("ComputationScheduler is shut down");
+            }
+            queue.offer(task);
+            // Свой цикл спит — будим его; занят — будим простаивающего соседа, чтобы тот забрал задачу
+            if (!wake()) {
+                for (int i = 1; i < siblings.length; i++) {
+                    if (siblings[(index + i) % siblings.length].wake()) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Задача, которую выполняет только этот цикл; будить соседей бесполезно
+         */
+        void executePinned(Runnable task) {
+            if (terminated) {
+                throw new RejectedExecutionException("ComputationScheduler is shut down");
+            }
+            pinned.offer(task);
+            wake();
+        }
+
+        private boolean wake() {
+            if (idle.get() && idle.compareAndSet(true, false)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            CURRENT.set(this);
+            while (!terminated) {
+                Runnable task = poll();
+                if (task == null) {
+                    idle.set(true);
+                    task = poll();
+                    if (task == null) {
+                        LockSupport.park(this);
+                        idle.set(false);
+                        continue;
+                    }
+                    idle.set(false);
+                }
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    ObservablePlugins.onError(e);
+                }
+                // Прерывание отменённой задачи не должно доставаться следующей
+                Thread.interrupted();
+            }
+            queue.clear();
+            pinned.clear();
+        }
+
+        /**
+         * Сначала закреплённые задачи, затем своя общая очередь, затем по одной задаче из общих очередей соседей
+         */
+        private Runnable poll() {
+            Runnable task = pinned.poll();
+            if (task != null) {
+                return task;
+            }
+            task = queue.poll();
+            if (task != null) {
+                return task;
+            }
+            for (int i = 1; i < siblings.length; i++) {
+                task = siblings[(index + i) % siblings.length].queue.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        void shutdown() {
+            terminated = true;
+            queue.clear();
+            pinned.clear();
+            Thread t = thread;
+            if (t != null) {
+                t.interrupt();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package Coursework.schedulers;
+
+import Coursework.core.Disposable;
+import Coursework.core.Scheduler;
+import Coursework.internal.FutureDisposable;
+import Coursework.internal.SerialWorker;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.SchedulerMetrics;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Общая основа Scheduler-ов на ExecutorService: пул создаётся при start() и уничтожается при shutdown()
+ */
+public abstract class ExecutorScheduler implements Scheduler {
+    private final AtomicReference<ExecutorService> executor = new AtomicReference<>();
+    private final SchedulerMetrics metrics = Metrics.ENABLED ? Metrics.scheduler(getClass().getSimpleName()) : null;
+
+    protected ExecutorScheduler() {
+        start();
+    }
+
+    /**
+     * Создаёт новый пул; вызывается при каждом запуске Scheduler-а
+     */
+    protected abstract ExecutorService newExecutor();
+
+    @Override
+    public void execute(Runnable task) {
+        dispatch(ObservablePlugins.onSchedule(task));
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return new FutureDisposable(executor().submit(meter(ObservablePlugins.onSchedule(task))));
+    }
+
+    /**
+     * Worker сам пропускает каждую свою задачу через хук onSchedule,
+     * поэтому его внутренний дренаж уходит в пул мимо хука
+     */
+    @Override
+    public Worker createWorker() {
+        return new SerialWorker(this::dispatch);
+    }
+
+    /**
+     * Отправляет в пул задачу, уже прошедшую хук onSchedule
+     */
+    protected void dispatch(Runnable task) {
+        executor().execute(meter(task));
+    }
+
+    private Runnable meter(Runnable task) {
+        return Metrics.ENABLED ? metrics.wrap(task) : task;
+    }
+
+    @Override
+    public void start() {
+        for (;;) {
+            ExecutorService current = executor.get();
+            if (current != null) {
+                return;
+            }
+            ExecutorService next = newExecutor();
+            if (executor.compareAndSet(null, next)) {
+                return;
+            }
+            next.shutdownNow();
+        }
+    }
+
+    /**
+     * Останавливает пул, прерывая выполняющиеся задачи
+     */
+    @Override
+    public void shutdown() {
+        ExecutorService current = executor.getAndSet(null);
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor.get();
+        if (current == null) {
+            throw new RejectedExecutionException(getClass().getSimpleName() + " is shut down");
+        }
+        return current;
+    }
+}
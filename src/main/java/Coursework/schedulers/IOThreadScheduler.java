@@ -1,5 +1,4 @@
 package Coursework.schedulers;
-import Coursework.core.Scheduler;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -7,11 +6,9 @@ import java.util.concurrent.Executors;
 /**
  * Аналог Schedulers.io(): кэшированный пул потоков
  */
-public class IOThreadScheduler implements Scheduler {
-    private final ExecutorService executor = Executors.newCachedThreadPool();
-
+public class IOThreadScheduler extends ExecutorScheduler {
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    protected ExecutorService newExecutor() {
+        return Executors.newCachedThreadPool(new NamedThreadFactory("io"));
     }
 }
@@ -0,0 +1,51 @@
+package Coursework.schedulers;
+
+import Coursework.core.Disposable;
+import Coursework.internal.FutureDisposable;
+import Coursework.plugins.ObservablePlugins;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Аналог Schedulers.newThread(): каждая задача и каждый Worker получают собственный поток
+ */
+public class NewThreadScheduler extends ExecutorScheduler {
+    private final NamedThreadFactory threadFactory = new NamedThreadFactory("new-thread");
+
+    @Override
+    protected ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(runnable -> threadFactory.newThread(runnable));
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new NewThreadWorker(Executors.newSingleThreadExecutor(threadFactory));
+    }
+
+    /**
+     * Worker на выделенном потоке; поток останавливается вместе с Worker-ом
+     */
+    static final class NewThreadWorker implements Worker {
+        private final ExecutorService executor;
+
+        NewThreadWorker(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            return new FutureDisposable(executor.submit(ObservablePlugins.onSchedule(task)));
+        }
+
+        @Override
+        public void dispose() {
+            executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return executor.isShutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Coursework.schedulers;
+
+import Coursework.core.Scheduler;
+
+/**
+ * Общие экземпляры Scheduler-ов. Вместо создания нового пула на каждый вызов
+ * следует использовать эти экземпляры: потоки в них демонические и переиспользуются.
+ */
+public final class Schedulers {
+    private static final Scheduler COMPUTATION = new ComputationScheduler();
+    private static final Scheduler IO = new IOThreadScheduler();
+    private static final Scheduler SINGLE = new SingleThreadScheduler();
+    private static final Scheduler NEW_THREAD = new NewThreadScheduler();
+
+    private Schedulers() {
+    }
+
+    /**
+     * Пул на количество CPU для вычислительных задач
+     */
+    public static Scheduler computation() {
+        return COMPUTATION;
+    }
+
+    /**
+     * Расширяемый пул для блокирующего I/O
+     */
+    public static Scheduler io() {
+        return IO;
+    }
+
+    /**
+     * Один общий поток для последовательного выполнения
+     */
+    public static Scheduler single() {
+        return SINGLE;
+    }
+
+    /**
+     * Новый поток на каждую задачу или Worker
+     */
+    public static Scheduler newThread() {
+        return NEW_THREAD;
+    }
+
+    /**
+     * Останавливает все общие Scheduler-ы
+     */
+    public static void shutdown() {
+        COMPUTATION.shutdown();
+        IO.shutdown();
+        SINGLE.shutdown();
+        NEW_THREAD.shutdown();
+    }
+
+    /**
+     * Запускает общие Scheduler-ы после shutdown()
+     */
+    public static void start() {
+        COMPUTATION.start();
+        IO.start();
+        SINGLE.start();
+        NEW_THREAD.start();
+    }
+}
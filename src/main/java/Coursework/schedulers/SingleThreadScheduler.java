@@ -1,18 +1,14 @@
 package Coursework.schedulers;
 
-import Coursework.core.Scheduler;
-
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * Аналог Schedulers.single(): один поток
  */
-public class SingleThreadScheduler implements Scheduler {
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
-
+public class SingleThreadScheduler extends ExecutorScheduler {
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    protected ExecutorService newExecutor() {
+        return Executors.newSingleThreadExecutor(new NamedThreadFactory("single"));
     }
-}
\ No newline at end of file
+}
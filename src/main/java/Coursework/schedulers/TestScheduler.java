@@ -0,0 +1,244 @@
+package Coursework.schedulers;
+
+import Coursework.core.Disposable;
+import Coursework.core.Scheduler;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler с виртуальным временем для тестов. Задачи не выполняются сами: их запускает
+ * triggerActions() или advanceTimeBy() в вызывающем потоке, строго по времени и порядку постановки.
+ * Время стоит на месте, пока его не сдвинут, поэтому сценарии с задержками проверяются мгновенно и детерминированно.
+ */
+public final class TestScheduler implements Scheduler {
+    private final PriorityQueue<TimedTask> queue = new PriorityQueue<>();
+    private long time;
+    private long sequence;
+
+    public TestScheduler() {
+    }
+
+    /**
+     * Начальное виртуальное время
+     */
+    public TestScheduler(long initialTime, TimeUnit unit) {
+        this.time = unit.toNanos(initialTime);
+    }
+
+    @Override
+    public synchronized long now(TimeUnit unit) {
+        return unit.convert(time, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Сдвигает время на delay и выполняет все задачи, срок которых наступил
+     */
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        long target;
+        synchronized (this) {
+            target = time + unit.toNanos(delay);
+        }
+        runUntil(target);
+    }
+
+    /**
+     * Переводит время на момент time и выполняет все задачи, срок которых наступил
+     */
+    public void advanceTimeTo(long time, TimeUnit unit) {
+        runUntil(unit.toNanos(time));
+    }
+
+    /**
+     * Выполняет задачи, срок которых уже наступил, не сдвигая время
+     */
+    public void triggerActions() {
+        long target;
+        synchronized (this) {
+            target = time;
+        }
+        runUntil(target);
+    }
+
+    /**
+     * Число задач в очереди, включая отменённые, но ещё не удалённые
+     */
+    public synchronized int pendingTasks() {
+        return queue.size();
+    }
+
+    private void runUntil(long target) {
+        for (;;) {
+            TimedTask task;
+            synchronized (this) {
+                task = queue.peek();
+                if (task == null || task.time > target) {
+                    time = Math.max(time, target);
+                    return;
+                }
+                queue.poll();
+                time = Math.max(time, task.time);
+            }
+            if (!task.isDisposed()) {
+                task.run();
+            }
+        }
+    }
+
+    synchronized TimedTask enqueue(Runnable action, long delayNanos, TestWorker worker) {
+        TimedTask task = new TimedTask(action, time + Math.max(0, delayNanos), sequence++, worker);
+        queue.add(task);
+        return task;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        enqueue(task, 0, null);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return enqueue(task, 0, null);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return enqueue(task, unit.toNanos(delay), null);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return new PeriodicTask(this, null, task, unit.toNanos(initialDelay), unit.toNanos(period));
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new TestWorker(this);
+    }
+
+    static final class TimedTask implements Runnable, Disposable, Comparable<TimedTask> {
+        private final Runnable action;
+        private final TestWorker worker;
+        final long time;
+        private final long sequence;
+        private volatile boolean disposed;
+
+        TimedTask(Runnable action, long time, long sequence, TestWorker worker) {
+            this.action = action;
+            this.time = time;
+            this.sequence = sequence;
+            this.worker = worker;
+        }
+
+        @Override
+        public void run() {
+            action.run();
+        }
+
+        @Override
+        public int compareTo(TimedTask other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed || (worker != null && worker.isDisposed());
+        }
+    }
+
+    /**
+     * Периодическая задача: следующий запуск ставится в очередь после текущего,
+     * время запуска отсчитывается от начала расписания
+     */
+    static final class PeriodicTask implements Runnable, Disposable {
+        private final TestScheduler scheduler;
+        private final TestWorker worker;
+        private final Runnable action;
+        private final long period;
+        private final long start;
+        private long count;
+        private volatile TimedTask current;
+        private volatile boolean disposed;
+
+        PeriodicTask(TestScheduler scheduler, TestWorker worker, Runnable action, long initialDelay, long period) {
+            this.scheduler = scheduler;
+            this.worker = worker;
+            this.action = action;
+            this.period = period;
+            synchronized (scheduler) {
+                this.start = scheduler.time + initialDelay;
+                this.current = scheduler.enqueue(this, initialDelay, worker);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (disposed) {
+                return;
+            }
+            action.run();
+            synchronized (scheduler) {
+                long next = start + ++count * period;
+                current = scheduler.enqueue(this, next - scheduler.time, worker);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            TimedTask task = current;
+            if (task != null) {
+                task.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * Worker тестового Scheduler-а: задачи и так выполняются по одной в потоке triggerActions,
+     * dispose() отменяет все ещё не выполненные задачи Worker-а
+     */
+    static final class TestWorker implements Worker {
+        private final TestScheduler scheduler;
+        private volatile boolean disposed;
+
+        TestWorker(TestScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            return scheduler.enqueue(task, 0, this);
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return scheduler.enqueue(task, unit.toNanos(delay), this);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return new PeriodicTask(scheduler, this, task, unit.toNanos(initialDelay), unit.toNanos(period));
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
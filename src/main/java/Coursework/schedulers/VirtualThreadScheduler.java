@@ -0,0 +1,65 @@
+package Coursework.schedulers;
+
+import Coursework.core.Disposable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scheduler для блокирующего I/O на виртуальных потоках: каждая задача получает свой дешёвый поток.
+ * Необязательный лимит ограничивает число одновременно выполняемых задач (например, соединений к сервису),
+ * при этом ожидающие задачи блокируют только свои виртуальные потоки.
+ */
+public class VirtualThreadScheduler extends ExecutorScheduler {
+    private final Semaphore permits;
+
+    public VirtualThreadScheduler() {
+        this.permits = null;
+    }
+
+    /**
+     * @param maxConcurrency максимальное число одновременно выполняемых задач
+     */
+    public VirtualThreadScheduler(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    protected ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("virtual-", 1).factory());
+    }
+
+    @Override
+    protected void dispatch(Runnable task) {
+        super.dispatch(limit(task));
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return super.schedule(limit(task));
+    }
+
+    private Runnable limit(Runnable task) {
+        Semaphore semaphore = permits;
+        if (semaphore == null) {
+            return task;
+        }
+        return () -> {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                semaphore.release();
+            }
+        };
+    }
+}
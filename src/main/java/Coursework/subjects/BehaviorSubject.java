@@ -0,0 +1,231 @@
+package Coursework.subjects;
+
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Subject, который хранит последний элемент и сразу отдаёт его новому подписчику.
+ * Под короткой блокировкой меняются только значение, его номер и снимок массива подписчиков;
+ * сами события, в том числе начальное значение нового подписчика, доставляются вне её,
+ * поэтому медленный подписчик не задерживает производителя.
+ */
+public final class BehaviorSubject<T> extends Subject<T> {
+    private final State<T> state;
+
+    private BehaviorSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> BehaviorSubject<T> create() {
+        return new BehaviorSubject<>(new State<>(null));
+    }
+
+    /**
+     * Subject с начальным значением, которое получит первый подписчик
+     */
+    public static <T> BehaviorSubject<T> createDefault(T defaultValue) {
+        if (defaultValue == null) {
+            throw new NullPointerException("defaultValue is null");
+        }
+        return new BehaviorSubject<>(new State<>(defaultValue));
+    }
+
+    /**
+     * Текущее значение или null, если его ещё нет
+     */
+    public T getValue() {
+        return state.value;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        BehaviorInner<T>[] current;
+        long index;
+        synchronized (state) {
+            if (state.subscribers.isTerminated()) {
+                return;
+            }
+            state.value = item;
+            index = ++state.index;
+            current = state.subscribers.get();
+        }
+        for (BehaviorInner<T> inner : current) {
+            inner.emitNext(item, index);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        terminate(new Terminal(t));
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(Terminal.COMPLETE);
+    }
+
+    private void terminate(Terminal terminal) {
+        BehaviorInner<T>[] current;
+        long index;
+        synchronized (state) {
+            state.error = terminal.error;
+            state.terminal = terminal;
+            index = ++state.index;
+            current = state.subscribers.terminate();
+        }
+        for (BehaviorInner<T> inner : current) {
+            inner.emitNext(terminal, index);
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.get().length != 0;
+    }
+
+    /**
+     * Завершение или ошибка в очереди подписчика; обёртка не путается с элементами типа Throwable
+     */
+    static final class Terminal {
+        static final Terminal COMPLETE = new Terminal(null);
+
+        final Throwable error;
+
+        Terminal(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    static final class State<T> implements OnSubscribe<T> {
+        @SuppressWarnings("unchecked")
+        final SubscriberArray<BehaviorInner<T>> subscribers = new SubscriberArray<>(BehaviorInner[]::new);
+        volatile T value;
+        Throwable error;
+        Terminal terminal;
+        long index;
+
+        State(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public void call(ObservableEmitter<T> emitter) {
+            BehaviorInner<T> inner = new BehaviorInner<>(emitter, this);
+            if (subscribers.add(inner)) {
+                emitter.setCancellable(() -> subscribers.remove(inner));
+                inner.emitFirst();
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                emitter.onError(t);
+            } else {
+                emitter.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Подписчик с номером последнего учтённого значения. emitFirst берёт текущее значение
+     * под блокировкой Subject-а, а доставляет вне её; события, пришедшие во время этой доставки,
+     * копятся в очереди подписчика и выдаются следом. Событие с номером, который уже учтён
+     * в начальном значении, отбрасывается, поэтому старое значение не придёт после нового.
+     */
+    static final class BehaviorInner<T> {
+        private final ObservableEmitter<T> emitter;
+        private final State<T> state;
+
+        private boolean next;
+        private boolean emitting;
+        private List<Object> queue;
+        private long index;
+        private volatile boolean fastPath;
+
+        BehaviorInner(ObservableEmitter<T> emitter, State<T> state) {
+            this.emitter = emitter;
+            this.state = state;
+        }
+
+        void emitFirst() {
+            Object first;
+            synchronized (this) {
+                if (next) {
+                    return;
+                }
+                synchronized (state) {
+                    index = state.index;
+                    first = state.terminal != null ? state.terminal : state.value;
+                }
+                emitting = first != null;
+                next = true;
+            }
+            if (first != null && !deliver(first)) {
+                emitLoop();
+            }
+        }
+
+        void emitNext(Object event, long eventIndex) {
+            if (!fastPath) {
+                synchronized (this) {
+                    if (index == eventIndex) {
+                        return;
+                    }
+                    if (emitting) {
+                        if (queue == null) {
+                            queue = new ArrayList<>();
+                        }
+                        queue.add(event);
+                        return;
+                    }
+                    next = true;
+                }
+                fastPath = true;
+            }
+            deliver(event);
+        }
+
+        private void emitLoop() {
+            for (;;) {
+                List<Object> pending;
+                synchronized (this) {
+                    pending = queue;
+                    if (pending == null) {
+                        emitting = false;
+                        return;
+                    }
+                    queue = null;
+                }
+                for (Object event : pending) {
+                    if (deliver(event)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Передаёт событие эмиттеру; true, если это было завершение или ошибка
+         */
+        @SuppressWarnings("unchecked")
+        private boolean deliver(Object event) {
+            if (event instanceof Terminal terminal) {
+                if (terminal.error != null) {
+                    emitter.onError(terminal.error);
+                } else {
+                    emitter.onComplete();
+                }
+                return true;
+            }
+            emitter.onNext((T) event);
+            return false;
+        }
+    }
+}
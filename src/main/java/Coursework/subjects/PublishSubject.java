@@ -0,0 +1,68 @@
+package Coursework.subjects;
+
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+
+/**
+ * Subject, который передаёт подписчику только события, пришедшие после подписки.
+ * После завершения новые подписчики сразу получают onComplete или onError.
+ */
+public final class PublishSubject<T> extends Subject<T> {
+    private final State<T> state;
+
+    private PublishSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> PublishSubject<T> create() {
+        return new PublishSubject<>(new State<>());
+    }
+
+    @Override
+    public void onNext(T item) {
+        for (ObservableEmitter<T> emitter : state.subscribers.get()) {
+            emitter.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        state.error = t;
+        for (ObservableEmitter<T> emitter : state.subscribers.terminate()) {
+            emitter.onError(t);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        for (ObservableEmitter<T> emitter : state.subscribers.terminate()) {
+            emitter.onComplete();
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.get().length != 0;
+    }
+
+    static final class State<T> implements OnSubscribe<T> {
+        @SuppressWarnings("unchecked")
+        final SubscriberArray<ObservableEmitter<T>> subscribers = new SubscriberArray<>(ObservableEmitter[]::new);
+        volatile Throwable error;
+
+        @Override
+        public void call(ObservableEmitter<T> emitter) {
+            if (subscribers.add(emitter)) {
+                emitter.setCancellable(() -> subscribers.remove(emitter));
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                emitter.onError(t);
+            } else {
+                emitter.onComplete();
+            }
+        }
+    }
+}
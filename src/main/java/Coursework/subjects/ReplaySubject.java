@@ -0,0 +1,244 @@
+package Coursework.subjects;
+
+import Coursework.core.ObservableEmitter;
+import Coursework.core.OnSubscribe;
+import Coursework.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subject, который запоминает элементы и повторяет их каждому новому подписчику.
+ * Элементы хранятся в односвязном списке: каждый подписчик держит ссылку на последний
+ * полученный узел и сам догоняет хвост, поэтому запись не ждёт медленных подписчиков.
+ * Размер буфера можно ограничить числом элементов или их возрастом.
+ */
+public final class ReplaySubject<T> extends Subject<T> {
+    private final State<T> state;
+
+    private ReplaySubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    /**
+     * Хранит все элементы
+     */
+    public static <T> ReplaySubject<T> create() {
+        return new ReplaySubject<>(new State<>(Integer.MAX_VALUE, Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Хранит не больше maxSize последних элементов
+     */
+    public static <T> ReplaySubject<T> createWithSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(new State<>(maxSize, Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Хранит элементы, пришедшие не раньше maxAge назад
+     */
+    public static <T> ReplaySubject<T> createWithTime(long maxAge, TimeUnit unit) {
+        return createWithTime(maxAge, unit, null);
+    }
+
+    /**
+     * Как createWithTime(maxAge, unit), но возраст отсчитывается по часам scheduler-а
+     */
+    public static <T> ReplaySubject<T> createWithTime(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return new ReplaySubject<>(new State<>(Integer.MAX_VALUE, unit.toNanos(maxAge), scheduler));
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        if (state.done) {
+            return;
+        }
+        state.add(item);
+        for (ReplayEmitter<T> emitter : state.subscribers.get()) {
+            emitter.replay();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (state.done) {
+            return;
+        }
+        state.error = t;
+        state.done = true;
+        for (ReplayEmitter<T> emitter : state.subscribers.terminate()) {
+            emitter.replay();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (state.done) {
+            return;
+        }
+        state.done = true;
+        for (ReplayEmitter<T> emitter : state.subscribers.terminate()) {
+            emitter.replay();
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.get().length != 0;
+    }
+
+    static final class Node<T> extends AtomicReference<Node<T>> {
+        final T value;
+        final long time;
+
+        Node(T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Буфер и подписчики. Пишет в буфер только поток, вызывающий onNext; голова списка
+     * сдвигается при превышении ограничений, и старые узлы становятся недостижимыми.
+     */
+    static final class State<T> implements OnSubscribe<T> {
+        @SuppressWarnings("unchecked")
+        final SubscriberArray<ReplayEmitter<T>> subscribers = new SubscriberArray<>(ReplayEmitter[]::new);
+        private final int maxSize;
+        private final long maxAgeNanos;
+        private final Scheduler clock;
+
+        private volatile Node<T> head;
+        private Node<T> tail;
+        private int size;
+        volatile boolean done;
+        Throwable error;
+
+        State(int maxSize, long maxAgeNanos, Scheduler clock) {
+            this.maxSize = maxSize;
+            this.maxAgeNanos = maxAgeNanos;
+            this.clock = clock;
+            Node<T> sentinel = new Node<>(null, 0L);
+            this.tail = sentinel;
+            this.head = sentinel;
+        }
+
+        @Override
+        public void call(ObservableEmitter<T> emitter) {
+            ReplayEmitter<T> replayEmitter = new ReplayEmitter<>(emitter, this);
+            if (subscribers.add(replayEmitter)) {
+                emitter.setCancellable(() -> subscribers.remove(replayEmitter));
+            }
+            replayEmitter.replay();
+        }
+
+        void add(T item) {
+            boolean timed = maxAgeNanos != Long.MAX_VALUE;
+            long now = timed ? now() : 0L;
+            Node<T> node = new Node<>(item, now);
+            tail.set(node);
+            tail = node;
+            Node<T> h = head;
+            if (++size > maxSize) {
+                size--;
+                h = h.get();
+            }
+            if (timed) {
+                Node<T> next = h.get();
+                while (next != null && next != node && now - next.time > maxAgeNanos) {
+                    size--;
+                    h = next;
+                    next = h.get();
+                }
+            }
+            head = h;
+        }
+
+        private long now() {
+            return clock == null ? System.nanoTime() : clock.now(TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Узел, с которого начинает новый подписчик: устаревшие элементы пропускаются
+         */
+        Node<T> start() {
+            Node<T> h = head;
+            if (maxAgeNanos != Long.MAX_VALUE) {
+                long limit = now() - maxAgeNanos;
+                Node<T> next = h.get();
+                while (next != null && next.time - limit < 0) {
+                    h = next;
+                    next = h.get();
+                }
+            }
+            return h;
+        }
+    }
+
+    /**
+     * Подписчик ReplaySubject-а: wip гарантирует, что догоняет хвост только один поток
+     */
+    static final class ReplayEmitter<T> extends AtomicInteger {
+        private final ObservableEmitter<T> emitter;
+        private final State<T> state;
+        private Node<T> node;
+
+        ReplayEmitter(ObservableEmitter<T> emitter, State<T> state) {
+            this.emitter = emitter;
+            this.state = state;
+        }
+
+        void replay() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            Node<T> n = node;
+            if (n == null) {
+                n = state.start();
+            }
+            for (;;) {
+                for (;;) {
+                    if (emitter.isDisposed()) {
+                        node = null;
+                        return;
+                    }
+                    boolean d = state.done;
+                    Node<T> next = n.get();
+                    if (next == null) {
+                        if (d) {
+                            node = null;
+                            Throwable t = state.error;
+                            if (t != null) {
+                                emitter.onError(t);
+                            } else {
+                                emitter.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    emitter.onNext(next.value);
+                    n = next;
+                }
+                node = n;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
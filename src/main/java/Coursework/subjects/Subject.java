@@ -0,0 +1,20 @@
+package Coursework.subjects;
+
+import Coursework.core.Observable;
+import Coursework.core.Observer;
+import Coursework.core.OnSubscribe;
+
+/**
+ * Subject одновременно Observer и Observable: события, переданные в него, получают все его подписчики.
+ * Методы Observer-а нужно вызывать последовательно, как и у любого Observer-а.
+ */
+public abstract class Subject<T> extends Observable<T> implements Observer<T> {
+    protected Subject(OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+    }
+
+    /**
+     * true, если у Subject-а есть хотя бы один подписчик
+     */
+    public abstract boolean hasObservers();
+}
@@ -0,0 +1,79 @@
+package Coursework.subjects;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Подписчики Subject-а в массиве, который копируется при подписке и отписке.
+ * Доставка события только читает текущий массив и не берёт блокировок.
+ */
+final class SubscriberArray<E> extends AtomicReference<E[]> {
+    private final E[] empty;
+    private final E[] terminated;
+    private final IntFunction<E[]> factory;
+
+    SubscriberArray(IntFunction<E[]> factory) {
+        this.factory = factory;
+        this.empty = factory.apply(0);
+        this.terminated = factory.apply(0);
+        lazySet(empty);
+    }
+
+    /**
+     * Добавляет подписчика; false, если Subject уже завершён
+     */
+    boolean add(E subscriber) {
+        for (;;) {
+            E[] current = get();
+            if (current == terminated) {
+                return false;
+            }
+            int n = current.length;
+            E[] next = factory.apply(n + 1);
+            System.arraycopy(current, 0, next, 0, n);
+            next[n] = subscriber;
+            if (compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    void remove(E subscriber) {
+        for (;;) {
+            E[] current = get();
+            int n = current.length;
+            int index = -1;
+            for (int i = 0; i < n; i++) {
+                if (current[i] == subscriber) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            E[] next;
+            if (n == 1) {
+                next = empty;
+            } else {
+                next = factory.apply(n - 1);
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, n - index - 1);
+            }
+            if (compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Помечает Subject завершённым и возвращает подписчиков, которым нужно доставить финальное событие
+     */
+    E[] terminate() {
+        return getAndSet(terminated);
+    }
+
+    boolean isTerminated() {
+        return get() == terminated;
+    }
+}
@@ -0,0 +1,48 @@
+package Coursework.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Переход записей через границы окон отображения; окно уменьшено до нескольких байт
+ */
+public class FileObservablesTest {
+
+    @org.junit.jupiter.api.Test
+    void testRecordSplitAcrossWindowBoundary() throws IOException {
+        assertEquals(List.of("ab", "cd", "ef"), records("ab;cd;ef", 4),
+                "Запись, пересекающая границу окна, отображается заново целиком");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRecordLongerThanWindow() throws IOException {
+        assertEquals(List.of("a", "bcdefghij", "k"), records("a;bcdefghij;k", 4),
+                "Для записи длиннее окна окно удваивается");
+        assertEquals(List.of("abcdefghij"), records("abcdefghij", 4));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDelimiterOnLastByteOfWindow() throws IOException {
+        assertEquals(List.of("abc", "defg"), records("abc;defg", 4),
+                "Разделитель в последнем байте окна не даёт пустой записи");
+        assertEquals(List.of("abc", "def"), records("abc;def;", 4));
+    }
+
+    private static List<String> records(String content, int windowSize) throws IOException {
+        Path file = Files.createTempFile("records", ".txt");
+        try {
+            Files.writeString(file, content);
+            return FileObservables.records(file, (byte) ';', windowSize)
+                    .map(record -> StandardCharsets.UTF_8.decode(record).toString())
+                    .toList()
+                    .blockingFirst();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,14 +1,74 @@
+import Coursework.core.BackpressureStrategy;
+import Coursework.core.CircuitBreaker;
+import Coursework.core.CircuitBreakerOpenException;
+import Coursework.core.Completable;
+import Coursework.core.ConnectableObservable;
+import Coursework.core.DistinctSet;
 import Coursework.core.Disposable;
+import Coursework.core.DoubleObservable;
+import Coursework.core.DoubleObserver;
+import Coursework.core.Flowable;
+import Coursework.core.FlowableEmitter;
+import Coursework.core.FlowableOnSubscribe;
+import Coursework.core.GroupedObservable;
+import Coursework.core.IntObservable;
+import Coursework.core.IntObserver;
+import Coursework.core.LongObservable;
+import Coursework.core.LongObserver;
+import Coursework.core.Maybe;
+import Coursework.core.MissingBackpressureException;
 import Coursework.core.Observable;
 import Coursework.core.Observer;
+import Coursework.core.Scheduler;
+import Coursework.core.Single;
+import Coursework.core.Subscriber;
+import Coursework.core.Subscription;
+import Coursework.core.TestObserver;
+import Coursework.io.FileObservables;
+import Coursework.metrics.DefaultMetricsRegistry;
+import Coursework.metrics.LatencyHistogram;
+import Coursework.metrics.Metrics;
+import Coursework.metrics.OperatorMetrics;
+import Coursework.plugins.AssemblyStackTrace;
+import Coursework.plugins.ObservablePlugins;
 import Coursework.schedulers.ComputationScheduler;
+import Coursework.schedulers.IOThreadScheduler;
+import Coursework.schedulers.Schedulers;
+import Coursework.schedulers.SingleThreadScheduler;
+import Coursework.schedulers.TestScheduler;
+import Coursework.schedulers.VirtualThreadScheduler;
+import Coursework.subjects.BehaviorSubject;
+import Coursework.subjects.PublishSubject;
+import Coursework.subjects.ReplaySubject;
 import org.junit.jupiter.api.BeforeEach;
 
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,6 +109,27 @@ public class Test {
         };
     }
 
+    /**
+     * Создаёт Observer, который складывает элементы в переданный список
+     */
+    private Observer<Integer> createCollectingObserver(List<Integer> items) {
+        return new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+    }
+
     @org.junit.jupiter.api.Test
     void testMapOperator() {
         Observable<Integer> source = Observable.create(obs -> {
@@ -286,5 +367,2459 @@ public class Test {
         assertNotEquals(mainThread, threadName.get(),
                 "onNext должен выполняться не в основном потоке");
     }
-}
 
+    @org.junit.jupiter.api.Test
+    void testObserveOnPreservesOrderOnComputationScheduler() throws InterruptedException {
+        int count = 10_000;
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 0; i < count; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> localReceived = new ArrayList<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        source
+                .observeOn(new ComputationScheduler(), 16)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        localReceived.add(item);
+                        concurrent.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed = true;
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+        assertEquals(1, maxConcurrent.get(), "onNext не должен вызываться параллельно");
+        assertEquals(count, localReceived.size(), "Должны прийти все элементы");
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, localReceived.get(i), "Порядок элементов должен сохраняться");
+        }
+    }
+
+    /**
+     * Подписчик Flowable, который сам ничего не запрашивает: спрос задаётся тестом через subscription
+     */
+    private Subscriber<Integer> createIntegerSubscriber(AtomicReference<Subscription> subRef) {
+        return new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subRef.set(subscription);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        };
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableHonorsRequests() {
+        Flowable<Integer> source = Flowable.create(emitter -> {
+            for (int i = 1; i <= 10; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER);
+
+        AtomicReference<Subscription> subRef = new AtomicReference<>();
+        source.filter(x -> x % 2 == 0).map(x -> x * 10).subscribe(createIntegerSubscriber(subRef));
+
+        assertTrue(received.isEmpty(), "Без запроса элементы не доставляются");
+        subRef.get().request(2);
+        assertEquals(List.of(20, 40), received, "Должно прийти ровно два элемента");
+        assertFalse(completed, "Поток не должен завершиться, пока остаются элементы");
+        subRef.get().request(10);
+        assertEquals(List.of(20, 40, 60, 80, 100), received);
+        assertTrue(completed, "Поток должен завершиться");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableBackpressureStrategies() {
+        FlowableOnSubscribe<Integer> fiveItems = emitter -> {
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        };
+        AtomicReference<Subscription> subRef = new AtomicReference<>();
+
+        Flowable.create(fiveItems, BackpressureStrategy.DROP).subscribe(createIntegerSubscriber(subRef));
+        subRef.get().request(1);
+        assertTrue(received.isEmpty(), "DROP отбрасывает элементы без спроса");
+        assertTrue(completed);
+
+        setUp();
+        Flowable.create(fiveItems, BackpressureStrategy.LATEST).subscribe(createIntegerSubscriber(subRef));
+        subRef.get().request(1);
+        assertEquals(List.of(5), received, "LATEST сохраняет только последний элемент");
+        assertTrue(completed);
+
+        setUp();
+        Flowable.create(fiveItems, BackpressureStrategy.ERROR).subscribe(createIntegerSubscriber(subRef));
+        assertTrue(error instanceof MissingBackpressureException, "ERROR сразу сообщает о нехватке спроса");
+
+        setUp();
+        Flowable.create(fiveItems, BackpressureStrategy.BUFFER, 2).subscribe(createIntegerSubscriber(subRef));
+        subRef.get().request(Long.MAX_VALUE);
+        assertEquals(List.of(1, 2), received, "Ограниченный буфер доставляет то, что успел сохранить");
+        assertTrue(error instanceof MissingBackpressureException, "Переполнение буфера завершается ошибкой");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableFlatMapLimitsConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<FlowableEmitter<Integer>> pending = new ArrayList<>();
+        Flowable<Integer> source = Flowable.create(emitter -> {
+            for (int i = 0; i < 6; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER);
+
+        AtomicReference<Subscription> subRef = new AtomicReference<>();
+        source.flatMap(x -> Flowable.<Integer>create(emitter -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            pending.add(emitter);
+        }, BackpressureStrategy.BUFFER), 2, 4).subscribe(createIntegerSubscriber(subRef));
+        subRef.get().request(Long.MAX_VALUE);
+
+        for (int i = 0; i < pending.size(); i++) {
+            FlowableEmitter<Integer> emitter = pending.get(i);
+            emitter.onNext(i);
+            active.decrementAndGet();
+            emitter.onComplete();
+        }
+
+        assertEquals(2, maxActive.get(), "Одновременно активны не более двух внутренних потоков");
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), received);
+        assertTrue(completed, "Поток должен завершиться");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableObserveOnBoundsSource() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch sourceStopped = new CountDownLatch(1);
+        AtomicReference<Subscription> subRef = new AtomicReference<>();
+
+        Flowable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 1_000 && !emitter.isCancelled(); i++) {
+                        if (emitter.requested() == 0) {
+                            break;
+                        }
+                        emitted.incrementAndGet();
+                        emitter.onNext(i);
+                    }
+                    sourceStopped.countDown();
+                }, BackpressureStrategy.ERROR)
+                .subscribeOn(new IOThreadScheduler())
+                .observeOn(new SingleThreadScheduler(), 16)
+                .subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subRef.set(subscription);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS), "Ожидается вызов onNext");
+        assertTrue(sourceStopped.await(1, TimeUnit.SECONDS), "Источник должен остановиться без спроса");
+        assertNull(error, "Источник не должен превысить запрос");
+        assertEquals(16, emitted.get(), "Источник производит не больше prefetch элементов");
+        subRef.get().cancel();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlatMapMaxConcurrencySerializesEmissions() throws InterruptedException {
+        int outer = 200;
+        int perInner = 50;
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 0; i < outer; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+        ComputationScheduler scheduler = new ComputationScheduler();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        source.flatMap(x -> Observable.<Integer>create(inner -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    for (int i = 0; i < perInner; i++) {
+                        inner.onNext(i);
+                    }
+                    active.decrementAndGet();
+                    inner.onComplete();
+                }).subscribeOn(scheduler), 4, 16)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        count.incrementAndGet();
+                        concurrent.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed = true;
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+        assertTrue(maxActive.get() <= 4, "Одновременно активны не более четырёх внутренних потоков");
+        assertEquals(1, maxConcurrent.get(), "onNext не должен вызываться параллельно");
+        assertEquals(outer * perInner, count.get(), "Должны прийти все элементы");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDisposePropagatesToSource() {
+        AtomicInteger produced = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Observable<Integer> source = Observable.create(emitter -> {
+            emitter.setCancellable(() -> cancelled.set(true));
+            int i = 0;
+            while (!emitter.isDisposed() && i < 1_000) {
+                produced.incrementAndGet();
+                emitter.onNext(i++);
+            }
+        });
+
+        source
+                .map(x -> x + 1)
+                .filter(x -> x > 0)
+                .flatMap(x -> Observable.<Integer>create(inner -> {
+                    inner.onNext(x);
+                    inner.onComplete();
+                }))
+                .subscribe(new Observer<>() {
+                    private Disposable disposable;
+
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        disposable = d;
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                        if (received.size() == 3) {
+                            disposable.dispose();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed = true;
+                    }
+                });
+
+        assertEquals(List.of(1, 2, 3), received, "После отмены элементы не доставляются");
+        assertEquals(3, produced.get(), "Источник должен остановиться сразу после отмены");
+        assertTrue(cancelled.get(), "Должно быть вызвано действие отмены источника");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDisposeInterruptsSubscribeOnTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Observable<Integer> source = Observable.create(emitter -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                emitter.onNext(1);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        Disposable disposable = source.subscribeOn(new IOThreadScheduler()).subscribe(createIntegerObserver(null));
+        assertTrue(started.await(1, TimeUnit.SECONDS), "Источник должен запуститься");
+        disposable.dispose();
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "Отмена должна прервать задачу подписки");
+        assertTrue(disposable.isDisposed());
+        assertTrue(received.isEmpty());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testVirtualThreadSchedulerRespectsLimit() throws InterruptedException {
+        int sources = 50;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        CountDownLatch latch = new CountDownLatch(1);
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler(3);
+
+        Observable.<Integer>create(obs -> {
+                    for (int i = 0; i < sources; i++) {
+                        obs.onNext(i);
+                    }
+                    obs.onComplete();
+                })
+                .flatMap(x -> Observable.<Integer>create(inner -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    if (!Thread.currentThread().isVirtual()) {
+                        virtual.set(false);
+                    }
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        inner.onError(e);
+                        return;
+                    }
+                    running.decrementAndGet();
+                    inner.onNext(x);
+                    inner.onComplete();
+                }).subscribeOn(scheduler))
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+        assertEquals(sources, received.size());
+        assertTrue(virtual.get(), "Задачи должны выполняться на виртуальных потоках");
+        assertTrue(maxRunning.get() <= 3, "Одновременно выполняется не больше трёх задач");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSchedulersAreSharedDaemonPools() throws InterruptedException {
+        assertSame(Schedulers.computation(), Schedulers.computation(), "Экземпляр должен быть общим");
+        assertSame(Schedulers.io(), Schedulers.io(), "Экземпляр должен быть общим");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        Schedulers.io().execute(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS), "Ожидается выполнение задачи");
+        assertTrue(thread.get().isDaemon(), "Потоки пулов должны быть демоническими");
+        assertTrue(thread.get().getName().startsWith("io-"), "Поток должен называться по имени пула");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testWorkerExecutesTasksInOrder() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler().createWorker();
+        int count = 1_000;
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            worker.schedule(() -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                order.add(value);
+                concurrent.decrementAndGet();
+                if (value == count - 1) {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Ожидается выполнение всех задач");
+        assertEquals(1, maxConcurrent.get(), "Задачи Worker-а не должны пересекаться");
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, order.get(i), "Задачи Worker-а выполняются по порядку");
+        }
+        worker.dispose();
+        assertTrue(worker.isDisposed());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSchedulerShutdownAndStart() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        scheduler.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> {
+        }), "После shutdown задачи отклоняются");
+
+        scheduler.start();
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS), "После start задачи снова выполняются");
+        scheduler.shutdown();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFusedMapFilterChain() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> source = Observable.create(obs -> {
+            subscriptions.incrementAndGet();
+            for (int i = 1; i <= 10; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        Observable<Integer> evens = source.map(x -> x * 3).filter(x -> x % 2 == 0);
+        Observable<Integer> chain = evens.map(x -> x + 1).filter(x -> x > 10).map(x -> x * 10);
+
+        chain.subscribe(createIntegerObserver(null));
+        assertNull(error, "Не ожидается ошибка");
+        assertTrue(completed, "Поток должен завершиться");
+        assertEquals(List.of(130, 190, 250, 310), received);
+
+        // Промежуточная цепочка не меняется от того, что к ней добавили стадии
+        setUp();
+        evens.subscribe(createIntegerObserver(null));
+        assertEquals(List.of(6, 12, 18, 24, 30), received);
+        assertEquals(2, subscriptions.get(), "Каждая подписка подписывается на источник ровно один раз");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFusedChainErrorStopsSource() {
+        AtomicInteger produced = new AtomicInteger();
+        RuntimeException ex = new RuntimeException("filter error");
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 1; i <= 10 && !obs.isDisposed(); i++) {
+                produced.incrementAndGet();
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        source.map(x -> x * 2).filter(x -> {
+            if (x == 4) {
+                throw ex;
+            }
+            return true;
+        }).map(x -> x + 1).subscribe(createIntegerObserver(null));
+
+        assertSame(ex, error, "Ошибка стадии должна дойти до подписчика");
+        assertFalse(completed, "Поток не должен завершиться при ошибке");
+        assertEquals(List.of(3), received);
+        assertEquals(2, produced.get(), "Источник должен остановиться после ошибки");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testIntObservablePipeline() {
+        AtomicInteger sum = new AtomicInteger();
+        IntObservable.range(1, 10)
+                .map(x -> x * 2)
+                .filter(x -> x % 3 != 0)
+                .sum()
+                .subscribe(new IntObserver() {
+                    @Override
+                    public void onNext(int item) {
+                        sum.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed = true;
+                    }
+                });
+
+        assertNull(error, "Не ожидается ошибка");
+        assertTrue(completed, "Поток должен завершиться");
+        assertEquals(2 + 4 + 8 + 10 + 14 + 16 + 20, sum.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testPrimitiveObservableConversions() {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 1; i <= 4; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        IntObservable.fromObservable(source).map(x -> x * x).boxed().subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 4, 9, 16), received);
+        assertTrue(completed, "Поток должен завершиться");
+
+        setUp();
+        source.mapToLong(x -> x * 1_000_000_000L)
+                .sum()
+                .mapToObj(x -> (int) (x / 1_000_000_000L))
+                .subscribe(createIntegerObserver(null));
+        assertEquals(List.of(10), received, "Сумма в long не должна переполняться");
+
+        setUp();
+        source.mapToDouble(x -> x / 2.0)
+                .filter(x -> x >= 1.0)
+                .mapToObj(x -> (int) (x * 10))
+                .subscribe(createIntegerObserver(null));
+        assertEquals(List.of(10, 15, 20), received);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testBufferByCountAndTime() throws InterruptedException {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 1; i <= 5; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        List<List<Integer>> byCount = new ArrayList<>();
+        source.buffer(2).subscribe(new Observer<>() {
+            @Override
+            public void onNext(List<Integer> item) {
+                byCount.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        });
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), byCount);
+        assertTrue(completed, "Поток должен завершиться");
+
+        // Таймер не успевает сработать: списки режутся по maxSize, остаток уходит при завершении
+        List<List<Integer>> byTime = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        source.buffer(1, TimeUnit.MINUTES, Schedulers.single(), 2).subscribe(new Observer<>() {
+            @Override
+            public void onNext(List<Integer> item) {
+                byTime.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Буфер должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), byTime);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDebounceAndTimeout() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        List<Integer> debounced = new CopyOnWriteArrayList<>();
+        Observable.<Integer>create(obs -> {
+                    obs.onNext(1);
+                    obs.onNext(2);
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        obs.onError(e);
+                        return;
+                    }
+                    obs.onNext(3);
+                    obs.onComplete();
+                })
+                .subscribeOn(Schedulers.io())
+                .debounce(100, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        debounced.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.countDown();
+                    }
+                });
+        assertTrue(done.await(5, TimeUnit.SECONDS), "debounce должен завершиться");
+        assertEquals(List.of(2, 3), debounced, "Элемент 1 вытесняется элементом 2, 3 отправляется при завершении");
+
+        CountDownLatch timedOut = new CountDownLatch(1);
+        AtomicReference<Throwable> timeoutError = new AtomicReference<>();
+        Observable.<Integer>create(obs -> {
+                })
+                .timeout(50, TimeUnit.MILLISECONDS)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        timeoutError.set(t);
+                        timedOut.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+        assertTrue(timedOut.await(5, TimeUnit.SECONDS), "Ожидается срабатывание timeout");
+        assertInstanceOf(TimeoutException.class, timeoutError.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testIntervalStopsOnDispose() throws InterruptedException {
+        CountDownLatch three = new CountDownLatch(3);
+        List<Long> ticks = new CopyOnWriteArrayList<>();
+        Disposable disposable = Observable.interval(10, TimeUnit.MILLISECONDS).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Long item) {
+                ticks.add(item);
+                three.countDown();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertTrue(three.await(5, TimeUnit.SECONDS), "Ожидаются три тика");
+        disposable.dispose();
+        int count = ticks.size();
+        Thread.sleep(100);
+
+        assertEquals(List.of(0L, 1L, 2L), ticks.subList(0, 3));
+        assertTrue(ticks.size() <= count + 1, "После dispose тики должны прекратиться");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testShareAndCacheRunSourceOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> source = Observable.create(obs -> {
+            subscriptions.incrementAndGet();
+            for (int i = 1; i <= 3; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        ConnectableObservable<Integer> published = source.publish();
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        published.subscribe(createCollectingObserver(first));
+        published.subscribe(createCollectingObserver(second));
+        assertTrue(first.isEmpty(), "До connect() источник не запускается");
+        published.connect();
+        assertEquals(List.of(1, 2, 3), first);
+        assertEquals(List.of(1, 2, 3), second);
+        assertEquals(1, subscriptions.get(), "Оба подписчика обслуживаются одной подпиской");
+
+        Observable<Integer> cached = source.cache();
+        cached.subscribe(createIntegerObserver(null));
+        cached.subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 2, 3, 1, 2, 3), received, "Второй подписчик получает сохранённые элементы");
+        assertTrue(completed, "Поток должен завершиться");
+        assertEquals(2, subscriptions.get(), "cache() подписывается на источник один раз");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSubjects() {
+        PublishSubject<Integer> publish = PublishSubject.create();
+        publish.onNext(1);
+        Disposable d = publish.subscribe(createIntegerObserver(null));
+        publish.onNext(2);
+        assertTrue(publish.hasObservers());
+        d.dispose();
+        assertFalse(publish.hasObservers(), "Отписка удаляет подписчика из Subject-а");
+        publish.onNext(3);
+        assertEquals(List.of(2), received);
+
+        setUp();
+        BehaviorSubject<Integer> behavior = BehaviorSubject.createDefault(0);
+        behavior.onNext(1);
+        behavior.subscribe(createIntegerObserver(null));
+        behavior.onNext(2);
+        behavior.onComplete();
+        assertEquals(List.of(1, 2), received, "Новый подписчик получает последнее значение");
+        assertTrue(completed, "Поток должен завершиться");
+
+        setUp();
+        ReplaySubject<Integer> replay = ReplaySubject.createWithSize(2);
+        for (int i = 1; i <= 5; i++) {
+            replay.onNext(i);
+        }
+        replay.onComplete();
+        replay.subscribe(createIntegerObserver(null));
+        assertEquals(List.of(4, 5), received, "Хранятся только последние элементы");
+        assertTrue(completed, "Поток должен завершиться");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testShareDisconnectsWhenLastObserverLeaves() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        PublishSubject<Integer> upstream = PublishSubject.create();
+        Observable<Integer> shared = Observable.<Integer>create(obs -> {
+            obs.setCancellable(() -> cancelled.set(true));
+            upstream.subscribe(new Observer<>() {
+                @Override
+                public void onNext(Integer item) {
+                    obs.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    obs.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    obs.onComplete();
+                }
+            });
+        }).share();
+
+        List<Integer> other = new ArrayList<>();
+        Disposable first = shared.subscribe(createIntegerObserver(null));
+        Disposable second = shared.subscribe(createCollectingObserver(other));
+        upstream.onNext(1);
+        first.dispose();
+        upstream.onNext(2);
+        assertFalse(cancelled.get(), "Источник работает, пока есть подписчики");
+        second.dispose();
+        assertTrue(cancelled.get(), "Последняя отписка отключает источник");
+        assertEquals(List.of(1), received);
+        assertEquals(List.of(1, 2), other);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testParallelRails() throws InterruptedException {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 1; i <= 1000; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> ordered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        source.parallel(4)
+                .runOn(Schedulers.computation(), 16)
+                .map(x -> {
+                    threads.add(Thread.currentThread().getName());
+                    return x * 2;
+                })
+                .filter(x -> x % 3 != 0)
+                .sequential(true)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        ordered.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error = t;
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.countDown();
+                    }
+                });
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Параллельный поток должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            if (i * 2 % 3 != 0) {
+                expected.add(i * 2);
+            }
+        }
+        assertEquals(expected, ordered, "sequential(true) сохраняет порядок источника");
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("computation")),
+                "Стадии рельсов выполняются в вычислительном пуле");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testParallelReduceAndSorted() {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 10; i >= 1; i--) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+
+        source.parallel(3).reduce(Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(55), received);
+        assertTrue(completed, "Поток должен завершиться");
+
+        setUp();
+        source.parallel(3).map(x -> x * 10).sorted(Comparator.naturalOrder()).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100), received);
+
+        setUp();
+        source.parallel(3).reduce(() -> 0, (acc, x) -> acc + 1).sequential(true).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(4, 3, 3), received, "Элементы раздаются по рельсам по кругу");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testMeteredPublishesCountersAndJmx() throws Exception {
+        Observable.<Integer>create(obs -> {
+                    for (int i = 1; i <= 10; i++) {
+                        obs.onNext(i);
+                    }
+                    obs.onError(new RuntimeException("boom"));
+                })
+                .metered("test-probe")
+                .subscribe(createIntegerObserver(null));
+
+        OperatorMetrics metrics = Metrics.operator("test-probe");
+        assertEquals(10, metrics.getItemsIn());
+        assertEquals(10, metrics.getItemsOut());
+        assertEquals(1, metrics.getErrors());
+        assertEquals(10, Metrics.histogram("test-probe").getCount());
+
+        ObjectName name = new ObjectName("Coursework.metrics:type=Operator,name=" + ObjectName.quote("test-probe"));
+        assertEquals(10L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ItemsIn"),
+                "Счётчики доступны через JMX");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new DefaultMetricsRegistry(false).histogram("latency");
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertTrue(histogram.getP50() >= 1_000 && histogram.getP50() < 2_048, "p50 попадает в корзину 1 мкс");
+        assertTrue(histogram.percentile(1.0) >= 1_000_000, "p100 равен максимуму");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testPluginsReportUndeliverableErrorsAndDecorateTasks() throws InterruptedException {
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        AtomicInteger decorated = new AtomicInteger();
+        ObservablePlugins.setOnError(undeliverable::add);
+        ObservablePlugins.setOnSchedule(task -> {
+            decorated.incrementAndGet();
+            return task;
+        });
+        try {
+            Observable.<Integer>create(obs -> {
+                obs.onError(new IllegalStateException("first"));
+                obs.onError(new IllegalStateException("second"));
+            }).map(x -> x + 1).subscribe(createIntegerObserver(null));
+
+            assertEquals("first", error.getMessage());
+            assertEquals(1, undeliverable.size(), "Вторая ошибка уходит в обработчик плагинов");
+            assertEquals("second", undeliverable.get(0).getMessage());
+
+            CountDownLatch latch = new CountDownLatch(1);
+            Observable.<Integer>create(obs -> {
+                obs.onNext(1);
+                obs.onComplete();
+                latch.countDown();
+            }).subscribeOn(Schedulers.io()).subscribe(createIntegerObserver(null));
+            assertTrue(latch.await(2, TimeUnit.SECONDS), "Поток должен завершиться");
+            assertTrue(decorated.get() > 0, "Задачи Scheduler-а проходят через хук onSchedule");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testAssemblyTrackingRecordsCallSite() {
+        ObservablePlugins.setAssemblyTracking(true);
+        try {
+            Observable.<Integer>create(obs -> obs.onError(new IllegalStateException("boom")))
+                    .map(x -> x * 2)
+                    .subscribe(createIntegerObserver(null));
+        } finally {
+            ObservablePlugins.reset();
+        }
+
+        assertEquals("boom", error.getMessage());
+        assertEquals(2, error.getSuppressed().length, "Каждый оператор добавляет место своей сборки");
+        assertTrue(error.getSuppressed()[0] instanceof AssemblyStackTrace);
+        assertTrue(error.getSuppressed()[0].getMessage().contains("Test.testAssemblyTrackingRecordsCallSite"),
+                "Место сборки указывает на пользовательский код");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testCreateSerializedWithConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Observable.<Integer>createSerialized(obs -> {
+            Thread[] threads = new Thread[producers];
+            for (int p = 0; p < producers; p++) {
+                threads[p] = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        obs.onNext(i);
+                    }
+                });
+                threads[p].start();
+            }
+            for (Thread thread : threads) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    obs.onError(e);
+                    return;
+                }
+            }
+            obs.onComplete();
+        }).subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                if (inFlight.incrementAndGet() != 1) {
+                    overlaps.incrementAndGet();
+                }
+                count.incrementAndGet();
+                inFlight.decrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Поток должен завершиться");
+        assertNull(error, "Не ожидается ошибка");
+        assertEquals(0, overlaps.get(), "onNext не должен вызываться из двух потоков одновременно");
+        assertEquals(producers * perProducer, count.get(), "Ни один элемент не должен потеряться");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFileLinesAndRecords() throws IOException {
+        Path file = Files.createTempFile("lines", ".txt");
+        try {
+            Files.writeString(file, "alpha\r\nбета\n\ngamma");
+            List<String> lines = new ArrayList<>();
+            FileObservables.lines(file).subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    lines.add(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error = t;
+                }
+
+                @Override
+                public void onComplete() {
+                    completed = true;
+                }
+            });
+            assertNull(error, "Не ожидается ошибка");
+            assertTrue(completed, "Поток должен завершиться");
+            assertEquals(List.of("alpha", "бета", "", "gamma"), lines);
+
+            Files.writeString(file, "1;22;333;4444");
+            List<Integer> lengths = new ArrayList<>();
+            FileObservables.records(file, (byte) ';')
+                    .map(record -> StandardCharsets.UTF_8.decode(record).toString().length())
+                    .subscribe(new Observer<Integer>() {
+                        private Disposable upstream;
+
+                        @Override
+                        public void onSubscribe(Disposable d) {
+                            upstream = d;
+                        }
+
+                        @Override
+                        public void onNext(Integer item) {
+                            lengths.add(item);
+                            if (lengths.size() == 2) {
+                                upstream.dispose();
+                            }
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            error = t;
+                        }
+
+                        @Override
+                        public void onComplete() {
+                        }
+                    });
+            assertNull(error, "Не ожидается ошибка");
+            assertEquals(List.of(1, 2), lengths, "Отмена останавливает чтение файла");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFileChunksWriteRoundTrip() throws IOException {
+        Path source = Files.createTempFile("chunks", ".bin");
+        Path target = Files.createTempFile("chunks", ".copy");
+        try {
+            byte[] data = new byte[10_000];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) i;
+            }
+            Files.write(source, data);
+
+            List<Long> written = new ArrayList<>();
+            List<Integer> sizes = new CopyOnWriteArrayList<>();
+            FileObservables.write(FileObservables.chunks(source, 3_000).map(chunk -> {
+                        sizes.add(chunk.remaining());
+                        return chunk;
+                    }), target, 3)
+                    .subscribe(new Observer<Long>() {
+                        @Override
+                        public void onNext(Long item) {
+                            written.add(item);
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            error = t;
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            completed = true;
+                        }
+                    });
+
+            assertNull(error, "Не ожидается ошибка");
+            assertTrue(completed, "Поток должен завершиться");
+            assertEquals(List.of(3_000, 3_000, 3_000, 1_000), sizes);
+            assertEquals(List.of(10_000L), written);
+            assertArrayEquals(data, Files.readAllBytes(target), "Копия совпадает с исходным файлом");
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testReduceScanCountAndCollect() {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int i = 1; i <= 5; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        });
+        Observable<Integer> empty = Observable.create(obs -> obs.onComplete());
+
+        source.reduce(Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(15), received);
+        assertTrue(completed, "Поток должен завершиться");
+
+        setUp();
+        empty.reduce(Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(), received, "Свёртка пустого потока без seed ничего не отдаёт");
+        assertTrue(completed, "Поток должен завершиться");
+
+        setUp();
+        empty.reduce(100, Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(100), received, "Свёртка пустого потока отдаёт seed");
+
+        setUp();
+        source.scan(Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 3, 6, 10, 15), received);
+
+        setUp();
+        source.scan(10, Integer::sum).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(10, 11, 13, 16, 20, 25), received);
+
+        setUp();
+        source.count().map(Long::intValue).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(5), received);
+
+        List<List<Integer>> lists = new ArrayList<>();
+        Observable<List<Integer>> toList = source.filter(x -> x % 2 == 1).toList();
+        toList.subscribe(createCollectingListObserver(lists));
+        toList.subscribe(createCollectingListObserver(lists));
+        assertEquals(List.of(List.of(1, 3, 5), List.of(1, 3, 5)), lists, "Каждая подписка получает свой список");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testGroupByWithMaxGroups() {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int x : new int[]{1, 11, 2, 3, 21, 4}) {
+                obs.onNext(x);
+            }
+            obs.onComplete();
+        });
+
+        Map<Integer, List<Integer>> all = new ConcurrentHashMap<>();
+        source.groupBy(x -> x % 10).subscribe(createGroupObserver(all, new ArrayList<>()));
+        assertEquals(Map.of(1, List.of(1, 11, 21), 2, List.of(2), 3, List.of(3), 4, List.of(4)), all);
+
+        List<Integer> keys = new ArrayList<>();
+        Map<Integer, List<Integer>> bounded = new ConcurrentHashMap<>();
+        source.groupBy(x -> x % 10, 2, 0, TimeUnit.SECONDS).subscribe(createGroupObserver(bounded, keys));
+        assertEquals(List.of(1, 2, 3, 1, 4), keys, "Лишняя группа вытесняет самую давнюю, ключ открывается заново");
+        assertEquals(List.of(21), bounded.get(1), "Повторно открытая группа содержит только новые элементы");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDistinctVariants() {
+        Observable<Integer> source = Observable.create(obs -> {
+            for (int x : new int[]{1, 1, 2, 1, 3, 3, 2, 4}) {
+                obs.onNext(x);
+            }
+            obs.onComplete();
+        });
+
+        source.distinct().subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 2, 3, 4), received);
+
+        setUp();
+        source.distinctUntilChanged().subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 2, 1, 3, 2, 4), received);
+
+        setUp();
+        source.distinct(x -> x, () -> DistinctSet.lru(1)).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 2, 1, 3, 2, 4), received, "LRU на один ключ помнит только последний");
+
+        setUp();
+        source.distinct(x -> x, () -> DistinctSet.bloom(1_000, 0.01)).subscribe(createIntegerObserver(null));
+        assertEquals(List.of(1, 2, 3, 4), received);
+    }
+
+    /**
+     * Подписывается на каждую группу и складывает её элементы в map по ключу
+     */
+    private Observer<GroupedObservable<Integer, Integer>> createGroupObserver(Map<Integer, List<Integer>> groups,
+                                                                              List<Integer> keys) {
+        return new Observer<>() {
+            @Override
+            public void onNext(GroupedObservable<Integer, Integer> group) {
+                keys.add(group.getKey());
+                List<Integer> items = new ArrayList<>();
+                groups.put(group.getKey(), items);
+                group.subscribe(createCollectingObserver(items));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        };
+    }
+
+    private Observer<List<Integer>> createCollectingListObserver(List<List<Integer>> lists) {
+        return new Observer<>() {
+            @Override
+            public void onNext(List<Integer> item) {
+                lists.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowPublisherInterop() throws Exception {
+        CompletableFuture<List<Integer>> result;
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            result = Observable.fromPublisher(publisher).toList().toFuture();
+            for (int i = 1; i <= 5; i++) {
+                publisher.submit(i);
+            }
+        }
+        assertEquals(List.of(1, 2, 3, 4, 5), result.get(2, TimeUnit.SECONDS));
+
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        Observable.fromIterable(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)).toPublisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+            }
+
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        });
+        assertEquals(List.of(1, 2, 3), items, "Publisher отдаёт не больше запрошенного");
+        subscription.get().request(2);
+        assertEquals(List.of(1, 2, 3, 4, 5), items);
+        assertFalse(completed, "Поток не завершается, пока не отданы все элементы");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFuturesAndLazySources() throws Exception {
+        assertEquals(42, Observable.fromFuture(CompletableFuture.completedFuture(42)).toFuture().get());
+
+        Observable.<Integer>fromFuture(CompletableFuture.failedFuture(new IllegalStateException("boom")))
+                .subscribe(createIntegerObserver(null));
+        assertTrue(error instanceof IllegalStateException, "Ошибка future передаётся без обёртки");
+
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> infinite = Stream.iterate(1, x -> {
+            pulled.incrementAndGet();
+            return x + 1;
+        }).onClose(() -> closed.set(true));
+        assertEquals(10, Observable.fromStream(infinite).map(x -> x * 10).firstAsFuture().get());
+        assertTrue(pulled.get() <= 1, "Бесконечный Stream перебирается лениво");
+        assertTrue(closed.get(), "Stream закрывается после отмены подписки");
+
+        ExecutionException empty = assertThrows(ExecutionException.class,
+                () -> Observable.fromIterable(List.<Integer>of()).toFuture().get());
+        assertTrue(empty.getCause() instanceof java.util.NoSuchElementException);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testBlockingFirstLastForEachAndSubscribe() {
+        Observable<Integer> source = Observable.<Integer>create(obs -> {
+            for (int i = 1; i <= 100; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        }).subscribeOn(Schedulers.io());
+
+        assertEquals(1, source.blockingFirst());
+        assertEquals(100, source.blockingLast());
+
+        List<String> threads = new ArrayList<>();
+        AtomicInteger sum = new AtomicInteger();
+        source.blockingForEach(x -> {
+            sum.addAndGet(x);
+            threads.add(Thread.currentThread().getName());
+        });
+        assertEquals(5050, sum.get());
+        assertTrue(threads.stream().allMatch(Thread.currentThread().getName()::equals),
+                "blockingForEach вызывает action в вызывающем потоке");
+
+        Observable<Integer> failing = Observable.<Integer>create(obs -> obs.onError(new IllegalStateException("boom")))
+                .subscribeOn(Schedulers.io());
+        assertThrows(IllegalStateException.class, failing::blockingSubscribe);
+        assertThrows(java.util.NoSuchElementException.class,
+                () -> Observable.<Integer>create(obs -> obs.onComplete()).blockingFirst());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testBlockingIterableWithPrefetch() {
+        int total = 0;
+        for (int x : Observable.<Integer>create(obs -> {
+            for (int i = 1; i <= 1_000; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+        }).subscribeOn(Schedulers.computation()).blockingIterable(16)) {
+            total += x;
+        }
+        assertEquals(500_500, total);
+
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Flowable<Integer> flowable = Flowable.fromPublisher(subscriber -> subscriber.onSubscribe(new Subscription() {
+            private int next = 1;
+            private boolean done;
+
+            @Override
+            public void request(long n) {
+                requests.add(n);
+                for (long i = 0; i < n && next <= 40; i++) {
+                    subscriber.onNext(next++);
+                }
+                if (next > 40 && !done) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        }));
+        List<Integer> items = new ArrayList<>();
+        flowable.blockingIterable(8).forEach(items::add);
+        assertEquals(40, items.size());
+        assertEquals(8L, requests.get(0), "Первый запрос равен prefetch");
+        assertTrue(requests.stream().skip(1).allMatch(n -> n == 6L), "Запрос пополняется пачками по 3/4 prefetch");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testVirtualTimeWithTestScheduler() {
+        TestScheduler scheduler = new TestScheduler();
+
+        TestObserver<Long> ticks = Observable.interval(1, TimeUnit.SECONDS, scheduler).test();
+        ticks.assertNoValues();
+        scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+        ticks.assertValues(0L, 1L, 2L).assertNotComplete();
+        ticks.dispose();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        ticks.assertValueCount(3);
+        assertEquals(0, scheduler.pendingTasks(), "Отменённая периодическая задача не остаётся в очереди");
+
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestObserver<Integer> debounced = subject.debounce(100, TimeUnit.MILLISECONDS, scheduler).test();
+        subject.onNext(1);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        subject.onNext(2);
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        debounced.assertNoValues();
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        debounced.assertValues(2);
+
+        TestObserver<Integer> timedOut = Observable.<Integer>create(obs -> obs.onNext(1))
+                .timeout(5, TimeUnit.SECONDS, scheduler)
+                .test();
+        scheduler.advanceTimeBy(4, TimeUnit.SECONDS);
+        timedOut.assertValues(1).assertNoErrors();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        timedOut.assertError(TimeoutException.class);
+        assertEquals(18_150, scheduler.now(TimeUnit.MILLISECONDS), "Время виртуальное и равно сумме сдвигов");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTestObserverAwaitAndReplayWithVirtualClock() {
+        Observable.<Integer>create(obs -> {
+                    obs.onNext(1);
+                    obs.onNext(2);
+                    obs.onComplete();
+                })
+                .subscribeOn(Schedulers.computation())
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValues(1, 2)
+                .assertComplete()
+                .assertNoErrors();
+
+        TestObserver<Integer> never = Observable.<Integer>create(obs -> { }).test();
+        assertThrows(AssertionError.class, () -> never.awaitDone(10, TimeUnit.MILLISECONDS));
+        assertTrue(never.isDisposed(), "По таймауту awaitDone отменяет подписку");
+
+        TestScheduler scheduler = new TestScheduler();
+        ReplaySubject<Integer> replay = ReplaySubject.createWithTime(1, TimeUnit.SECONDS, scheduler);
+        replay.onNext(1);
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+        replay.onNext(2);
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+        replay.test().assertValues(2).assertNotComplete();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testComputationSchedulerStealsWorkFromBusyLoop() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2);
+        CountDownLatch inner = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> outerThread = new AtomicReference<>();
+        AtomicReference<String> innerThread = new AtomicReference<>();
+        AtomicBoolean stolen = new AtomicBoolean();
+
+        scheduler.execute(() -> {
+            outerThread.set(Thread.currentThread().getName());
+            // Задача встаёт в очередь занятого цикла; выполнить её может только соседний цикл
+            scheduler.execute(() -> {
+                innerThread.set(Thread.currentThread().getName());
+                inner.countDown();
+            });
+            try {
+                stolen.set(inner.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Внешняя задача должна завершиться");
+        assertTrue(stolen.get(), "Простаивающий цикл должен забрать задачу у занятого");
+        assertNotEquals(outerThread.get(), innerThread.get(), "Задачу выполняет другой цикл");
+        assertTrue(innerThread.get().startsWith("computation-"), "Поток называется по имени пула");
+
+        scheduler.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> { }));
+        scheduler.start();
+        CountDownLatch restarted = new CountDownLatch(1);
+        scheduler.createWorker().schedule(restarted::countDown);
+        assertTrue(restarted.await(5, TimeUnit.SECONDS), "После start() Scheduler снова принимает задачи");
+        scheduler.shutdown();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRetryRepeatAndErrorFallbacks() {
+        AtomicInteger attempts = new AtomicInteger();
+        Observable<Integer> flaky = Observable.create(obs -> {
+            obs.onNext(attempts.get());
+            if (attempts.incrementAndGet() < 3) {
+                obs.onError(new IOException("attempt " + attempts.get()));
+            } else {
+                obs.onComplete();
+            }
+        });
+        flaky.retry(2).test().assertValues(0, 1, 2).assertComplete();
+
+        attempts.set(0);
+        flaky.retry(1).test().assertValues(0, 1).assertError(IOException.class);
+
+        attempts.set(0);
+        flaky.retry(5, error -> !(error instanceof IOException)).test().assertValues(0).assertError(IOException.class);
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> failing = Observable.create(obs -> {
+            subscriptions.incrementAndGet();
+            obs.onError(new IllegalStateException());
+        });
+        failing.retry(100_000).test().assertError(IllegalStateException.class);
+        assertEquals(100_001, subscriptions.get(), "Синхронная переподписка не должна переполнять стек");
+
+        Observable.fromIterable(List.of(1, 2)).repeat(3).test().assertValues(1, 2, 1, 2, 1, 2).assertComplete();
+
+        failing.onErrorReturn(error -> -1).test().assertValues(-1).assertComplete();
+        Observable.<Integer>create(obs -> {
+                    obs.onNext(1);
+                    obs.onError(new IllegalStateException());
+                })
+                .onErrorResumeNext(error -> Observable.fromIterable(List.of(2, 3)))
+                .test()
+                .assertValues(1, 2, 3)
+                .assertComplete();
+
+        subscriptions.set(0);
+        failing.retryWhen(errors -> errors.flatMap(error -> subscriptions.get() < 3
+                        ? Observable.fromIterable(List.of(error))
+                        : Observable.<Throwable>create(obs -> obs.onError(error))))
+                .test()
+                .assertError(IllegalStateException.class);
+        assertEquals(3, subscriptions.get(), "retryWhen переподписывается на каждый элемент handler-а");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testRetryWithBackoffAndCircuitBreakerOnVirtualTime() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> failing = Observable.create(obs -> {
+            subscriptions.incrementAndGet();
+            obs.onError(new IOException("unavailable"));
+        });
+
+        TestObserver<Integer> backoff = failing
+                .retryWithBackoff(3, 100, 300, TimeUnit.MILLISECONDS, scheduler)
+                .test();
+        assertEquals(1, subscriptions.get());
+        scheduler.advanceTimeBy(49, TimeUnit.MILLISECONDS);
+        assertEquals(1, subscriptions.get(), "Задержка с разбросом не короче половины базовой");
+        scheduler.advanceTimeBy(51, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get(), "Первая повторная попытка не позже 100 мс");
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+        assertEquals(4, subscriptions.get(), "Задержки растут до maxDelay: 200 и 300 мс");
+        backoff.assertError(IOException.class);
+        assertEquals(0, scheduler.pendingTasks(), "После исчерпания попыток таймеров не остаётся");
+
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, TimeUnit.SECONDS, scheduler);
+        subscriptions.set(0);
+        failing.circuitBreaker(breaker).test().assertError(IOException.class);
+        failing.circuitBreaker(breaker).test().assertError(IOException.class);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        failing.circuitBreaker(breaker).test().assertError(CircuitBreakerOpenException.class);
+        assertEquals(2, subscriptions.get(), "Разомкнутый автомат не обращается к источнику");
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        failing.circuitBreaker(breaker).test().assertError(IOException.class);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "Неудачная проба снова размыкает автомат");
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Observable.fromIterable(List.of(1)).circuitBreaker(breaker).test().assertValues(1).assertComplete();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "Успешная проба замыкает автомат");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testMergeConcatAndConcatMapEager() {
+        IOThreadScheduler io = new IOThreadScheduler();
+        List<Observable<Integer>> sources = new ArrayList<>();
+        for (int s = 0; s < 4; s++) {
+            int base = s * 1_000;
+            sources.add(Observable.<Integer>create(obs -> {
+                for (int i = 0; i < 1_000; i++) {
+                    obs.onNext(base + i);
+                }
+                obs.onComplete();
+            }).subscribeOn(io));
+        }
+        TestObserver<Integer> merged = Observable.merge(sources, 2).test().awaitDone(5, TimeUnit.SECONDS);
+        merged.assertValueCount(4_000).assertComplete();
+        assertEquals(4_000, Set.copyOf(merged.values()).size(), "merge выдаёт каждый элемент ровно один раз");
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, Observable.concat(sources).test().awaitDone(5, TimeUnit.SECONDS).values(),
+                "concat сохраняет порядок источников");
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Observable.fromIterable(List.of(0, 1, 2))
+                .concatMapEager(i -> Observable.<Integer>create(obs -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep((3 - i) * 30L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    obs.onNext(i * 10);
+                    obs.onNext(i * 10 + 1);
+                    active.decrementAndGet();
+                    obs.onComplete();
+                }).subscribeOn(io))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValues(0, 1, 10, 11, 20, 21)
+                .assertComplete();
+        assertTrue(maxActive.get() > 1, "concatMapEager подписывается на внутренние потоки сразу");
+
+        Observable.fromIterable(List.of(1, 2, 3))
+                .concatMap(i -> Observable.fromIterable(List.of(i, i)).subscribeOn(io), 2)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValues(1, 1, 2, 2, 3, 3);
+        io.shutdown();
+    }
+
+    @org.junit.jupiter.api.Test
+    void testZipCombineLatestAndWithLatestFrom() {
+        PublishSubject<Integer> numbers = PublishSubject.create();
+        PublishSubject<String> letters = PublishSubject.create();
+
+        TestObserver<String> zipped = numbers.zipWith(letters, (n, l) -> l + n).test();
+        numbers.onNext(1);
+        numbers.onNext(2);
+        letters.onNext("a");
+        zipped.assertValues("a1");
+        letters.onNext("b");
+        numbers.onNext(3);
+        numbers.onComplete();
+        zipped.assertValues("a1", "b2").assertNotComplete();
+        letters.onNext("c");
+        zipped.assertValues("a1", "b2", "c3").assertComplete();
+        assertFalse(letters.hasObservers(), "Завершение zip отменяет подписку на остальные источники");
+
+        PublishSubject<Integer> left = PublishSubject.create();
+        PublishSubject<Integer> right = PublishSubject.create();
+        TestObserver<Integer> combined = Observable.combineLatest(left, right, Integer::sum).test();
+        left.onNext(1);
+        combined.assertNoValues();
+        right.onNext(10);
+        left.onNext(2);
+        right.onNext(20);
+        combined.assertValues(11, 12, 22);
+        left.onComplete();
+        right.onNext(30);
+        combined.assertValues(11, 12, 22, 32).assertNotComplete();
+        right.onComplete();
+        combined.assertComplete();
+
+        PublishSubject<Integer> main = PublishSubject.create();
+        PublishSubject<String> other = PublishSubject.create();
+        TestObserver<String> latest = main.withLatestFrom(other, (m, o) -> o + m).test();
+        main.onNext(1);
+        other.onNext("x");
+        main.onNext(2);
+        other.onNext("y");
+        main.onNext(3);
+        latest.assertValues("x2", "y3");
+        other.onError(new IllegalStateException());
+        latest.assertError(IllegalStateException.class);
+        assertFalse(main.hasObservers(), "Ошибка other отменяет подписку на основной источник");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testJustEmptyAndFromCallable() {
+        Observable.just(1).test().assertValues(1).assertComplete();
+        Observable.<Integer>empty().test().assertNoValues().assertComplete();
+        Observable.just(2).map(x -> x * 10).repeat(2).test().assertValues(20, 20).assertComplete();
+
+        AtomicInteger calls = new AtomicInteger();
+        Observable<Integer> lazy = Observable.fromCallable(calls::incrementAndGet);
+        assertEquals(0, calls.get(), "fromCallable вызывает callable только при подписке");
+        lazy.test().assertValues(1).assertComplete();
+        lazy.test().assertValues(2).assertComplete();
+        Observable.fromCallable(() -> null).test().assertNoValues().assertComplete();
+        Observable.fromCallable(() -> {
+            throw new IOException("fail");
+        }).test().assertError(IOException.class);
+
+        List<Object> events = new ArrayList<>();
+        Observable.just(1).subscribe(new Observer<>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                d.dispose();
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                events.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add(t);
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        });
+        assertTrue(events.isEmpty(), "Отмена в onSubscribe останавливает выдачу");
+        assertThrows(NullPointerException.class, () -> Observable.just(null));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSingleMaybeCompletableOperatorsAndConversions() {
+        Single.just(2).map(x -> x * 10).flatMap(x -> Single.just(x + 1))
+                .toObservable().test().assertValues(21).assertComplete();
+        Single.zip(Single.just(1), Single.fromCallable(() -> "a"), (n, s) -> s + n)
+                .toObservable().test().assertValues("a1").assertComplete();
+
+        PublishSubject<Integer> pending = PublishSubject.create();
+        Single.zip(pending.singleOrError(), Single.<Integer>error(new IllegalStateException()), Integer::sum)
+                .toObservable().test().assertError(IllegalStateException.class);
+        assertFalse(pending.hasObservers(), "Ошибка одного источника zip отменяет остальные");
+
+        Observable.fromIterable(List.of(1, 2)).singleOrError()
+                .toObservable().test().assertError(IllegalArgumentException.class);
+        Observable.<Integer>empty().singleOrError()
+                .toObservable().test().assertError(NoSuchElementException.class);
+
+        Observable.fromIterable(List.of(5, 6, 7)).firstElement().map(x -> x * 2)
+                .toObservable().test().assertValues(10).assertComplete();
+        Maybe.just(1).map(x -> null).toObservable().test().assertNoValues().assertComplete();
+        Maybe.zip(Maybe.just(1), Maybe.<Integer>empty(), Integer::sum)
+                .toObservable().test().assertNoValues().assertComplete();
+        Maybe.<Integer>empty().toSingle().toObservable().test().assertError(NoSuchElementException.class);
+
+        AtomicInteger runs = new AtomicInteger();
+        Completable.merge(List.of(Completable.fromRunnable(runs::incrementAndGet), Completable.complete()))
+                .andThen(Single.fromCallable(runs::get))
+                .toObservable().test().assertValues(1).assertComplete();
+        Observable.fromIterable(List.of(1, 2, 3)).ignoreElements()
+                .toObservable().test().assertNoValues().assertComplete();
+        Completable.error(new IOException()).andThen(Completable.fromRunnable(runs::incrementAndGet))
+                .toObservable().test().assertError(IOException.class);
+        assertEquals(1, runs.get(), "andThen не подписывается на следующий Completable после ошибки");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSingleSubscribeOnObserveOnAndDispose() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger calls = new AtomicInteger();
+        Single<Integer> single = Single.fromCallable(calls::incrementAndGet).subscribeOn(scheduler).observeOn(scheduler);
+
+        TestObserver<Integer> observer = single.toObservable().test();
+        assertEquals(0, calls.get(), "subscribeOn откладывает подписку до запуска задачи");
+        scheduler.triggerActions();
+        observer.assertValues(1).assertComplete();
+
+        TestObserver<Integer> cancelled = single.toObservable().test();
+        cancelled.dispose();
+        scheduler.triggerActions();
+        assertEquals(1, calls.get(), "Отмена до запуска задачи отменяет подписку на источник");
+        cancelled.assertNoValues().assertNotComplete();
+
+        String caller = Thread.currentThread().getName();
+        List<String> threads = Single.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(Schedulers.io())
+                .toObservable().test().awaitDone(5, TimeUnit.SECONDS).values();
+        assertEquals(1, threads.size());
+        assertNotEquals(caller, threads.get(0), "subscribeOn выполняет источник в потоке Scheduler-а");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testBehaviorSubjectSlowSubscriberDoesNotBlockProducer() throws Exception {
+        BehaviorSubject<Integer> subject = BehaviorSubject.createDefault(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        Thread slow = new Thread(() -> subject.subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                if (item == 1) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                events.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add(t);
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        }));
+        slow.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            subject.onNext(2);
+            subject.onComplete();
+        });
+        producer.get(5, TimeUnit.SECONDS);
+        assertTrue(events.isEmpty(), "Производитель не ждёт, пока подписчик обработает начальное значение");
+
+        release.countDown();
+        slow.join(5000);
+        assertEquals(List.of(1, 2, "complete"), events, "События, пришедшие во время начальной доставки, идут следом по порядку");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testWorkerTasksPassOnScheduleHookOnce() throws InterruptedException {
+        List<Runnable> hooked = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnSchedule(task -> {
+            hooked.add(task);
+            return task;
+        });
+        try {
+            List<Runnable> tasks = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(6);
+            for (Scheduler scheduler : List.of(Schedulers.io(), Schedulers.computation())) {
+                Scheduler.Worker worker = scheduler.createWorker();
+                for (int i = 0; i < 3; i++) {
+                    Runnable task = latch::countDown;
+                    tasks.add(task);
+                    worker.schedule(task);
+                }
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "Задачи Worker-ов должны выполниться");
+            assertEquals(tasks, hooked, "Хук onSchedule видит каждую задачу Worker-а ровно один раз и не видит дренаж");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testComputationWorkerStaysOnItsLoop() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2);
+        try {
+            Scheduler.Worker first = scheduler.createWorker();
+            scheduler.createWorker();
+            Scheduler.Worker third = scheduler.createWorker();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicReference<String> loopThread = new AtomicReference<>();
+            first.schedule(() -> {
+                loopThread.set(Thread.currentThread().getName());
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Третий Worker закреплён за тем же циклом, что и первый, второй цикл простаивает
+            List<String> threads = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(5);
+            for (int i = 0; i < 5; i++) {
+                third.schedule(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    done.countDown();
+                });
+            }
+            Thread.sleep(100);
+            assertTrue(threads.isEmpty(), "Простаивающий цикл не забирает задачи чужого Worker-а");
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            for (String thread : threads) {
+                assertEquals(loopThread.get(), thread, "Задачи Worker-а выполняются в потоке его цикла");
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testConcatMapSerializesAsyncInnerWithSourceError() throws InterruptedException {
+        PublishSubject<Integer> source = PublishSubject.create();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch terminated = new CountDownLatch(1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        AtomicBoolean afterTerminal = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        source.concatMap(x -> Observable.fromIterable(List.of(1, 2, 3)).subscribeOn(Schedulers.io()))
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        if (inside.incrementAndGet() != 1) {
+                            overlap.set(true);
+                        }
+                        if (failure.get() != null) {
+                            afterTerminal.set(true);
+                        }
+                        if (item == 1) {
+                            started.countDown();
+                            try {
+                                // Пока элемент обрабатывается, источник успевает выдать ошибку
+                                Thread.sleep(200);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        inside.decrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (inside.incrementAndGet() != 1) {
+                            overlap.set(true);
+                        }
+                        failure.set(t);
+                        inside.decrementAndGet();
+                        terminated.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        terminated.countDown();
+                    }
+                });
+
+        source.onNext(1);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        source.onError(new IllegalStateException("source failed"));
+        assertTrue(terminated.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertFalse(overlap.get(), "onError не должен пересекаться с onNext внутреннего потока");
+        assertFalse(afterTerminal.get(), "После onError элементы не доставляются");
+        assertTrue(failure.get() instanceof IllegalStateException);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testScalarSourcesRouteObserverExceptionsLikeCreate() {
+        List<Observable<Integer>> sources = List.of(
+                Observable.create(obs -> {
+                    obs.onNext(1);
+                    obs.onComplete();
+                }),
+                Observable.just(1),
+                Observable.fromCallable(() -> 1));
+        for (Observable<Integer> source : sources) {
+            List<Object> events = new ArrayList<>();
+            assertDoesNotThrow(() -> source.subscribe(new Observer<>() {
+                @Override
+                public void onNext(Integer item) {
+                    throw new IllegalStateException("onNext failed");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add(t.getMessage());
+                }
+
+                @Override
+                public void onComplete() {
+                    events.add("complete");
+                }
+            }));
+            assertEquals(List.of("onNext failed"), events, "Исключение из onNext приходит в onError, как у create");
+        }
+
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnError(undeliverable::add);
+        try {
+            for (Observable<Integer> source : List.of(Observable.just(1), Observable.<Integer>empty())) {
+                assertDoesNotThrow(() -> source.subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        throw new IllegalStateException("onComplete failed");
+                    }
+                }));
+            }
+            assertEquals(2, undeliverable.size(), "Исключение из onComplete уходит в обработчик плагинов");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowPublisherInvalidRequestDoesNotOverlapOnNext() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        Flow.Publisher<Integer> publisher = subject.toPublisher();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch terminated = new CountDownLatch(1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        AtomicReference<Flow.Subscription> subscriptionRef = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptionRef.set(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                inside.incrementAndGet();
+                started.countDown();
+                try {
+                    // Пока элемент обрабатывается, подписчик из другого потока делает неверный запрос
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inside.decrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (inside.get() != 0) {
+                    overlap.set(true);
+                }
+                failure.set(t);
+                terminated.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                terminated.countDown();
+            }
+        });
+
+        new Thread(() -> subject.onNext(1)).start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        subscriptionRef.get().request(0);
+        assertTrue(terminated.await(5, TimeUnit.SECONDS));
+        assertFalse(overlap.get(), "Ошибка неверного запроса не пересекается с onNext");
+        assertTrue(failure.get() instanceof IllegalArgumentException, "request(0) завершает поток ошибкой");
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testBlockingSubscribeObserverExceptionDisposesUpstream() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Observable<Integer> endless = Observable.<Integer>create(emitter -> {
+            int i = 0;
+            while (!emitter.isDisposed()) {
+                emitter.onNext(i++);
+            }
+            stopped.countDown();
+        }).subscribeOn(Schedulers.io());
+
+        assertThrows(IllegalStateException.class, () -> endless.blockingSubscribe(new Observer<Integer>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                throw new IllegalStateException("observer failed");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }));
+        assertTrue(stopped.await(5, TimeUnit.SECONDS),
+                "исключение observer-а в blockingSubscribe должно отменить подписку на источник");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testGroupByIdleEvictionAndOuterDispose() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> subject = PublishSubject.create();
+        Map<Integer, TestObserver<Integer>> groups = new ConcurrentHashMap<>();
+        TestObserver<GroupedObservable<Integer, Integer>> outer = new TestObserver<>(new Observer<>() {
+            @Override
+            public void onNext(GroupedObservable<Integer, Integer> group) {
+                groups.put(group.getKey(), group.test());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        subject.groupBy(x -> x % 10, 10, 1, TimeUnit.SECONDS, scheduler).subscribe(outer);
+
+        subject.onNext(1);
+        subject.onNext(2);
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        subject.onNext(11);
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+        groups.get(2).assertValues(2).assertComplete();
+        groups.get(1).assertNotComplete();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        groups.get(1).assertValues(1, 11).assertComplete();
+
+        subject.onNext(5);
+        outer.dispose();
+        groups.get(5).assertValues(5).assertComplete();
+        assertFalse(subject.hasObservers(), "отмена внешнего потока отменяет источник");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testSubscribeOnTerminalEventDoesNotInterruptSource() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            boolean fail = i % 2 == 1;
+            CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+            Observable.<Integer>create(emitter -> {
+                if (fail) {
+                    emitter.onError(new IllegalStateException("boom"));
+                } else {
+                    emitter.onComplete();
+                }
+                boolean flag = Thread.currentThread().isInterrupted();
+                try {
+                    // Очистка источника после терминального события, например закрытие канала
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    flag = true;
+                }
+                interrupted.complete(flag);
+            }).subscribeOn(Schedulers.io()).test();
+            assertFalse(interrupted.get(5, TimeUnit.SECONDS),
+                    "терминальное событие не должно прерывать поток источника в subscribeOn");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableCreateInvalidRequestDoesNotOverlapOnNext() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Thread> producer = new AtomicReference<>();
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger terminals = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        AtomicReference<Subscription> subscriptionRef = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Flowable.<Integer>create(emitter -> {
+            Thread thread = new Thread(() -> {
+                emitter.onNext(1);
+                emitter.onComplete();
+            });
+            producer.set(thread);
+            thread.start();
+        }, BackpressureStrategy.DROP).subscribe(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriptionRef.set(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                inside.incrementAndGet();
+                started.countDown();
+                try {
+                    // Пока элемент обрабатывается, подписчик из другого потока делает неверный запрос
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inside.decrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (inside.get() != 0) {
+                    overlap.set(true);
+                }
+                failure.set(t);
+                terminals.incrementAndGet();
+            }
+
+            @Override
+            public void onComplete() {
+                terminals.incrementAndGet();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        subscriptionRef.get().request(0);
+        producer.get().join(5_000);
+        assertFalse(overlap.get(), "Ошибка неверного запроса не пересекается с onNext");
+        assertEquals(1, terminals.get(), "Подписчик получает ровно одно терминальное событие");
+        assertTrue(failure.get() instanceof IllegalArgumentException, "request(0) завершает поток ошибкой");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testIntEmitterRoutesUndeliverableErrorToHook() {
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnError(undeliverable::add);
+        try {
+            IllegalStateException late = new IllegalStateException("late");
+            IntObservable.create(emitter -> {
+                emitter.onComplete();
+                emitter.onError(late);
+            }).subscribe(new IntObserver() {
+                @Override
+                public void onNext(int item) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail("ошибка после завершения не доставляется observer-у");
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            assertEquals(List.of(late), undeliverable, "Недоставленная ошибка IntObservable уходит в хук onError");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLongEmitterRoutesUndeliverableErrorToHook() {
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnError(undeliverable::add);
+        try {
+            IllegalStateException late = new IllegalStateException("late");
+            Disposable d = LongObservable.create(emitter -> {
+                emitter.onNext(1L);
+                emitter.onError(late);
+            }).subscribe(new LongObserver() {
+                private Disposable upstream;
+
+                @Override
+                public void onSubscribe(Disposable d) {
+                    upstream = d;
+                }
+
+                @Override
+                public void onNext(long item) {
+                    upstream.dispose();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail("ошибка после отмены не доставляется observer-у");
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            assertTrue(d.isDisposed());
+            assertEquals(List.of(late), undeliverable, "Недоставленная ошибка LongObservable уходит в хук onError");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testDoubleEmitterRoutesUndeliverableErrorToHook() {
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnError(undeliverable::add);
+        try {
+            IllegalStateException first = new IllegalStateException("first");
+            IllegalStateException second = new IllegalStateException("second");
+            List<Throwable> delivered = new ArrayList<>();
+            DoubleObservable.create(emitter -> {
+                emitter.onError(first);
+                emitter.onError(second);
+            }).subscribe(new DoubleObserver() {
+                @Override
+                public void onNext(double item) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    delivered.add(t);
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            assertEquals(List.of(first), delivered);
+            assertEquals(List.of(second), undeliverable, "Недоставленная ошибка DoubleObservable уходит в хук onError");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFlowableEmittersRouteUndeliverableErrorToHook() {
+        List<Throwable> undeliverable = new CopyOnWriteArrayList<>();
+        ObservablePlugins.setOnError(undeliverable::add);
+        try {
+            List<Throwable> expected = new ArrayList<>();
+            for (BackpressureStrategy strategy : BackpressureStrategy.values()) {
+                IllegalStateException late = new IllegalStateException("late " + strategy);
+                expected.add(late);
+                Flowable.<Integer>create(emitter -> {
+                    emitter.onComplete();
+                    emitter.onError(late);
+                }, strategy).subscribe(new Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("ошибка после завершения не доставляется подписчику");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+            }
+            assertEquals(expected, undeliverable, "Недоставленная ошибка эмиттера Flowable уходит в хук onError");
+        } finally {
+            ObservablePlugins.reset();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTimedWindowSlowConsumerDoesNotBlockRotation() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        CountDownLatch secondWindow = new CountDownLatch(1);
+        AtomicInteger windows = new AtomicInteger();
+        Disposable d = subject.window(50, TimeUnit.MILLISECONDS, Schedulers.computation()).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Observable<Integer> window) {
+                if (windows.incrementAndGet() > 1) {
+                    secondWindow.countDown();
+                    return;
+                }
+                window.subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        try {
+                            // Подписчик окна ждёт, пока таймер откроет следующее окно
+                            secondWindow.await(2, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        try {
+            new Thread(() -> subject.onNext(1)).start();
+            assertTrue(secondWindow.await(1, TimeUnit.SECONDS),
+                    "медленный подписчик окна не должен задерживать смену окон по таймеру");
+        } finally {
+            d.dispose();
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testGroupBySlowGroupDoesNotBlockIdleEviction() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        CountDownLatch idleClosed = new CountDownLatch(1);
+        Disposable d = subject.groupBy(x -> x % 10, 10, 50, TimeUnit.MILLISECONDS, Schedulers.computation())
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(GroupedObservable<Integer, Integer> group) {
+                        boolean slow = group.getKey() == 1;
+                        group.subscribe(new Observer<Integer>() {
+                            @Override
+                            public void onNext(Integer item) {
+                                if (!slow || item != 11) {
+                                    return;
+                                }
+                                try {
+                                    // Подписчик группы ждёт, пока таймер закроет простаивающую группу
+                                    idleClosed.await(2, TimeUnit.SECONDS);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                if (!slow) {
+                                    idleClosed.countDown();
+                                }
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+        try {
+            subject.onNext(2);
+            subject.onNext(1);
+            new Thread(() -> subject.onNext(11)).start();
+            assertTrue(idleClosed.await(1, TimeUnit.SECONDS),
+                    "медленный подписчик группы не должен задерживать закрытие простаивающих групп");
+        } finally {
+            d.dispose();
+        }
+    }
+}